@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.benchmarks;
+
+import com.io7m.blackthorne.core.BTParserType;
+import com.io7m.blackthorne.core.Blackthorne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.stream.XMLInputFactory;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing the SAX and StAX parser backends on the same
+ * documents and handlers.
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main BTBackendBenchmark -prof gc
+ * </pre>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BTBackendBenchmark
+{
+  private static final URI SOURCE =
+    URI.create("urn:benchmark");
+
+  /**
+   * The parser backend.
+   */
+
+  public enum Backend
+  {
+    /**
+     * The SAX backend.
+     */
+
+    SAX,
+
+    /**
+     * The StAX backend.
+     */
+
+    STAX
+  }
+
+  /**
+   * The document shape.
+   */
+
+  @Param({"DEEP", "WIDE"})
+  public BTDocumentShape shape;
+
+  /**
+   * The parser backend.
+   */
+
+  @Param({"SAX", "STAX"})
+  public Backend backend;
+
+  private byte[] document;
+  private BTParserType<Long> parser;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public BTBackendBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the document and build the parser.
+   */
+
+  @Setup
+  public void setup()
+  {
+    this.document = this.shape.generate();
+
+    final var builder = Blackthorne.<Long>builder();
+    for (final var entry : BTDocuments.countingRoots().entrySet()) {
+      builder.addHandler(entry.getKey(), entry.getValue());
+    }
+
+    this.parser = switch (this.backend) {
+      case SAX -> builder.buildParser(BTDocuments::createReader);
+      case STAX -> builder.buildStAXParser(XMLInputFactory.newFactory());
+    };
+  }
+
+  /**
+   * Parse the document, counting elements.
+   *
+   * @return The element count
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public Long parse()
+    throws Exception
+  {
+    return this.parser.parse(SOURCE, new ByteArrayInputStream(this.document));
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.benchmarks;
+
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTParserType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import com.io7m.blackthorne.core.Blackthorne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements.DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS;
+
+/**
+ * Benchmarks for the handler combinators, each parsing a list of a hundred
+ * thousand numbers.
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main BTCombinatorBenchmark -prof gc
+ * </pre>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BTCombinatorBenchmark
+{
+  private static final URI SOURCE =
+    URI.create("urn:benchmark");
+  private static final int ITEMS =
+    100_000;
+  private static final BTQualifiedName LIST =
+    BTQualifiedName.of(BTDocuments.NAMESPACE, "l");
+  private static final BTQualifiedName INT =
+    BTQualifiedName.of(BTDocuments.NAMESPACE, "i");
+  private static final BTQualifiedName DOUBLE =
+    BTQualifiedName.of(BTDocuments.NAMESPACE, "d");
+  private static final BTQualifiedName ONE =
+    BTQualifiedName.of(BTDocuments.NAMESPACE, "o");
+
+  /**
+   * The combinator under test.
+   */
+
+  public enum Combinator
+  {
+    /**
+     * {@link Blackthorne#forListMono} over integers.
+     */
+
+    LIST_MONO,
+
+    /**
+     * {@link Blackthorne#forListPoly} over alternating integers and doubles.
+     */
+
+    LIST_POLY,
+
+    /**
+     * {@link Blackthorne#forOneOf} elements, each holding an integer or a
+     * double, in a monomorphic list.
+     */
+
+    ONE_OF,
+
+    /**
+     * {@link Blackthorne#mapConstructor} over integers in a monomorphic list.
+     */
+
+    MAP
+  }
+
+  /**
+   * The combinator under test.
+   */
+
+  @Param({"LIST_MONO", "LIST_POLY", "ONE_OF", "MAP"})
+  public Combinator combinator;
+
+  private byte[] document;
+  private BTParserType<Object> parser;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public BTCombinatorBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the document and build the parser.
+   */
+
+  @Setup
+  public void setup()
+  {
+    this.document = generate(this.combinator);
+    this.parser =
+      Blackthorne.builder()
+        .addHandler(LIST, root(this.combinator))
+        .buildParser(BTDocuments::createReader);
+  }
+
+  private static BTElementHandlerConstructorType<?, Object> root(
+    final Combinator combinator)
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Number>> numbers =
+      Map.of(
+        INT, Blackthorne.forScalarInt(INT),
+        DOUBLE, Blackthorne.forScalarDouble(DOUBLE)
+      );
+
+    return switch (combinator) {
+      case LIST_MONO -> Blackthorne.widenConstructor(
+        Blackthorne.forListMono(
+          LIST,
+          INT,
+          Blackthorne.forScalarInt(INT),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS
+        ));
+      case LIST_POLY -> Blackthorne.widenConstructor(
+        Blackthorne.forListPoly(
+          LIST,
+          numbers,
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS
+        ));
+      case ONE_OF -> Blackthorne.widenConstructor(
+        Blackthorne.forListMono(
+          LIST,
+          ONE,
+          Blackthorne.forOneOf(numbers),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS
+        ));
+      case MAP -> Blackthorne.widenConstructor(
+        Blackthorne.forListMono(
+          LIST,
+          INT,
+          Blackthorne.mapConstructor(
+            Blackthorne.forScalarInt(INT),
+            x -> Long.valueOf(x.longValue() * 2L)),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS
+        ));
+    };
+  }
+
+  private static byte[] generate(
+    final Combinator combinator)
+  {
+    final var text = new StringBuilder(ITEMS * 32);
+    text.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    text.append("<l xmlns=\"");
+    text.append(BTDocuments.NAMESPACE);
+    text.append("\">");
+
+    for (int index = 0; index < ITEMS; ++index) {
+      final var polymorphic = (index & 1) == 1;
+      switch (combinator) {
+        case LIST_MONO, MAP -> {
+          text.append("<i>").append(index).append("</i>");
+        }
+        case LIST_POLY -> {
+          if (polymorphic) {
+            text.append("<d>").append(index).append(".5</d>");
+          } else {
+            text.append("<i>").append(index).append("</i>");
+          }
+        }
+        case ONE_OF -> {
+          if (polymorphic) {
+            text.append("<o><d>").append(index).append(".5</d></o>");
+          } else {
+            text.append("<o><i>").append(index).append("</i></o>");
+          }
+        }
+      }
+    }
+
+    text.append("</l>");
+    return text.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parse the document.
+   *
+   * @return The parsed list
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public Object parse()
+    throws Exception
+  {
+    return this.parser.parse(SOURCE, new ByteArrayInputStream(this.document));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The shapes of generated benchmark documents.
+ */
+
+public enum BTDocumentShape
+{
+  /**
+   * A complete binary tree twenty levels deep (1048575 elements).
+   */
+
+  DEEP {
+    @Override
+    public byte[] generate()
+    {
+      final var text = new StringBuilder(8 * 1024 * 1024);
+      text.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+      text.append("<e xmlns=\"");
+      text.append(BTDocuments.NAMESPACE);
+      text.append("\">");
+      deep(text, 19);
+      text.append("</e>");
+      return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deep(
+      final StringBuilder text,
+      final int depth)
+    {
+      if (depth == 0) {
+        return;
+      }
+      for (int index = 0; index < 2; ++index) {
+        text.append("<e>");
+        deep(text, depth - 1);
+        text.append("</e>");
+      }
+    }
+  },
+
+  /**
+   * A root element with a million direct children (1000001 elements).
+   */
+
+  WIDE {
+    @Override
+    public byte[] generate()
+    {
+      final var out = new ByteArrayOutputStream(8 * 1024 * 1024);
+      final var open =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?><e xmlns=\"%s\">"
+          .formatted(BTDocuments.NAMESPACE)
+          .getBytes(StandardCharsets.UTF_8);
+      final var child =
+        "<e/>".getBytes(StandardCharsets.UTF_8);
+      final var close =
+        "</e>".getBytes(StandardCharsets.UTF_8);
+
+      out.writeBytes(open);
+      for (int index = 0; index < 1_000_000; ++index) {
+        out.writeBytes(child);
+      }
+      out.writeBytes(close);
+      return out.toByteArray();
+    }
+  };
+
+  /**
+   * @return A new document of this shape
+   */
+
+  public abstract byte[] generate();
+}
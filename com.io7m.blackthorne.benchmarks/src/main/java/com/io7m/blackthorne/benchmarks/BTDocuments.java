@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.benchmarks;
+
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParserFactory;
+import org.xml.sax.XMLReader;
+
+import java.util.Map;
+
+/**
+ * Functions and handlers shared between benchmarks.
+ */
+
+public final class BTDocuments
+{
+  /**
+   * The namespace used by generated documents.
+   */
+
+  public static final String NAMESPACE = "urn:com.io7m.blackthorne.benchmarks";
+
+  /**
+   * The name of elements in generated documents.
+   */
+
+  public static final BTQualifiedName ELEMENT =
+    BTQualifiedName.of(NAMESPACE, "e");
+
+  private static final SAXParserFactory PARSERS = createParsers();
+
+  private BTDocuments()
+  {
+
+  }
+
+  private static SAXParserFactory createParsers()
+  {
+    try {
+      final var parsers = SAXParserFactory.newInstance();
+      parsers.setNamespaceAware(true);
+      parsers.setXIncludeAware(false);
+      parsers.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      return parsers;
+    } catch (final Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return A new namespace-aware SAX reader
+   *
+   * @throws Exception On errors
+   */
+
+  public static XMLReader createReader()
+    throws Exception
+  {
+    return PARSERS.newSAXParser().getXMLReader();
+  }
+
+  /**
+   * @return The root handlers for generated documents
+   */
+
+  public static Map<BTQualifiedName, BTElementHandlerConstructorType<?, Long>> countingRoots()
+  {
+    return Map.of(ELEMENT, CountingHandler::new);
+  }
+
+  /**
+   * A handler that counts the elements in a document.
+   */
+
+  public static final class CountingHandler
+    implements BTElementHandlerType<Long, Long>
+  {
+    private static final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Long>> CHILDREN =
+      Map.of(ELEMENT, CountingHandler::new);
+
+    private long count;
+
+    /**
+     * Construct a handler.
+     *
+     * @param context The parsing context
+     */
+
+    public CountingHandler(
+      final BTElementParsingContextType context)
+    {
+      this.count = 1L;
+    }
+
+    @Override
+    public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Long>> onChildHandlersRequested(
+      final BTElementParsingContextType context)
+    {
+      return CHILDREN;
+    }
+
+    @Override
+    public void onChildValueProduced(
+      final BTElementParsingContextType context,
+      final Long result)
+    {
+      this.count += result.longValue();
+    }
+
+    @Override
+    public Long onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return Long.valueOf(this.count);
+    }
+  }
+}
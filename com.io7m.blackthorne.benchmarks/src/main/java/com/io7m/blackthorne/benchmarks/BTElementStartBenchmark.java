@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.benchmarks;
+
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTLongConsumerType;
+import com.io7m.blackthorne.core.BTLongProducerType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import com.io7m.blackthorne.core.internal.BTGrammar;
+import com.io7m.blackthorne.core.internal.BTStackHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.ext.Attributes2Impl;
+import org.xml.sax.ext.Locator2Impl;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.blackthorne.benchmarks.BTDocuments.ELEMENT;
+import static com.io7m.blackthorne.benchmarks.BTDocuments.NAMESPACE;
+import static com.io7m.blackthorne.core.BTPreserveLexical.DISCARD_LEXICAL_INFORMATION;
+
+/**
+ * Benchmarks for the element start and end paths of the handler stack, with
+ * handlers that are recycled and that pass values to their parents without
+ * boxing. With {@code TRACE} logging disabled, the {@code gc} profiler
+ * should report no allocation per operation:
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main BTElementStartBenchmark -prof gc
+ * </pre>
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BTElementStartBenchmark
+{
+  private static final String LOCAL_NAME =
+    ELEMENT.localName();
+
+  private BTStackHandler<Long> stack;
+  private Attributes2Impl attributes;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public BTElementStartBenchmark()
+  {
+
+  }
+
+  /**
+   * Create the stack handler and start the root element.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup
+  public void setup()
+    throws Exception
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, Long>> roots =
+      Map.of(ELEMENT, RecyclingHandler::new);
+    final var locator = new Locator2Impl();
+
+    this.attributes = new Attributes2Impl();
+    this.stack =
+      new BTStackHandler<>(
+        locator,
+        DISCARD_LEXICAL_INFORMATION,
+        BTGrammar.compile(roots)
+      );
+    this.stack.reset(locator, URI.create("urn:benchmark"));
+    this.stack.onElementStarted(NAMESPACE, LOCAL_NAME, this.attributes);
+  }
+
+  /**
+   * Start and finish a child element of the root element.
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void startFinish()
+    throws Exception
+  {
+    this.stack.onElementStarted(NAMESPACE, LOCAL_NAME, this.attributes);
+    this.stack.onElementFinished(NAMESPACE, LOCAL_NAME);
+  }
+
+  /**
+   * A handler that counts elements, and that can be reused.
+   */
+
+  public static final class RecyclingHandler
+    implements BTElementHandlerType<Long, Long>,
+    BTLongProducerType,
+    BTLongConsumerType
+  {
+    private static final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Long>> CHILDREN =
+      Map.of(ELEMENT, RecyclingHandler::new);
+
+    private long count;
+
+    /**
+     * Construct a handler.
+     *
+     * @param context The parsing context
+     */
+
+    public RecyclingHandler(
+      final BTElementParsingContextType context)
+    {
+      this.count = 1L;
+    }
+
+    @Override
+    public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Long>> onChildHandlersRequested(
+      final BTElementParsingContextType context)
+    {
+      return CHILDREN;
+    }
+
+    @Override
+    public void onChildLongProduced(
+      final BTElementParsingContextType context,
+      final long value)
+    {
+      this.count += value;
+    }
+
+    @Override
+    public long onElementFinishedLong(
+      final BTElementParsingContextType context)
+    {
+      return this.count;
+    }
+
+    @Override
+    public Long onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return Long.valueOf(this.count);
+    }
+
+    @Override
+    public boolean onReset(
+      final BTElementParsingContextType context)
+    {
+      this.count = 1L;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.benchmarks;
+
+import com.io7m.blackthorne.core.BTParserType;
+import com.io7m.blackthorne.core.Blackthorne;
+import com.io7m.blackthorne.jxe.BlackthorneJXE;
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.blackthorne.core.BTPreserveLexical.DISCARD_LEXICAL_INFORMATION;
+import static com.io7m.jxe.core.JXEXInclude.XINCLUDE_DISABLED;
+
+/**
+ * Benchmarks for parsing with hardened JXE parsers, with and without
+ * schema validation. Validating parsers use schemas compiled once and
+ * held in the opt-in process-wide schema cache.
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main BTJXEBenchmark -prof gc
+ * </pre>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BTJXEBenchmark
+{
+  private static final URI SOURCE =
+    URI.create("urn:benchmark");
+
+  /**
+   * Whether documents are validated.
+   */
+
+  public enum Validation
+  {
+    /**
+     * Documents are validated against the benchmark schema.
+     */
+
+    VALIDATING,
+
+    /**
+     * Documents are not validated.
+     */
+
+    NON_VALIDATING
+  }
+
+  /**
+   * The document shape.
+   */
+
+  @Param({"DEEP", "WIDE"})
+  public BTDocumentShape shape;
+
+  /**
+   * Whether documents are validated.
+   */
+
+  @Param({"VALIDATING", "NON_VALIDATING"})
+  public Validation validation;
+
+  private byte[] document;
+  private BTParserType<Long> parser;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public BTJXEBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the document and build the parser.
+   */
+
+  @Setup
+  public void setup()
+  {
+    this.document = this.shape.generate();
+
+    final var roots = BTDocuments.countingRoots();
+    this.parser = switch (this.validation) {
+      case VALIDATING -> {
+        final var mappings =
+          JXESchemaDefinitions.mappingsOf(
+            JXESchemaDefinition.of(
+              URI.create(BTDocuments.NAMESPACE),
+              "benchmark.xsd",
+              BTJXEBenchmark.class.getResource(
+                "/com/io7m/blackthorne/benchmarks/benchmark.xsd")
+            ));
+        yield BlackthorneJXE.parser(
+          roots,
+          BlackthorneJXE.schemaCache(),
+          Optional.empty(),
+          XINCLUDE_DISABLED,
+          DISCARD_LEXICAL_INFORMATION,
+          mappings
+        );
+      }
+      case NON_VALIDATING -> {
+        final var parsers = new JXEHardenedSAXParsers();
+        final var builder =
+          Blackthorne.<Long>builder()
+            .setPreserveLexical(DISCARD_LEXICAL_INFORMATION);
+        for (final var entry : roots.entrySet()) {
+          builder.addHandler(entry.getKey(), entry.getValue());
+        }
+        yield builder.buildParser(() -> {
+          return parsers.createXMLReaderNonValidating(
+            Optional.empty(),
+            XINCLUDE_DISABLED
+          );
+        });
+      }
+    };
+  }
+
+  /**
+   * Parse the document, counting elements.
+   *
+   * @return The element count
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public Long parse()
+    throws Exception
+  {
+    return this.parser.parse(SOURCE, new ByteArrayInputStream(this.document));
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.benchmarks;
+
+import com.io7m.blackthorne.core.BTParserType;
+import com.io7m.blackthorne.core.BTPreserveLexical;
+import com.io7m.blackthorne.core.Blackthorne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing a complete parse, with and without lexical
+ * information, against a raw SAX parse of the same document that does
+ * nothing but count elements. The difference between the two is the cost
+ * of the handler stack and the handlers.
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main BTParseBenchmark -prof gc
+ * </pre>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BTParseBenchmark
+{
+  private static final URI SOURCE =
+    URI.create("urn:benchmark");
+
+  /**
+   * The document shape.
+   */
+
+  @Param({"DEEP", "WIDE"})
+  public BTDocumentShape shape;
+
+  /**
+   * Whether lexical information is preserved.
+   */
+
+  @Param({"PRESERVE_LEXICAL_INFORMATION", "DISCARD_LEXICAL_INFORMATION"})
+  public BTPreserveLexical lexical;
+
+  private byte[] document;
+  private BTParserType<Long> parser;
+  private XMLReader reader;
+  private CountingSAXHandler counter;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public BTParseBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the document and build the parsers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup
+  public void setup()
+    throws Exception
+  {
+    this.document = this.shape.generate();
+
+    final var builder =
+      Blackthorne.<Long>builder()
+        .setPreserveLexical(this.lexical);
+    for (final var entry : BTDocuments.countingRoots().entrySet()) {
+      builder.addHandler(entry.getKey(), entry.getValue());
+    }
+    this.parser = builder.buildParser(BTDocuments::createReader);
+
+    this.counter = new CountingSAXHandler();
+    this.reader = BTDocuments.createReader();
+    this.reader.setContentHandler(this.counter);
+  }
+
+  /**
+   * Parse the document, counting elements with handlers.
+   *
+   * @return The element count
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public Long blackthorne()
+    throws Exception
+  {
+    return this.parser.parse(SOURCE, new ByteArrayInputStream(this.document));
+  }
+
+  /**
+   * Parse the document with a raw SAX handler, counting elements.
+   *
+   * @return The element count
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public long rawSAX()
+    throws Exception
+  {
+    this.counter.count = 0L;
+    this.reader.parse(
+      new InputSource(new ByteArrayInputStream(this.document)));
+    return this.counter.count;
+  }
+
+  private static final class CountingSAXHandler extends DefaultHandler
+  {
+    private long count;
+
+    CountingSAXHandler()
+    {
+
+    }
+
+    @Override
+    public void startElement(
+      final String uri,
+      final String localName,
+      final String qName,
+      final Attributes attributes)
+    {
+      ++this.count;
+    }
+  }
+}
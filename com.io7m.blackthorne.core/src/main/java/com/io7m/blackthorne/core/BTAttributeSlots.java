@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A declaration of the attributes that a handler needs. Each declared
+ * attribute is assigned a <i>slot</i>: its index in the list of declared
+ * names. The attributes of each element are resolved into slots once, when
+ * the element starts, and handlers then read attribute values by slot.
+ *
+ * Declarations are immutable and may be shared between threads.
+ *
+ * @see BTAttributeSlotsHandlerType
+ */
+
+public final class BTAttributeSlots
+{
+  private static final int[] NO_SLOTS = new int[0];
+
+  private final List<BTQualifiedName> names;
+  private final BTIgnoreUnrecognizedAttributes ignoreUnrecognized;
+  private final String[] namespaces;
+  private final HashMap<String, int[]> byLocalName;
+
+  private BTAttributeSlots(
+    final List<BTQualifiedName> inNames,
+    final BTIgnoreUnrecognizedAttributes inIgnoreUnrecognized)
+  {
+    this.names =
+      List.copyOf(Objects.requireNonNull(inNames, "names"));
+    this.ignoreUnrecognized =
+      Objects.requireNonNull(inIgnoreUnrecognized, "ignoreUnrecognized");
+
+    final var count = this.names.size();
+    this.namespaces = new String[count];
+    this.byLocalName = new HashMap<>(count * 2);
+
+    for (int slot = 0; slot < count; ++slot) {
+      final var name = this.names.get(slot);
+      if (this.names.indexOf(name) != slot) {
+        throw new IllegalArgumentException(
+          String.format("Attribute %s is declared more than once", name));
+      }
+
+      this.namespaces[slot] = name.namespaceURI().toString();
+      final var existing =
+        this.byLocalName.getOrDefault(name.localName(), NO_SLOTS);
+      final var slots = new int[existing.length + 1];
+      System.arraycopy(existing, 0, slots, 0, existing.length);
+      slots[existing.length] = slot;
+      this.byLocalName.put(name.localName(), slots);
+    }
+  }
+
+  /**
+   * Declare a set of attributes.
+   *
+   * @param ignoreUnrecognized Whether undeclared attributes are ignored
+   * @param names              The attribute names, in slot order
+   *
+   * @return A declaration
+   *
+   * @throws IllegalArgumentException If a name is declared more than once
+   */
+
+  public static BTAttributeSlots of(
+    final BTIgnoreUnrecognizedAttributes ignoreUnrecognized,
+    final List<BTQualifiedName> names)
+  {
+    return new BTAttributeSlots(names, ignoreUnrecognized);
+  }
+
+  /**
+   * Declare a set of attributes.
+   *
+   * @param ignoreUnrecognized Whether undeclared attributes are ignored
+   * @param names              The attribute names, in slot order
+   *
+   * @return A declaration
+   *
+   * @throws IllegalArgumentException If a name is declared more than once
+   */
+
+  public static BTAttributeSlots of(
+    final BTIgnoreUnrecognizedAttributes ignoreUnrecognized,
+    final BTQualifiedName... names)
+  {
+    return of(ignoreUnrecognized, List.of(names));
+  }
+
+  /**
+   * @return The declared attribute names, in slot order
+   */
+
+  public List<BTQualifiedName> names()
+  {
+    return this.names;
+  }
+
+  /**
+   * @return The number of slots
+   */
+
+  public int size()
+  {
+    return this.namespaces.length;
+  }
+
+  /**
+   * @return Whether undeclared attributes are ignored
+   */
+
+  public BTIgnoreUnrecognizedAttributes ignoreUnrecognized()
+  {
+    return this.ignoreUnrecognized;
+  }
+
+  /**
+   * Find the slot of an attribute.
+   *
+   * @param namespaceURI The attribute namespace URI
+   * @param localName    The attribute local name
+   *
+   * @return The slot, or {@code -1} if the attribute is not declared
+   */
+
+  public int slotOf(
+    final String namespaceURI,
+    final String localName)
+  {
+    final var slots = this.byLocalName.get(localName);
+    if (slots != null) {
+      for (final var slot : slots) {
+        if (this.namespaces[slot].equals(namespaceURI)) {
+          return slot;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    if (this == other) {
+      return true;
+    }
+    if (other == null || !this.getClass().equals(other.getClass())) {
+      return false;
+    }
+    final var that = (BTAttributeSlots) other;
+    return this.ignoreUnrecognized == that.ignoreUnrecognized
+           && this.names.equals(that.names);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(this.names, this.ignoreUnrecognized);
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "[BTAttributeSlots %s %s]",
+      this.names,
+      this.ignoreUnrecognized);
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+/**
+ * A handler that declares the attributes it needs up front. When an element
+ * handled by the handler starts, the handler stack resolves the attributes
+ * of the element into the declared slots and calls
+ * {@link #onElementStartSlots(BTElementParsingContextType, BTAttributeValuesType)}
+ * instead of
+ * {@link BTElementHandlerType#onElementStart(BTElementParsingContextType, org.xml.sax.Attributes)}.
+ * If the declaration does not ignore unrecognized attributes, elements that
+ * have undeclared attributes are rejected with a parse error.
+ */
+
+public interface BTAttributeSlotsHandlerType
+{
+  /**
+   * @return The attributes needed by this handler
+   */
+
+  BTAttributeSlots attributeSlots();
+
+  /**
+   * An element has started.
+   *
+   * @param context    The parsing context
+   * @param attributes The element attributes, resolved into slots
+   *
+   * @throws Exception On errors
+   */
+
+  void onElementStartSlots(
+    BTElementParsingContextType context,
+    BTAttributeValuesType attributes)
+    throws Exception;
+}
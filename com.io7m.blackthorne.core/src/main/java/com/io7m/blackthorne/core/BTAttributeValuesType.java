@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+/**
+ * The values of the attributes of an element, resolved into the slots of a
+ * {@link BTAttributeSlots} declaration. Instances are only valid for the
+ * duration of the call to which they are passed, and must not be retained.
+ */
+
+public interface BTAttributeValuesType
+{
+  /**
+   * @return The number of slots
+   */
+
+  int size();
+
+  /**
+   * @param slot The slot
+   *
+   * @return The value of the attribute in the given slot, or {@code null} if
+   * the attribute was not present on the element
+   */
+
+  String value(int slot);
+
+  /**
+   * @param slot The slot
+   *
+   * @return {@code true} if the attribute in the given slot was present on
+   * the element
+   */
+
+  default boolean isPresent(
+    final int slot)
+  {
+    return this.value(slot) != null;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of parsing one document in a batch. Exactly one of
+ * {@code result} and {@code exception} is present.
+ *
+ * @param source    The source URI
+ * @param result    The parsed value, if parsing succeeded
+ * @param exception The exception, if parsing failed
+ * @param <T>       The type of parsed values
+ */
+
+public record BTBatchResult<T>(
+  URI source,
+  Optional<T> result,
+  Optional<BTException> exception)
+{
+  /**
+   * The result of parsing one document in a batch. Exactly one of
+   * {@code result} and {@code exception} is present.
+   *
+   * @param source    The source URI
+   * @param result    The parsed value, if parsing succeeded
+   * @param exception The exception, if parsing failed
+   */
+
+  public BTBatchResult
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(result, "result");
+    Objects.requireNonNull(exception, "exception");
+
+    if (result.isPresent() == exception.isPresent()) {
+      throw new IllegalArgumentException(
+        "Exactly one of result and exception must be present.");
+    }
+  }
+
+  /**
+   * Create a successful result.
+   *
+   * @param source The source URI
+   * @param result The parsed value
+   * @param <T>    The type of parsed values
+   *
+   * @return A result
+   */
+
+  public static <T> BTBatchResult<T> success(
+    final URI source,
+    final T result)
+  {
+    return new BTBatchResult<>(source, Optional.of(result), Optional.empty());
+  }
+
+  /**
+   * Create a failed result.
+   *
+   * @param source    The source URI
+   * @param exception The exception
+   * @param <T>       The type of parsed values
+   *
+   * @return A result
+   */
+
+  public static <T> BTBatchResult<T> failure(
+    final URI source,
+    final BTException exception)
+  {
+    return new BTBatchResult<>(source, Optional.empty(), Optional.of(exception));
+  }
+
+  /**
+   * @return {@code true} if parsing succeeded
+   */
+
+  public boolean isSuccess()
+  {
+    return this.result.isPresent();
+  }
+}
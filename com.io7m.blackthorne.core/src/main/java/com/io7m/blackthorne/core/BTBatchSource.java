@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * A document to be parsed as part of a batch.
+ *
+ * @param source The source URI
+ * @param opener A function that opens the document; the returned stream is
+ *               closed after parsing
+ */
+
+public record BTBatchSource(
+  URI source,
+  Callable<InputStream> opener)
+{
+  /**
+   * A document to be parsed as part of a batch.
+   *
+   * @param source The source URI
+   * @param opener A function that opens the document; the returned stream is
+   *               closed after parsing
+   */
+
+  public BTBatchSource
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(opener, "opener");
+  }
+
+  /**
+   * Create a batch source for a file.
+   *
+   * @param file The file
+   *
+   * @return A batch source
+   */
+
+  public static BTBatchSource ofFile(
+    final Path file)
+  {
+    Objects.requireNonNull(file, "file");
+    return new BTBatchSource(file.toUri(), () -> Files.newInputStream(file));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A declaration of the child handlers of every handler produced by a given
+ * handler constructor.
+ *
+ * @param handlers           The child handler constructors
+ * @param ignoreUnrecognized Whether unrecognized child elements are ignored
+ * @param <CT>               The type of values produced by child handlers
+ *
+ * @see BTElementHandlerConstructorType#staticChildHandlers()
+ */
+
+public record BTChildHandlers<CT>(
+  Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends CT>> handlers,
+  BTIgnoreUnrecognizedElements ignoreUnrecognized)
+{
+  /**
+   * A declaration of the child handlers of every handler produced by a given
+   * handler constructor.
+   *
+   * @param handlers           The child handler constructors
+   * @param ignoreUnrecognized Whether unrecognized child elements are ignored
+   */
+
+  public BTChildHandlers
+  {
+    handlers = Map.copyOf(Objects.requireNonNull(handlers, "handlers"));
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+  }
+
+  /**
+   * A declaration for handlers that accept no child elements.
+   *
+   * @param <CT> The type of values produced by child handlers
+   *
+   * @return A declaration with no child handlers
+   */
+
+  public static <CT> BTChildHandlers<CT> none()
+  {
+    return new BTChildHandlers<>(
+      Map.of(),
+      BTIgnoreUnrecognizedElements.DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS
+    );
+  }
+}
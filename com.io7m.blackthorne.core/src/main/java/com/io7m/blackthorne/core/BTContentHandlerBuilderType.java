@@ -17,8 +17,12 @@
 package com.io7m.blackthorne.core;
 
 import com.io7m.blackthorne.core.internal.BTContentHandler;
+import org.osgi.annotation.versioning.ProviderType;
+import org.xml.sax.XMLReader;
 
+import javax.xml.stream.XMLInputFactory;
 import java.net.URI;
+import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 
 /**
@@ -27,6 +31,7 @@ import java.util.function.Consumer;
  * @param <T> The type of returned values
  */
 
+@ProviderType
 public interface BTContentHandlerBuilderType<T>
 {
   /**
@@ -40,6 +45,69 @@ public interface BTContentHandlerBuilderType<T>
   BTContentHandlerBuilderType<T> setPreserveLexical(
     BTPreserveLexical lexical);
 
+  /**
+   * Set whether the handler grammar is compiled. A compiled grammar resolves
+   * the children of elements handled by constructors that declare their
+   * child handlers (see
+   * {@link BTElementHandlerConstructorType#staticChildHandlers()}) using
+   * precomputed tables rather than asking each handler instance. The
+   * grammar is compiled once and shared by all content handlers produced by
+   * this builder.
+   *
+   * @param compile The compilation spec
+   *
+   * @return this
+   */
+
+  BTContentHandlerBuilderType<T> setCompileGrammar(
+    BTCompileGrammar compile);
+
+  /**
+   * Set the limits on the errors reported by each parse performed by parsers
+   * built by this builder. By default, errors are not limited.
+   *
+   * @param limits The error limits
+   *
+   * @return this
+   */
+
+  BTContentHandlerBuilderType<T> setErrorLimits(
+    BTErrorLimits limits);
+
+  /**
+   * Set a receiver of statistics for parsers built by this builder. When a
+   * receiver is set, each parse measures its wall time and (where the
+   * platform supports it) the bytes allocated by the parsing thread, and
+   * passes its statistics to the receiver on the parsing thread once the
+   * parse has completed, whether or not it succeeded. By default, no
+   * statistics are delivered and nothing is measured.
+   *
+   * @param receiver The statistics receiver
+   *
+   * @return this
+   */
+
+  BTContentHandlerBuilderType<T> setStatisticsReceiver(
+    Consumer<? super BTParseStatistics> receiver);
+
+  /**
+   * Set a receiver of handler profiles for parsers built by this builder.
+   * When a receiver is set, each parse attributes the time and allocations
+   * spent in handler callbacks to each pair of element name and handler
+   * class, and passes the resulting profile to the receiver on the parsing
+   * thread once the parse has completed, whether or not it succeeded.
+   * Profiling reads the clock around every handler callback and is
+   * intended for diagnosing slow grammars, not for production use. By
+   * default, nothing is profiled.
+   *
+   * @param receiver The profile receiver
+   *
+   * @return this
+   */
+
+  BTContentHandlerBuilderType<T> setHandlerProfileReceiver(
+    Consumer<? super BTHandlerProfile> receiver);
+
   /**
    * Add a handler for root elements with {@code name}.
    *
@@ -74,6 +142,36 @@ public interface BTContentHandlerBuilderType<T>
     );
   }
 
+  /**
+   * Build a parser. The parser captures the handlers and settings of this
+   * builder at the time of the call; everything derived from the handlers
+   * is computed once and shared by all parse calls. The parser reuses XML
+   * readers obtained from {@code xmlReaders}, along with its internal parse
+   * state, across parse calls.
+   *
+   * @param xmlReaders A supplier of XML readers
+   *
+   * @return A parser
+   */
+
+  BTParserType<T> buildParser(
+    Callable<XMLReader> xmlReaders);
+
+  /**
+   * Build a parser that reads documents using StAX rather than SAX. The
+   * parser behaves as a parser returned by {@link #buildParser(Callable)},
+   * and reports errors in the same way. Stream readers are obtained from
+   * {@code inputs}, which is responsible for any hardening (such as
+   * disabling DTDs and external entities) that the caller requires.
+   *
+   * @param inputs A factory of stream readers
+   *
+   * @return A parser
+   */
+
+  BTStAXParserType<T> buildStAXParser(
+    XMLInputFactory inputs);
+
   /**
    * Build a content handler.
    *
@@ -16,6 +16,8 @@
 
 package com.io7m.blackthorne.core;
 
+import java.util.Optional;
+
 /**
  * A content handler constructor that produces handlers that produce values of type {@code A}
  *
@@ -39,4 +41,22 @@ public interface BTElementHandlerConstructorType<CT, RT>
   BTElementHandlerType<? extends CT, ? extends RT> create(
     BTElementParsingContextType context)
     throws Exception;
+
+  /**
+   * Declare the child handlers of every handler produced by this
+   * constructor. A constructor that returns a declaration promises that every
+   * handler it produces returns exactly the declared handlers from
+   * {@link BTElementHandlerType#onChildHandlersRequested(BTElementParsingContextType)},
+   * and exactly the declared value from
+   * {@link BTElementHandlerType#onShouldIgnoreUnrecognizedElements(BTElementParsingContextType)},
+   * for the entire lifetime of the handler. This allows the constructor to
+   * take part in grammar compilation (see {@link BTCompileGrammar}).
+   *
+   * @return The child handler declaration, if the child handlers are fixed
+   */
+
+  default Optional<BTChildHandlers<CT>> staticChildHandlers()
+  {
+    return Optional.empty();
+  }
 }
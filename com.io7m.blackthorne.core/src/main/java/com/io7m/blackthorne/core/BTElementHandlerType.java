@@ -43,6 +43,10 @@ public interface BTElementHandlerType<CT, RT>
 {
   /**
    * Return a set of handler constructors for direct child elements of this element.
+   * This method is called once for every child element, and so implementations
+   * should return an immutable map that was computed once (typically when the
+   * handler constructor was created) rather than building a new map on each
+   * call. The returned map is never modified by the caller.
    *
    * @param context The parsing context
    *
@@ -95,7 +99,7 @@ public interface BTElementHandlerType<CT, RT>
 
   /**
    * The parser has reached the end of this element. No further methods will be called on this
-   * handler.
+   * handler, other than {@link #onReset(BTElementParsingContextType)}.
    *
    * @param context The parsing context
    *
@@ -145,6 +149,26 @@ public interface BTElementHandlerType<CT, RT>
 
   }
 
+  /**
+   * Reset this handler so that it can be reused for another element. This
+   * is called after the handler has produced its value. A handler that
+   * returns {@code true} promises that it is now indistinguishable from a
+   * handler freshly returned by the constructor that created it, and the
+   * parser may then return it from that constructor in place of creating a
+   * new handler, for the remainder of the current parse. A handler that
+   * returns {@code false} is discarded.
+   *
+   * @param context The parsing context
+   *
+   * @return {@code true} if this handler has been reset and may be reused
+   */
+
+  default boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    return false;
+  }
+
   /**
    * Functor {@code map} for handlers.
    *
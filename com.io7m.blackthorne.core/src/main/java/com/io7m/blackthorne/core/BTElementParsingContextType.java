@@ -17,9 +17,13 @@
 
 package com.io7m.blackthorne.core;
 
+import com.io7m.jlexing.core.LexicalPosition;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.ext.Locator2;
 
+import java.net.URI;
+import java.util.Optional;
+
 /**
  * The context of a parsing operation.
  */
@@ -39,4 +43,63 @@ public interface BTElementParsingContextType
    */
 
   SAXParseException parseException(Exception e);
+
+  /**
+   * Capture the current position as a packed line and column. Capturing a
+   * position allocates nothing; see {@link BTLexicalPositions}.
+   *
+   * @return The current packed position
+   */
+
+  default long lexicalPosition()
+  {
+    final var locator = this.documentLocator();
+    return BTLexicalPositions.pack(
+      locator.getLineNumber(),
+      locator.getColumnNumber()
+    );
+  }
+
+  /**
+   * Expand a packed position captured during the current parse.
+   *
+   * @param position The packed position
+   *
+   * @return The full lexical position
+   */
+
+  default LexicalPosition<URI> lexicalPositionOf(
+    final long position)
+  {
+    return LexicalPosition.of(
+      BTLexicalPositions.line(position),
+      BTLexicalPositions.column(position),
+      Optional.empty()
+    );
+  }
+
+  /**
+   * Create a parse exception that will be reported at a packed position
+   * captured earlier in the current parse, rather than at the current
+   * position.
+   *
+   * @param position The packed position
+   * @param e        The exception cause
+   *
+   * @return A SAX parse exception based on the given exception
+   */
+
+  default SAXParseException parseExceptionAt(
+    final long position,
+    final Exception e)
+  {
+    return new SAXParseException(
+      e.getLocalizedMessage(),
+      null,
+      null,
+      BTLexicalPositions.line(position),
+      BTLexicalPositions.column(position),
+      e
+    );
+  }
 }
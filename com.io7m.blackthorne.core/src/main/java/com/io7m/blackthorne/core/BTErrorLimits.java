@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import java.util.Objects;
+
+/**
+ * Limits on the errors reported by a single parse. Errors that are not
+ * reported because of these limits are counted, but no message is formatted
+ * and no {@link BTParseError} is created for them.
+ *
+ * @param maximumErrors The maximum number of errors reported
+ * @param failAfter     The number of errors after which the parse is
+ *                      abandoned
+ * @param deduplicate   Whether repeated errors are discarded
+ */
+
+public record BTErrorLimits(
+  int maximumErrors,
+  int failAfter,
+  BTDeduplicateErrors deduplicate)
+{
+  /**
+   * Limits on the errors reported by a single parse.
+   *
+   * @param maximumErrors The maximum number of errors reported
+   * @param failAfter     The number of errors after which the parse is
+   *                      abandoned
+   * @param deduplicate   Whether repeated errors are discarded
+   */
+
+  public BTErrorLimits
+  {
+    if (maximumErrors < 0) {
+      throw new IllegalArgumentException(
+        "Maximum errors must be non-negative");
+    }
+    if (failAfter < 1) {
+      throw new IllegalArgumentException(
+        "Errors before failure must be positive");
+    }
+    Objects.requireNonNull(deduplicate, "deduplicate");
+  }
+
+  /**
+   * @return Limits under which every error is reported, and parses are never
+   * abandoned because of errors
+   */
+
+  public static BTErrorLimits unlimited()
+  {
+    return new BTErrorLimits(
+      Integer.MAX_VALUE,
+      Integer.MAX_VALUE,
+      BTDeduplicateErrors.DO_NOT_DEDUPLICATE_ERRORS
+    );
+  }
+}
@@ -169,11 +169,14 @@ public final class BTException extends Exception
   }
 
   /**
+   * The list of errors is copied when the exception is constructed, and so
+   * the returned list is immutable and can be returned without copying.
+   *
    * @return The parse errors encountered during parsing
    */
 
   public List<BTParseError> errors()
   {
-    return List.copyOf(this.errors);
+    return this.errors;
   }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limits on a feed-based parse session.
+ *
+ * @param bufferSize  The maximum number of bytes buffered by the session
+ *                    before the parser has consumed them
+ * @param idleTimeout The maximum time that the parser waits for more data
+ *                    before the session fails
+ *
+ * @see BTParserType#startFeed(java.net.URI, BTFeedLimits)
+ */
+
+public record BTFeedLimits(
+  int bufferSize,
+  Duration idleTimeout)
+{
+  /**
+   * Limits on a feed-based parse session.
+   *
+   * @param bufferSize  The maximum number of bytes buffered by the session
+   *                    before the parser has consumed them
+   * @param idleTimeout The maximum time that the parser waits for more data
+   *                    before the session fails
+   */
+
+  public BTFeedLimits
+  {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Buffer size must be positive");
+    }
+    Objects.requireNonNull(idleTimeout, "idleTimeout");
+    if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+      throw new IllegalArgumentException("Idle timeout must be positive");
+    }
+  }
+
+  /**
+   * @return The default limits: a 64KiB buffer, and a one minute idle timeout
+   */
+
+  public static BTFeedLimits defaults()
+  {
+    return new BTFeedLimits(65536, Duration.ofSeconds(60L));
+  }
+}
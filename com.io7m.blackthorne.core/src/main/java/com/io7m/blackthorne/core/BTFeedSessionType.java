@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A feed-based parse session. Bytes are supplied in chunks as they become
+ * available, and the parsed value is delivered via {@link #result()} once
+ * the document has been parsed. Each open session runs its parser on one
+ * virtual thread, which is parked while it waits for more input between
+ * calls to {@link #feed(ByteBuffer)}, and which is released when the parse
+ * completes, the session is closed, or the idle timeout elapses. The session
+ * buffers a bounded number of bytes that the parser has not yet consumed,
+ * and fails if the parser waits for input for longer than the idle timeout
+ * given in its {@link BTFeedLimits}.
+ *
+ * @param <T> The type of returned values
+ *
+ * @see BTParserType#startFeed(java.net.URI, BTFeedLimits)
+ */
+
+public interface BTFeedSessionType<T> extends AutoCloseable
+{
+  /**
+   * Supply the next chunk of the document. As many of the remaining bytes of
+   * {@code data} as fit in the session's buffer are copied, and the position
+   * of {@code data} is advanced past them; the buffer may be reused as soon
+   * as this method returns. The returned stage completes when the session
+   * has room for more data, and callers should wait for it before supplying
+   * the bytes that remain in {@code data}, if any. Bytes supplied after the
+   * parse has completed are discarded.
+   *
+   * @param data The data
+   *
+   * @return A stage that completes when the session can accept more data
+   *
+   * @throws IllegalStateException If {@link #finish()} or {@link #close()}
+   *                               has been called
+   */
+
+  CompletionStage<Void> feed(ByteBuffer data);
+
+  /**
+   * Indicate that no more data will be supplied.
+   */
+
+  void finish();
+
+  /**
+   * Each call returns a new future, and so cancelling or completing the
+   * returned future does not affect the session.
+   *
+   * @return The future parsed value; completed exceptionally with a
+   * {@link BTException} on parse errors, or if the session times out while
+   * waiting for data
+   */
+
+  CompletableFuture<T> result();
+
+  /**
+   * Abort the session. If {@link #finish()} has not been called, the parse
+   * fails.
+   */
+
+  @Override
+  void close();
+}
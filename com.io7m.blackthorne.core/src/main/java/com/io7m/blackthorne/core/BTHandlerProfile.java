@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A handler cost profile collected during a single parse.
+ *
+ * @param entries The profile entries, in descending order of self time
+ *
+ * @see BTContentHandlerBuilderType#setHandlerProfileReceiver(java.util.function.Consumer)
+ */
+
+public record BTHandlerProfile(
+  List<BTHandlerProfileEntry> entries)
+{
+  /**
+   * A handler cost profile collected during a single parse.
+   *
+   * @param entries The profile entries, in descending order of self time
+   */
+
+  public BTHandlerProfile
+  {
+    entries = List.copyOf(Objects.requireNonNull(entries, "entries"));
+  }
+
+  /**
+   * Format the profile as a human-readable table, one line per entry, in
+   * descending order of self time.
+   *
+   * @return The report
+   */
+
+  public String report()
+  {
+    final var text = new StringBuilder(128 + this.entries.size() * 128);
+    text.append(String.format(
+      Locale.ROOT,
+      "%12s %12s %10s %10s %14s  %s%n",
+      "Self (ms)",
+      "Total (ms)",
+      "Elements",
+      "Calls",
+      "Allocated",
+      "Element / Handler"
+    ));
+
+    for (final var entry : this.entries) {
+      final var element = entry.element();
+      final var allocated = entry.allocatedBytes();
+      text.append(String.format(
+        Locale.ROOT,
+        "%12.3f %12.3f %10d %10d %14s  {%s}%s / %s%n",
+        milliseconds(entry.selfNanos()),
+        milliseconds(entry.totalNanos()),
+        Long.valueOf(entry.elements()),
+        Long.valueOf(entry.invocations()),
+        allocated.isPresent()
+          ? Long.toString(allocated.getAsLong())
+          : "-",
+        element.namespaceURI(),
+        element.localName(),
+        entry.handlerClass().getName()
+      ));
+    }
+    return text.toString();
+  }
+
+  private static Double milliseconds(
+    final long nanos)
+  {
+    return Double.valueOf(nanos / 1_000_000.0);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core;
+
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * The cost attributed to one kind of handler for one element name during a
+ * single parse. The callbacks measured are handler creation,
+ * {@code onElementStart}, {@code onCharacters}, {@code onChildValueProduced}
+ * and {@code onElementFinished}, including their primitive variants.
+ *
+ * @param element        The element name
+ * @param handlerClass   The handler class
+ * @param elements       The number of elements finished by the handler
+ * @param invocations    The number of callbacks invoked on the handler
+ * @param selfNanos      The time spent inside the handler's callbacks
+ * @param totalNanos     The time from the start of each element (including
+ *                       handler creation) to the end of the element,
+ *                       including child elements
+ * @param allocatedBytes The number of bytes allocated inside the handler's
+ *                       callbacks, if the platform supports measuring it
+ *
+ * @see BTHandlerProfile
+ */
+
+public record BTHandlerProfileEntry(
+  BTQualifiedName element,
+  Class<?> handlerClass,
+  long elements,
+  long invocations,
+  long selfNanos,
+  long totalNanos,
+  OptionalLong allocatedBytes)
+{
+  /**
+   * The cost attributed to one kind of handler for one element name during
+   * a single parse.
+   *
+   * @param element        The element name
+   * @param handlerClass   The handler class
+   * @param elements       The number of elements finished by the handler
+   * @param invocations    The number of callbacks invoked on the handler
+   * @param selfNanos      The time spent inside the handler's callbacks
+   * @param totalNanos     The time from the start of each element to the
+   *                       end of the element, including child elements
+   * @param allocatedBytes The number of bytes allocated inside the
+   *                       handler's callbacks, if the platform supports
+   *                       measuring it
+   */
+
+  public BTHandlerProfileEntry
+  {
+    Objects.requireNonNull(element, "element");
+    Objects.requireNonNull(handlerClass, "handlerClass");
+    Objects.requireNonNull(allocatedBytes, "allocatedBytes");
+  }
+}
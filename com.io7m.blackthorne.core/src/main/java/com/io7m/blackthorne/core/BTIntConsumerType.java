@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+/**
+ * A handler that can receive {@code int} values from child handlers without
+ * boxing. When a child handler is a {@link BTIntProducerType}, the handler
+ * stack calls {@link #onChildIntProduced(BTElementParsingContextType, int)}
+ * instead of
+ * {@link BTElementHandlerType#onChildValueProduced(BTElementParsingContextType, Object)}.
+ */
+
+public interface BTIntConsumerType
+{
+  /**
+   * A child handler produced a value.
+   *
+   * @param context The parsing context
+   * @param value   The value
+   *
+   * @throws Exception On errors
+   */
+
+  void onChildIntProduced(
+    BTElementParsingContextType context,
+    int value)
+    throws Exception;
+}
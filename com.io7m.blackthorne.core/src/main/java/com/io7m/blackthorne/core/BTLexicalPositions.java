@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+/**
+ * Functions over packed lexical positions. A packed position holds a line
+ * number in its upper 32 bits and a column number in its lower 32 bits, so
+ * that handlers can record the position of every element they see without
+ * allocating anything.
+ *
+ * @see BTElementParsingContextType#lexicalPosition()
+ * @see BTElementParsingContextType#lexicalPositionOf(long)
+ */
+
+public final class BTLexicalPositions
+{
+  private BTLexicalPositions()
+  {
+
+  }
+
+  /**
+   * Pack a line and column into a position.
+   *
+   * @param line   The line number
+   * @param column The column number
+   *
+   * @return A packed position
+   */
+
+  public static long pack(
+    final int line,
+    final int column)
+  {
+    return ((long) line << 32) | (column & 0xffff_ffffL);
+  }
+
+  /**
+   * @param position A packed position
+   *
+   * @return The line number of the position
+   */
+
+  public static int line(
+    final long position)
+  {
+    return (int) (position >> 32);
+  }
+
+  /**
+   * @param position A packed position
+   *
+   * @return The column number of the position
+   */
+
+  public static int column(
+    final long position)
+  {
+    return (int) position;
+  }
+}
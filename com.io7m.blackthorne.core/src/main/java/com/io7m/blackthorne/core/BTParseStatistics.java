@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Statistics collected during a single parse.
+ *
+ * @param elements        The number of elements started
+ * @param ignoredElements The number of elements that were ignored
+ * @param maximumDepth    The maximum depth of the element stack
+ * @param characters      The number of characters delivered to handlers
+ * @param handlersCreated The number of handlers created (rather than reused)
+ * @param valuesProduced  The number of values produced by handlers
+ * @param warnings        The number of warnings
+ * @param errors          The number of errors, including errors that were
+ *                        not reported because of error limits
+ * @param wallTime        The time taken by the parse
+ * @param allocatedBytes  The number of bytes allocated by the parsing thread,
+ *                        if the platform supports measuring it
+ *
+ * @see BTContentHandlerBuilderType#setStatisticsReceiver(java.util.function.Consumer)
+ */
+
+public record BTParseStatistics(
+  long elements,
+  long ignoredElements,
+  int maximumDepth,
+  long characters,
+  long handlersCreated,
+  long valuesProduced,
+  long warnings,
+  long errors,
+  Duration wallTime,
+  OptionalLong allocatedBytes)
+{
+  /**
+   * Statistics collected during a single parse.
+   *
+   * @param elements        The number of elements started
+   * @param ignoredElements The number of elements that were ignored
+   * @param maximumDepth    The maximum depth of the element stack
+   * @param characters      The number of characters delivered to handlers
+   * @param handlersCreated The number of handlers created (rather than reused)
+   * @param valuesProduced  The number of values produced by handlers
+   * @param warnings        The number of warnings
+   * @param errors          The number of errors, including errors that were
+   *                        not reported because of error limits
+   * @param wallTime        The time taken by the parse
+   * @param allocatedBytes  The number of bytes allocated by the parsing
+   *                        thread, if the platform supports measuring it
+   */
+
+  public BTParseStatistics
+  {
+    Objects.requireNonNull(wallTime, "wallTime");
+    Objects.requireNonNull(allocatedBytes, "allocatedBytes");
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core;
+
+import com.io7m.blackthorne.core.internal.BTMetrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide parser metrics. Metrics are not collected until
+ * {@link #register()} or {@link #enable()} is called; until then, parsers
+ * do no metrics work at all.
+ */
+
+public final class BTParserMetrics
+{
+  /**
+   * The name under which the metrics bean is registered.
+   */
+
+  public static final String OBJECT_NAME =
+    "com.io7m.blackthorne:type=ParserMetrics";
+
+  private BTParserMetrics()
+  {
+
+  }
+
+  /**
+   * @return The process-wide metrics
+   */
+
+  public static BTParserMetricsType get()
+  {
+    return BTMetrics.get();
+  }
+
+  /**
+   * Enable metrics collection without registering the metrics bean.
+   */
+
+  public static void enable()
+  {
+    BTMetrics.get().setEnabled(true);
+  }
+
+  /**
+   * Disable metrics collection. Collected metrics are retained.
+   */
+
+  public static void disable()
+  {
+    BTMetrics.get().setEnabled(false);
+  }
+
+  /**
+   * @return {@code true} if metrics are being collected
+   */
+
+  public static boolean isEnabled()
+  {
+    return BTMetrics.isEnabled();
+  }
+
+  /**
+   * Enable metrics collection and register the metrics bean with the
+   * platform MBean server under {@link #OBJECT_NAME}, if it is not already
+   * registered.
+   *
+   * @throws JMException On registration errors
+   */
+
+  public static void register()
+    throws JMException
+  {
+    enable();
+
+    final var server = ManagementFactory.getPlatformMBeanServer();
+    final var name = new ObjectName(OBJECT_NAME);
+    synchronized (BTParserMetrics.class) {
+      if (!server.isRegistered(name)) {
+        server.registerMBean(
+          new StandardMBean(get(), BTParserMetricsType.class, true),
+          name
+        );
+      }
+    }
+  }
+
+  /**
+   * Register a gauge whose value is reported alongside the metrics. A gauge
+   * registered under an existing name replaces the existing gauge.
+   *
+   * @param name  The gauge name
+   * @param gauge The gauge
+   */
+
+  public static void registerGauge(
+    final String name,
+    final LongSupplier gauge)
+  {
+    BTMetrics.get().registerGauge(name, gauge);
+  }
+}
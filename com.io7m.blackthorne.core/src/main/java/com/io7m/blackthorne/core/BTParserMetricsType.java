@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core;
+
+import javax.management.MXBean;
+import java.util.Map;
+
+/**
+ * Metrics aggregated over every parse performed in the process while
+ * metrics collection is enabled.
+ *
+ * @see BTParserMetrics#register()
+ */
+
+@MXBean
+public interface BTParserMetricsType
+{
+  /**
+   * @return The number of parses completed
+   */
+
+  long getParses();
+
+  /**
+   * @return The number of parses that failed
+   */
+
+  long getFailures();
+
+  /**
+   * @return The number of parse errors reported, by error code
+   */
+
+  Map<String, Long> getErrorsByCode();
+
+  /**
+   * @return The number of bytes read by completed parses
+   */
+
+  long getBytes();
+
+  /**
+   * @return The number of elements started by completed parses
+   */
+
+  long getElements();
+
+  /**
+   * The throughput of parsing in bytes: the bytes read by completed parses
+   * divided by the total time spent in those parses. This is not a rate
+   * over wall-clock time, and does not fall when no parses are running.
+   *
+   * @return The number of bytes read per second spent parsing
+   */
+
+  double getThroughputBytesPerSecond();
+
+  /**
+   * The throughput of parsing in elements: the elements started by
+   * completed parses divided by the total time spent in those parses.
+   *
+   * @return The number of elements started per second spent parsing
+   */
+
+  double getThroughputElementsPerSecond();
+
+  /**
+   * @return The approximate median parse latency in nanoseconds, by root
+   * element
+   */
+
+  Map<String, Long> getLatencyMedianNanosByRoot();
+
+  /**
+   * @return The approximate 99th percentile parse latency in nanoseconds, by
+   * root element
+   */
+
+  Map<String, Long> getLatency99NanosByRoot();
+
+  /**
+   * @return The maximum parse latency in nanoseconds, by root element
+   */
+
+  Map<String, Long> getLatencyMaximumNanosByRoot();
+
+  /**
+   * @return The values of any additional gauges, such as the statistics
+   * of reader pools and schema caches
+   *
+   * @see BTParserMetrics#registerGauge(String, java.util.function.LongSupplier)
+   */
+
+  Map<String, Long> getGauges();
+
+  /**
+   * Reset all metrics to zero. Gauges are not affected.
+   */
+
+  void reset();
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import com.io7m.blackthorne.core.internal.BTBatch;
+import com.io7m.blackthorne.core.internal.BTFeedSession;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A parser that produces values of type {@code T}. Parsers are built once
+ * for a given set of handlers, and are safe to use from multiple threads.
+ *
+ * @param <T> The type of returned values
+ *
+ * @see BTContentHandlerBuilderType#buildParser(java.util.concurrent.Callable)
+ */
+
+public interface BTParserType<T>
+{
+  /**
+   * Parse a document.
+   *
+   * @param source The source URI
+   * @param stream The input stream
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  T parse(
+    URI source,
+    InputStream stream)
+    throws BTException;
+
+  /**
+   * Parse a document, delivering errors to {@code errors} as they are
+   * encountered rather than collecting them. Exceptions raised by this
+   * method carry only the errors that were not delivered to
+   * {@code errors}.
+   *
+   * @param source The source URI
+   * @param stream The input stream
+   * @param errors A receiver of errors
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  default T parse(
+    final URI source,
+    final InputStream stream,
+    final Consumer<? super BTParseError> errors)
+    throws BTException
+  {
+    Objects.requireNonNull(errors, "errors");
+
+    try {
+      return this.parse(source, stream);
+    } catch (final BTException e) {
+      e.errors().forEach(errors);
+      throw new BTException(
+        e.getMessage(),
+        e,
+        e.errorCode(),
+        e.attributes(),
+        e.remediatingAction(),
+        List.of()
+      );
+    }
+  }
+
+  /**
+   * Start a feed-based parse of a document using the
+   * {@link BTFeedLimits#defaults() default limits}.
+   *
+   * @param source The source URI
+   *
+   * @return A new feed session
+   *
+   * @see #startFeed(URI, BTFeedLimits)
+   */
+
+  default BTFeedSessionType<T> startFeed(
+    final URI source)
+  {
+    return this.startFeed(source, BTFeedLimits.defaults());
+  }
+
+  /**
+   * Start a feed-based parse of a document. The returned session accepts the
+   * bytes of the document in chunks as they arrive, and parses them
+   * incrementally with this parser.
+   *
+   * @param source The source URI
+   * @param limits The limits on the session
+   *
+   * @return A new feed session
+   */
+
+  default BTFeedSessionType<T> startFeed(
+    final URI source,
+    final BTFeedLimits limits)
+  {
+    return BTFeedSession.start(this, source, limits);
+  }
+
+  /**
+   * Parse a batch of documents in parallel. Each document is parsed as a
+   * separate task on {@code executor}; executors backed by virtual threads
+   * and fork-join pools are both suitable. Readers are reused between
+   * documents as with {@link #parse(URI, InputStream)}. The failure of one
+   * document does not abort the batch. A document that cannot be opened
+   * fails with the error code {@code io-error}; any other unexpected
+   * exception fails with the error code {@code exception}, as it does when
+   * raised during parsing.
+   *
+   * @param sources  The documents
+   * @param executor The executor
+   *
+   * @return The results, in the same order as {@code sources}
+   */
+
+  default List<BTBatchResult<T>> parseBatch(
+    final Collection<BTBatchSource> sources,
+    final Executor executor)
+  {
+    return BTBatch.parse(this, sources, executor);
+  }
+}
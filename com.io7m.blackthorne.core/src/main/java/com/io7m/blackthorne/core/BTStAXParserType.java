@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core;
+
+import javax.xml.stream.XMLStreamReader;
+import java.net.URI;
+
+/**
+ * A parser that produces values of type {@code T} from StAX stream readers.
+ * The reader is read to the end of the document, and so content following
+ * the root element is rejected exactly as it is by SAX-based parsers.
+ *
+ * @param <T> The type of returned values
+ *
+ * @see BTContentHandlerBuilderType#buildStAXParser(javax.xml.stream.XMLInputFactory)
+ */
+
+public interface BTStAXParserType<T> extends BTParserType<T>
+{
+  /**
+   * Parse a document from a reader positioned at the start of the document.
+   * The reader is not closed.
+   *
+   * @param source The source URI
+   * @param reader The stream reader
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  T parse(
+    URI source,
+    XMLStreamReader reader)
+    throws BTException;
+}
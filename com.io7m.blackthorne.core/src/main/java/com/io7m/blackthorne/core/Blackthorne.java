@@ -17,27 +17,40 @@
 package com.io7m.blackthorne.core;
 
 import com.io7m.blackthorne.core.internal.BTContentHandler;
+import com.io7m.blackthorne.core.internal.BTDeclaredConstructor;
+import com.io7m.blackthorne.core.internal.BTGrammar;
+import com.io7m.blackthorne.core.internal.BTListDoubleHandler;
+import com.io7m.blackthorne.core.internal.BTListIntHandler;
+import com.io7m.blackthorne.core.internal.BTListLongHandler;
 import com.io7m.blackthorne.core.internal.BTListMonoHandler;
 import com.io7m.blackthorne.core.internal.BTListPolyHandler;
+import com.io7m.blackthorne.core.internal.BTListStreamHandler;
+import com.io7m.blackthorne.core.internal.BTNumbers;
 import com.io7m.blackthorne.core.internal.BTOneOfHandler;
+import com.io7m.blackthorne.core.internal.BTParserSession;
+import com.io7m.blackthorne.core.internal.BTQualifiedNameTable;
 import com.io7m.blackthorne.core.internal.BTScalarAttributeHandler;
+import com.io7m.blackthorne.core.internal.BTScalarAttributeSlotsHandler;
+import com.io7m.blackthorne.core.internal.BTScalarDoubleHandler;
 import com.io7m.blackthorne.core.internal.BTScalarElementHandler;
-import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.blackthorne.core.internal.BTScalarIntHandler;
+import com.io7m.blackthorne.core.internal.BTScalarLongHandler;
 import com.io7m.junreachable.UnreachableCodeException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.net.URI;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -46,14 +59,65 @@ import java.util.function.Function;
 
 public final class Blackthorne
 {
-  private static final Logger LOG =
-    LoggerFactory.getLogger(Blackthorne.class);
-
   private Blackthorne()
   {
     throw new UnreachableCodeException();
   }
 
+  /**
+   * Parse a batch of documents in parallel using the same root handlers.
+   *
+   * @param sources         The documents
+   * @param executor        The executor on which documents are parsed
+   * @param preserveLexical Whether to preserve lexical information
+   * @param xmlReaders      A supplier of XML readers
+   * @param rootElements    The root element handlers
+   * @param <T>             The type of returned values
+   *
+   * @return The results, in the same order as {@code sources}
+   *
+   * @see BTParserType#parseBatch(Collection, Executor)
+   */
+
+  public static <T> List<BTBatchResult<T>> parseBatch(
+    final Collection<BTBatchSource> sources,
+    final Executor executor,
+    final BTPreserveLexical preserveLexical,
+    final Callable<XMLReader> xmlReaders,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements)
+  {
+    Objects.requireNonNull(sources, "sources");
+    Objects.requireNonNull(executor, "executor");
+    Objects.requireNonNull(preserveLexical, "preserveLexical");
+    Objects.requireNonNull(xmlReaders, "xmlReaders");
+    Objects.requireNonNull(rootElements, "rootElements");
+
+    final var builder =
+      Blackthorne.<T>builder()
+        .setPreserveLexical(preserveLexical);
+
+    for (final var entry : rootElements.entrySet()) {
+      builder.addHandler(entry.getKey(), entry.getValue());
+    }
+
+    return builder.buildParser(xmlReaders)
+      .parseBatch(sources, executor);
+  }
+
+  /**
+   * Create a new content handler builder. Builders can produce individual
+   * content handlers, or reusable parsers.
+   *
+   * @param <T> The type of returned values
+   *
+   * @return A new builder
+   */
+
+  public static <T> BTContentHandlerBuilderType<T> builder()
+  {
+    return BTContentHandler.builder();
+  }
+
   /**
    * Functor map for handlers.
    *
@@ -109,11 +173,14 @@ public final class Blackthorne
     final BTElementHandlerConstructorType<CT, RT> constructor,
     final Function<RT, RX> function)
   {
-    return context -> {
-      @SuppressWarnings("unchecked") final var newHandler =
-        (BTElementHandlerType<CT, RT>) constructor.create(context);
-      return (BTElementHandlerType<CT, RX>) map(newHandler, function);
-    };
+    return new BTDeclaredConstructor<>(
+      context -> {
+        @SuppressWarnings("unchecked") final var newHandler =
+          (BTElementHandlerType<CT, RT>) constructor.create(context);
+        return (BTElementHandlerType<CT, RX>) map(newHandler, function);
+      },
+      constructor.staticChildHandlers()
+    );
   }
 
   /**
@@ -137,7 +204,8 @@ public final class Blackthorne
 
   /**
    * A convenience function for constructing content handlers that produce a scalar value from the
-   * text content of a single XML element.
+   * text content of a single XML element. The parser is called exactly once per element, with the
+   * complete text content of the element.
    *
    * @param elementName The name of the element
    * @param parser      A function that receives text and returns a value of type {@code S}
@@ -152,7 +220,10 @@ public final class Blackthorne
   {
     Objects.requireNonNull(elementName, "elementName");
     Objects.requireNonNull(parser, "parser");
-    return context -> new BTScalarElementHandler<>(elementName, parser);
+    return new BTDeclaredConstructor<Object, S>(
+      context -> new BTScalarElementHandler<>(elementName, parser),
+      Optional.of(BTChildHandlers.none())
+    );
   }
 
   /**
@@ -198,7 +269,10 @@ public final class Blackthorne
   {
     Objects.requireNonNull(elementName, "elementName");
     Objects.requireNonNull(parser, "parser");
-    return context -> new BTScalarAttributeHandler<>(elementName, parser);
+    return new BTDeclaredConstructor<Object, S>(
+      context -> new BTScalarAttributeHandler<>(elementName, parser),
+      Optional.of(BTChildHandlers.none())
+    );
   }
 
   /**
@@ -227,6 +301,232 @@ public final class Blackthorne
     );
   }
 
+  /**
+   * A convenience function for constructing content handlers that produce a scalar value from the
+   * declared attributes of a single XML element. The attributes of each element are resolved into
+   * the declared slots once, and the parser reads them by slot.
+   *
+   * @param elementName The name of the element
+   * @param slots       The attributes needed by the parser
+   * @param parser      A function that receives the attribute values and returns a value of {@code S}
+   * @param <S>         The type of returned values
+   *
+   * @return A content handler constructor
+   */
+
+  public static <S> BTElementHandlerConstructorType<?, S> forScalarAttributes(
+    final BTQualifiedName elementName,
+    final BTAttributeSlots slots,
+    final BTAttributeValuesHandlerType<S> parser)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    Objects.requireNonNull(slots, "slots");
+    Objects.requireNonNull(parser, "parser");
+    return new BTDeclaredConstructor<Object, S>(
+      context -> new BTScalarAttributeSlotsHandler<>(elementName, slots, parser),
+      Optional.of(BTChildHandlers.none())
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the text content of a
+   * single XML element as an {@code int}. The text is parsed directly, without constructing an
+   * intermediate string. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName The name of the element
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, Integer> forScalarInt(
+    final BTQualifiedName elementName)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    return new BTDeclaredConstructor<Object, Integer>(
+      context -> new BTScalarIntHandler(elementName),
+      Optional.of(BTChildHandlers.none())
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the text content of a
+   * single XML element as a {@code long}. The text is parsed directly, without constructing an
+   * intermediate string. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName The name of the element
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, Long> forScalarLong(
+    final BTQualifiedName elementName)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    return new BTDeclaredConstructor<Object, Long>(
+      context -> new BTScalarLongHandler(elementName),
+      Optional.of(BTChildHandlers.none())
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the text content of a
+   * single XML element as a {@code double}. The text is parsed directly, without constructing an
+   * intermediate string. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName The name of the element
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, Double> forScalarDouble(
+    final BTQualifiedName elementName)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    return new BTDeclaredConstructor<Object, Double>(
+      context -> new BTScalarDoubleHandler(elementName),
+      Optional.of(BTChildHandlers.none())
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the text content of a
+   * single XML element as a decimal. The text is parsed directly, without constructing an
+   * intermediate string. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName The name of the element
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, BigDecimal> forScalarDecimal(
+    final BTQualifiedName elementName)
+  {
+    return forScalar(
+      elementName,
+      (context, text, offset, length) -> BTNumbers.parseDecimal(text, offset, length)
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the value of a single
+   * attribute of a single XML element as an {@code int}. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName   The name of the element
+   * @param attributeName The name of the attribute
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, Integer> forScalarAttributeInt(
+    final BTQualifiedName elementName,
+    final BTQualifiedName attributeName)
+  {
+    final var slots = singleAttribute(attributeName);
+    return forScalarAttributes(
+      elementName,
+      slots,
+      (context, attributes) -> Integer.valueOf(
+        BTNumbers.parseInt(attributeValue(context, slots, attributes)))
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the value of a single
+   * attribute of a single XML element as a {@code long}. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName   The name of the element
+   * @param attributeName The name of the attribute
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, Long> forScalarAttributeLong(
+    final BTQualifiedName elementName,
+    final BTQualifiedName attributeName)
+  {
+    final var slots = singleAttribute(attributeName);
+    return forScalarAttributes(
+      elementName,
+      slots,
+      (context, attributes) -> Long.valueOf(
+        BTNumbers.parseLong(attributeValue(context, slots, attributes)))
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the value of a single
+   * attribute of a single XML element as a {@code double}. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName   The name of the element
+   * @param attributeName The name of the attribute
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, Double> forScalarAttributeDouble(
+    final BTQualifiedName elementName,
+    final BTQualifiedName attributeName)
+  {
+    final var slots = singleAttribute(attributeName);
+    return forScalarAttributes(
+      elementName,
+      slots,
+      (context, attributes) -> Double.valueOf(
+        BTNumbers.parseDouble(attributeValue(context, slots, attributes)))
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that parse the value of a single
+   * attribute of a single XML element as a decimal. Leading and trailing whitespace is ignored.
+   *
+   * @param elementName   The name of the element
+   * @param attributeName The name of the attribute
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<?, BigDecimal> forScalarAttributeDecimal(
+    final BTQualifiedName elementName,
+    final BTQualifiedName attributeName)
+  {
+    final var slots = singleAttribute(attributeName);
+    return forScalarAttributes(
+      elementName,
+      slots,
+      (context, attributes) -> BTNumbers.parseDecimal(
+        attributeValue(context, slots, attributes))
+    );
+  }
+
+  private static BTAttributeSlots singleAttribute(
+    final BTQualifiedName attributeName)
+  {
+    return BTAttributeSlots.of(
+      BTIgnoreUnrecognizedAttributes.IGNORE_UNRECOGNIZED_ATTRIBUTES,
+      Objects.requireNonNull(attributeName, "attributeName")
+    );
+  }
+
+  private static String attributeValue(
+    final BTElementParsingContextType context,
+    final BTAttributeSlots slots,
+    final BTAttributeValuesType attributes)
+    throws SAXParseException
+  {
+    final var value = attributes.value(0);
+    if (value == null) {
+      throw context.parseException(
+        new NoSuchElementException(
+          String.format(
+            "Missing required attribute '%s'",
+            slots.names().get(0).localName())
+        )
+      );
+    }
+    return value;
+  }
+
   /**
    * A convenience function for constructing content handlers that produce lists of values from the
    * child elements of a single element. All child elements are expected to be of the same type.
@@ -249,12 +549,17 @@ public final class Blackthorne
     Objects.requireNonNull(elementName, "elementName");
     Objects.requireNonNull(childElementName, "childElementName");
     Objects.requireNonNull(itemHandler, "itemHandler");
-    return context ->
-      new BTListMonoHandler<>(
-        elementName,
-        childElementName,
-        itemHandler,
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+
+    final BTChildHandlers<S> childHandlers =
+      new BTChildHandlers<>(
+        Map.of(childElementName, itemHandler),
         ignoreUnrecognized);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTListMonoHandler<>(elementName, childHandlers),
+      Optional.of(childHandlers)
+    );
   }
 
   /**
@@ -277,10 +582,194 @@ public final class Blackthorne
   {
     Objects.requireNonNull(elementName, "elementName");
     Objects.requireNonNull(itemHandlers, "itemHandlers");
-    return context -> new BTListPolyHandler<S>(
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+
+    final BTChildHandlers<S> childHandlers =
+      new BTChildHandlers<>(itemHandlers, ignoreUnrecognized);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTListPolyHandler<>(elementName, childHandlers),
+      Optional.of(childHandlers)
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that stream values from the child
+   * elements of a single element. All child elements are expected to be of the same type. Each
+   * value is passed to {@code consumer} as soon as it is produced, and is not retained, and so
+   * memory use does not grow with the number of child elements. The handler produces the number
+   * of values consumed.
+   *
+   * @param elementName        The name of the element
+   * @param childElementName   The name of the child element
+   * @param itemHandler        A handler for child elements
+   * @param ignoreUnrecognized Whether unrecognized child elements should be ignored
+   * @param consumer           The consumer of values
+   * @param <S>                The type of returned scalar values
+   *
+   * @return A content handler constructor
+   */
+
+  public static <S> BTElementHandlerConstructorType<S, Long> forListMonoStreaming(
+    final BTQualifiedName elementName,
+    final BTQualifiedName childElementName,
+    final BTElementHandlerConstructorType<?, ? extends S> itemHandler,
+    final BTIgnoreUnrecognizedElements ignoreUnrecognized,
+    final Consumer<? super S> consumer)
+  {
+    Objects.requireNonNull(childElementName, "childElementName");
+    Objects.requireNonNull(itemHandler, "itemHandler");
+
+    return forListPolyStreaming(
       elementName,
-      itemHandlers,
-      ignoreUnrecognized);
+      Map.of(childElementName, itemHandler),
+      ignoreUnrecognized,
+      consumer
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that stream values from the child
+   * elements of a single element. Child elements may be of different types, but values produced
+   * by the content handlers for the child elements must have a common supertype. Each value is
+   * passed to {@code consumer} as soon as it is produced, and is not retained. The handler
+   * produces the number of values consumed.
+   *
+   * @param elementName        The name of the element
+   * @param itemHandlers       Handlers for child elements
+   * @param ignoreUnrecognized Whether unrecognized child elements should be ignored
+   * @param consumer           The consumer of values
+   * @param <S>                The type of returned scalar values
+   *
+   * @return A content handler constructor
+   */
+
+  public static <S> BTElementHandlerConstructorType<S, Long> forListPolyStreaming(
+    final BTQualifiedName elementName,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> itemHandlers,
+    final BTIgnoreUnrecognizedElements ignoreUnrecognized,
+    final Consumer<? super S> consumer)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    Objects.requireNonNull(itemHandlers, "itemHandlers");
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+    Objects.requireNonNull(consumer, "consumer");
+
+    final BTChildHandlers<S> childHandlers =
+      new BTChildHandlers<>(itemHandlers, ignoreUnrecognized);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTListStreamHandler<>(elementName, childHandlers, consumer),
+      Optional.of(childHandlers)
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that produce arrays of {@code int}
+   * values from the child elements of a single element, such as those produced by
+   * {@link #forScalarInt(BTQualifiedName)}. Values are stored in a primitive array rather than as
+   * a list of boxed values.
+   *
+   * @param elementName        The name of the element
+   * @param childElementName   The name of the child element
+   * @param itemHandler        A handler for child elements
+   * @param ignoreUnrecognized Whether unrecognized child elements should be ignored
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<Integer, int[]> forListInt(
+    final BTQualifiedName elementName,
+    final BTQualifiedName childElementName,
+    final BTElementHandlerConstructorType<?, ? extends Integer> itemHandler,
+    final BTIgnoreUnrecognizedElements ignoreUnrecognized)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    Objects.requireNonNull(childElementName, "childElementName");
+    Objects.requireNonNull(itemHandler, "itemHandler");
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+
+    final BTChildHandlers<Integer> childHandlers =
+      new BTChildHandlers<>(
+        Map.of(childElementName, itemHandler),
+        ignoreUnrecognized);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTListIntHandler(elementName, childHandlers),
+      Optional.of(childHandlers)
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that produce arrays of {@code long}
+   * values from the child elements of a single element, such as those produced by
+   * {@link #forScalarLong(BTQualifiedName)}. Values are stored in a primitive array rather than as
+   * a list of boxed values.
+   *
+   * @param elementName        The name of the element
+   * @param childElementName   The name of the child element
+   * @param itemHandler        A handler for child elements
+   * @param ignoreUnrecognized Whether unrecognized child elements should be ignored
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<Long, long[]> forListLong(
+    final BTQualifiedName elementName,
+    final BTQualifiedName childElementName,
+    final BTElementHandlerConstructorType<?, ? extends Long> itemHandler,
+    final BTIgnoreUnrecognizedElements ignoreUnrecognized)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    Objects.requireNonNull(childElementName, "childElementName");
+    Objects.requireNonNull(itemHandler, "itemHandler");
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+
+    final BTChildHandlers<Long> childHandlers =
+      new BTChildHandlers<>(
+        Map.of(childElementName, itemHandler),
+        ignoreUnrecognized);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTListLongHandler(elementName, childHandlers),
+      Optional.of(childHandlers)
+    );
+  }
+
+  /**
+   * A convenience function for constructing content handlers that produce arrays of {@code double}
+   * values from the child elements of a single element, such as those produced by
+   * {@link #forScalarDouble(BTQualifiedName)}. Values are stored in a primitive array rather than as
+   * a list of boxed values.
+   *
+   * @param elementName        The name of the element
+   * @param childElementName   The name of the child element
+   * @param itemHandler        A handler for child elements
+   * @param ignoreUnrecognized Whether unrecognized child elements should be ignored
+   *
+   * @return A content handler constructor
+   */
+
+  public static BTElementHandlerConstructorType<Double, double[]> forListDouble(
+    final BTQualifiedName elementName,
+    final BTQualifiedName childElementName,
+    final BTElementHandlerConstructorType<?, ? extends Double> itemHandler,
+    final BTIgnoreUnrecognizedElements ignoreUnrecognized)
+  {
+    Objects.requireNonNull(elementName, "elementName");
+    Objects.requireNonNull(childElementName, "childElementName");
+    Objects.requireNonNull(itemHandler, "itemHandler");
+    Objects.requireNonNull(ignoreUnrecognized, "ignoreUnrecognized");
+
+    final BTChildHandlers<Double> childHandlers =
+      new BTChildHandlers<>(
+        Map.of(childElementName, itemHandler),
+        ignoreUnrecognized);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTListDoubleHandler(elementName, childHandlers),
+      Optional.of(childHandlers)
+    );
   }
 
   /**
@@ -365,7 +854,10 @@ public final class Blackthorne
   }
 
   /**
-   * A convenience method to configure and execute a parser.
+   * A convenience method to configure and execute a parser. Each call
+   * builds a new session for the given root elements and discards it
+   * afterwards; callers parsing many documents with the same handlers
+   * should use {@link BTContentHandlerBuilderType#buildParser(Callable)}.
    *
    * @param source          The source URI
    * @param stream          The input stream
@@ -393,98 +885,13 @@ public final class Blackthorne
     Objects.requireNonNull(xmlReaders, "xmlReaders");
     Objects.requireNonNull(rootElements, "rootElements");
 
-    final var errors =
-      new ArrayList<BTParseError>(32);
-    final var contentHandler =
-      new BTContentHandler<>(
-        source,
-        errors::add,
-        preserveLexical,
-        rootElements);
-
-    try {
-      final var reader = xmlReaders.call();
-      reader.setContentHandler(contentHandler);
-      reader.setErrorHandler(contentHandler);
-
-      final var inputSource = new InputSource(stream);
-      inputSource.setPublicId(source.toString());
-
-      reader.parse(inputSource);
-
-      final var resultOpt = contentHandler.result();
-
-      final var anyErrors =
-        errors.stream()
-          .anyMatch(e -> switch (e.severity()) {
-            case WARNING -> false;
-            case ERROR -> true;
-          });
-
-      if (resultOpt.isEmpty() || anyErrors) {
-        throw new BTException("Parsing failed.", "parse-failed", errors);
-      }
-
-      return resultOpt.get();
-    } catch (final SAXParseException e) {
-      LOG.error("error encountered during parsing: ", e);
-
-      final var position =
-        LexicalPosition.of(
-          e.getLineNumber(),
-          e.getColumnNumber(),
-          Optional.of(source)
-        );
-
-      final var mainError =
-        new BTParseError(
-          position,
-          BTParseError.Severity.ERROR,
-          "sax-parse-error",
-          e.getMessage(),
-          Map.of(),
-          Optional.empty(),
-          Optional.of(e)
-        );
-
-      errors.add(mainError);
-
-      throw new BTException(
-        e.getMessage(),
-        e,
-        mainError.errorCode(),
-        mainError.attributes(),
-        mainError.remediatingAction(),
-        errors
-      );
-    } catch (final Exception e) {
-      LOG.error("Error encountered during parsing: ", e);
-
-      final var position =
-        LexicalPosition.of(-1, -1, Optional.of(source));
-
-      final var mainError =
-        new BTParseError(
-          position,
-          BTParseError.Severity.ERROR,
-          "exception",
-          e.getMessage(),
-          Map.of(),
-          Optional.empty(),
-          Optional.of(e)
-        );
-
-      errors.add(mainError);
-
-      throw new BTException(
-        e.getMessage(),
-        e,
-        mainError.errorCode(),
-        mainError.attributes(),
-        mainError.remediatingAction(),
-        errors
-      );
-    }
+    return new BTParserSession<>(
+      BTGrammar.dynamic(
+        rootElements,
+        BTQualifiedNameTable.of(rootElements.keySet())),
+      preserveLexical,
+      xmlReaders
+    ).parse(source, stream);
   }
 
   /**
@@ -503,6 +910,15 @@ public final class Blackthorne
     final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> itemHandlers)
   {
     Objects.requireNonNull(itemHandlers, "itemHandlers");
-    return context -> new BTOneOfHandler<>(itemHandlers);
+
+    final BTChildHandlers<S> childHandlers =
+      new BTChildHandlers<>(
+        itemHandlers,
+        BTIgnoreUnrecognizedElements.DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
+
+    return new BTDeclaredConstructor<>(
+      context -> new BTOneOfHandler<>(childHandlers),
+      Optional.of(childHandlers)
+    );
   }
 }
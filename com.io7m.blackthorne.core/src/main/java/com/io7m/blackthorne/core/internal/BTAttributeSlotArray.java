@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTAttributeSlots;
+import com.io7m.blackthorne.core.BTAttributeValuesType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTIgnoreUnrecognizedAttributes;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXParseException;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A reusable array of attribute values, indexed by slot.
+ */
+
+public final class BTAttributeSlotArray implements BTAttributeValuesType
+{
+  private String[] values;
+  private int size;
+
+  /**
+   * Construct an empty array.
+   */
+
+  public BTAttributeSlotArray()
+  {
+    this.values = new String[8];
+  }
+
+  /**
+   * Resolve the given attributes into the slots of the given declaration,
+   * replacing the current contents of the array.
+   *
+   * @param slots      The declaration
+   * @param attributes The attributes
+   *
+   * @return The index (in {@code attributes}) of the first attribute that
+   * is not declared, if undeclared attributes are not ignored, or {@code -1}
+   */
+
+  public int resolve(
+    final BTAttributeSlots slots,
+    final Attributes attributes)
+  {
+    Objects.requireNonNull(slots, "slots");
+    Objects.requireNonNull(attributes, "attributes");
+
+    this.size = slots.size();
+    if (this.values.length < this.size) {
+      this.values = new String[this.size];
+    } else {
+      Arrays.fill(this.values, 0, this.size, null);
+    }
+
+    final var ignore =
+      slots.ignoreUnrecognized()
+      == BTIgnoreUnrecognizedAttributes.IGNORE_UNRECOGNIZED_ATTRIBUTES;
+
+    final var count = attributes.getLength();
+    for (int index = 0; index < count; ++index) {
+      final var slot =
+        slots.slotOf(attributes.getURI(index), attributes.getLocalName(index));
+      if (slot >= 0) {
+        this.values[slot] = attributes.getValue(index);
+      } else if (!ignore) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Construct an error for an attribute that was not declared.
+   *
+   * @param context    The parsing context
+   * @param handler    The handler that declared the attributes
+   * @param slots      The declaration
+   * @param attributes The attributes
+   * @param index      The index (in {@code attributes}) of the attribute
+   *
+   * @return An exception
+   */
+
+  public static SAXParseException errorUnrecognized(
+    final BTElementParsingContextType context,
+    final BTElementHandlerType<?, ?> handler,
+    final BTAttributeSlots slots,
+    final Attributes attributes,
+    final int index)
+  {
+    return BTLazyParseException.ofResource(
+      context.documentLocator(),
+      "errorHandlerUnrecognizedAttribute",
+      handler.getClass().getCanonicalName(),
+      attributes.getURI(index),
+      attributes.getLocalName(index),
+      BTLazyParseException.localNames(slots.names())
+    );
+  }
+
+  @Override
+  public int size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public String value(
+    final int slot)
+  {
+    Objects.checkIndex(slot, this.size);
+    return this.values[slot];
+  }
+}
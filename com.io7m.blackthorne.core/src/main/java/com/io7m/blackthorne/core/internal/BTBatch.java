@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTBatchResult;
+import com.io7m.blackthorne.core.BTBatchSource;
+import com.io7m.blackthorne.core.BTException;
+import com.io7m.blackthorne.core.BTParseError;
+import com.io7m.blackthorne.core.BTParserType;
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Functions to parse batches of documents in parallel.
+ */
+
+public final class BTBatch
+{
+  private BTBatch()
+  {
+
+  }
+
+  /**
+   * Parse a batch of documents using the given parser. Each document is
+   * parsed as a separate task on {@code executor}, and the failure of one
+   * document does not affect the others.
+   *
+   * @param parser   The parser
+   * @param sources  The documents
+   * @param executor The executor
+   * @param <T>      The type of returned values
+   *
+   * @return The results, in the same order as {@code sources}
+   */
+
+  public static <T> List<BTBatchResult<T>> parse(
+    final BTParserType<T> parser,
+    final Collection<BTBatchSource> sources,
+    final Executor executor)
+  {
+    Objects.requireNonNull(parser, "parser");
+    Objects.requireNonNull(sources, "sources");
+    Objects.requireNonNull(executor, "executor");
+
+    final var futures =
+      new ArrayList<CompletableFuture<BTBatchResult<T>>>(sources.size());
+
+    for (final var source : sources) {
+      Objects.requireNonNull(source, "source");
+      futures.add(
+        CompletableFuture.supplyAsync(() -> parseOne(parser, source), executor)
+      );
+    }
+
+    final var results = new ArrayList<BTBatchResult<T>>(futures.size());
+    for (final var future : futures) {
+      results.add(future.join());
+    }
+    return List.copyOf(results);
+  }
+
+  private static <T> BTBatchResult<T> parseOne(
+    final BTParserType<T> parser,
+    final BTBatchSource source)
+  {
+    final var uri = source.source();
+
+    final InputStream stream;
+    try {
+      stream = source.opener().call();
+    } catch (final Exception e) {
+      return failure(uri, "io-error", e);
+    }
+
+    try (stream) {
+      return BTBatchResult.success(uri, parser.parse(uri, stream));
+    } catch (final BTException e) {
+      return BTBatchResult.failure(uri, e);
+    } catch (final Exception e) {
+      return failure(uri, "exception", e);
+    }
+  }
+
+  private static <T> BTBatchResult<T> failure(
+    final URI uri,
+    final String errorCode,
+    final Exception e)
+  {
+    final var error =
+      new BTParseError(
+        LexicalPosition.of(-1, -1, Optional.of(uri)),
+        BTParseError.Severity.ERROR,
+        errorCode,
+        Objects.requireNonNullElse(e.getMessage(), e.getClass().getName()),
+        Map.of(),
+        Optional.empty(),
+        Optional.of(e)
+      );
+
+    return BTBatchResult.failure(
+      uri,
+      new BTException(
+        error.message(),
+        e,
+        error.errorCode(),
+        error.attributes(),
+        error.remediatingAction(),
+        List.of(error)
+      )
+    );
+  }
+}
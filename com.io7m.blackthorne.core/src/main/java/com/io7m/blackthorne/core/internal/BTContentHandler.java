@@ -16,11 +16,17 @@
 
 package com.io7m.blackthorne.core.internal;
 
+import com.io7m.blackthorne.core.BTCompileGrammar;
 import com.io7m.blackthorne.core.BTContentHandlerBuilderType;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTErrorLimits;
+import com.io7m.blackthorne.core.BTHandlerProfile;
 import com.io7m.blackthorne.core.BTParseError;
+import com.io7m.blackthorne.core.BTParseStatistics;
+import com.io7m.blackthorne.core.BTParserType;
 import com.io7m.blackthorne.core.BTPreserveLexical;
 import com.io7m.blackthorne.core.BTQualifiedName;
+import com.io7m.blackthorne.core.BTStAXParserType;
 import com.io7m.jlexing.core.LexicalPosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,14 +34,17 @@ import org.xml.sax.Attributes;
 import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 import org.xml.sax.ext.DefaultHandler2;
 import org.xml.sax.ext.Locator2;
 
+import javax.xml.stream.XMLInputFactory;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 
 import static com.io7m.blackthorne.core.BTParseError.Severity.ERROR;
@@ -53,11 +62,14 @@ public final class BTContentHandler<T> extends DefaultHandler2
   private static final Logger LOG =
     LoggerFactory.getLogger(BTContentHandler.class);
 
-  private final URI fileURI;
+  private URI fileURI;
   private final Consumer<BTParseError> errorReceiver;
   private Locator2 locator;
   private final BTPreserveLexical preserveLexical;
-  private Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootHandlers;
+  private final BTGrammar<T> grammar;
+  private final BTErrorFilter errorFilter;
+  private final BTParseCounters counters;
+  private final BTHandlerProfilerType profiler;
   private BTStackHandler<T> stackHandler;
   private boolean failed;
 
@@ -67,14 +79,47 @@ public final class BTContentHandler<T> extends DefaultHandler2
    * @param inFileURI         The URI of the file being parsed
    * @param inPreserveLexical Whether to preserve lexical information
    * @param inErrorReceiver   A receiver of error events
-   * @param inRootHandlers    The root handlers
+   * @param inGrammar         The grammar
+   * @param inErrorLimits     The error limits
    */
 
   public BTContentHandler(
     final URI inFileURI,
     final Consumer<BTParseError> inErrorReceiver,
     final BTPreserveLexical inPreserveLexical,
-    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> inRootHandlers)
+    final BTGrammar<T> inGrammar,
+    final BTErrorLimits inErrorLimits)
+  {
+    this(
+      inFileURI,
+      inErrorReceiver,
+      inPreserveLexical,
+      inGrammar,
+      inErrorLimits,
+      BTHandlerProfilers.none()
+    );
+  }
+
+  /**
+   * Construct a handler.
+   *
+   * @param inFileURI         The URI of the file being parsed
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inErrorReceiver   A receiver of error events
+   * @param inGrammar         The grammar
+   * @param inErrorLimits     The error limits
+   * @param inProfiler        The profiler informed of handler callbacks; the
+   *                          profiler is reset by its owner, not by this
+   *                          handler
+   */
+
+  public BTContentHandler(
+    final URI inFileURI,
+    final Consumer<BTParseError> inErrorReceiver,
+    final BTPreserveLexical inPreserveLexical,
+    final BTGrammar<T> inGrammar,
+    final BTErrorLimits inErrorLimits,
+    final BTHandlerProfilerType inProfiler)
   {
     this.fileURI =
       Objects.requireNonNull(inFileURI, "fileURI");
@@ -82,8 +127,90 @@ public final class BTContentHandler<T> extends DefaultHandler2
       Objects.requireNonNull(inErrorReceiver, "errorReceiver");
     this.preserveLexical =
       Objects.requireNonNull(inPreserveLexical, "inPreserveLexical");
-    this.rootHandlers =
-      Map.copyOf(Objects.requireNonNull(inRootHandlers, "handlers"));
+    this.grammar =
+      Objects.requireNonNull(inGrammar, "grammar");
+    this.errorFilter =
+      new BTErrorFilter(inErrorLimits);
+    this.counters =
+      new BTParseCounters();
+    this.profiler =
+      Objects.requireNonNull(inProfiler, "profiler");
+  }
+
+  /**
+   * Construct a handler that does not limit errors.
+   *
+   * @param inFileURI         The URI of the file being parsed
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inErrorReceiver   A receiver of error events
+   * @param inGrammar         The grammar
+   */
+
+  public BTContentHandler(
+    final URI inFileURI,
+    final Consumer<BTParseError> inErrorReceiver,
+    final BTPreserveLexical inPreserveLexical,
+    final BTGrammar<T> inGrammar)
+  {
+    this(
+      inFileURI,
+      inErrorReceiver,
+      inPreserveLexical,
+      inGrammar,
+      BTErrorLimits.unlimited()
+    );
+  }
+
+  /**
+   * Construct a handler.
+   *
+   * @param inFileURI         The URI of the file being parsed
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inErrorReceiver   A receiver of error events
+   * @param inRootHandlers    The root handlers
+   * @param inNames           The table used to resolve element names
+   */
+
+  public BTContentHandler(
+    final URI inFileURI,
+    final Consumer<BTParseError> inErrorReceiver,
+    final BTPreserveLexical inPreserveLexical,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> inRootHandlers,
+    final BTQualifiedNameTable inNames)
+  {
+    this(
+      inFileURI,
+      inErrorReceiver,
+      inPreserveLexical,
+      BTGrammar.dynamic(
+        Objects.requireNonNull(inRootHandlers, "handlers"),
+        inNames
+      )
+    );
+  }
+
+  /**
+   * Construct a handler.
+   *
+   * @param inFileURI         The URI of the file being parsed
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inErrorReceiver   A receiver of error events
+   * @param inRootHandlers    The root handlers
+   */
+
+  public BTContentHandler(
+    final URI inFileURI,
+    final Consumer<BTParseError> inErrorReceiver,
+    final BTPreserveLexical inPreserveLexical,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> inRootHandlers)
+  {
+    this(
+      inFileURI,
+      inErrorReceiver,
+      inPreserveLexical,
+      inRootHandlers,
+      BTQualifiedNameTable.of(inRootHandlers.keySet())
+    );
   }
 
   /**
@@ -114,7 +241,7 @@ public final class BTContentHandler<T> extends DefaultHandler2
     return new Builder<>();
   }
 
-  private static String messageOrException(
+  static String messageOrException(
     final Exception e)
   {
     final var messageOrNull = e.getMessage();
@@ -132,12 +259,18 @@ public final class BTContentHandler<T> extends DefaultHandler2
   {
     this.locator =
       (Locator2) Objects.requireNonNull(in_locator, "locator");
-    this.stackHandler =
-      new BTStackHandler<>(
-        this.locator,
-        this.preserveLexical,
-        this.rootHandlers
-      );
+
+    if (this.stackHandler == null) {
+      this.stackHandler =
+        new BTStackHandler<>(
+          this.locator,
+          this.preserveLexical,
+          this.grammar,
+          this.counters,
+          this.profiler
+        );
+    }
+    this.stackHandler.reset(this.locator, this.fileURI);
   }
 
   @Override
@@ -146,6 +279,7 @@ public final class BTContentHandler<T> extends DefaultHandler2
     final String localName,
     final String qualifiedName,
     final Attributes attributes)
+    throws SAXException
   {
     try {
       this.stackHandler.onElementStarted(namespaceURI, localName, attributes);
@@ -161,6 +295,7 @@ public final class BTContentHandler<T> extends DefaultHandler2
     final String namespaceURI,
     final String localName,
     final String qualifiedName)
+    throws SAXException
   {
     try {
       this.stackHandler.onElementFinished(namespaceURI, localName);
@@ -176,6 +311,7 @@ public final class BTContentHandler<T> extends DefaultHandler2
     final char[] ch,
     final int start,
     final int length)
+    throws SAXException
   {
     try {
       this.stackHandler.onCharacters(ch, start, length);
@@ -190,39 +326,63 @@ public final class BTContentHandler<T> extends DefaultHandler2
   public void warning(
     final SAXParseException e)
   {
-    LOG.warn("parse exception: ", e);
-
-    this.errorReceiver.accept(
-      new BTParseError(
-        this.currentLexical(),
-        WARNING,
-        "sax-warning",
-        messageOrException(e),
-        Map.of(),
-        Optional.empty(),
-        Optional.of(e)
-      )
-    );
+    this.counters.onWarning();
+
+    final var admitted =
+      this.errorFilter.admitWarning(
+        "sax-warning", e.getLineNumber(), e.getColumnNumber());
+
+    if (admitted) {
+      LOG.debug("parse warning: ", e);
+      this.errorReceiver.accept(
+        new BTParseError(
+          this.currentLexical(),
+          WARNING,
+          "sax-warning",
+          messageOrException(e),
+          Map.of(),
+          Optional.empty(),
+          Optional.of(e)
+        )
+      );
+    }
   }
 
   @Override
   public void error(
     final SAXParseException e)
+    throws SAXException
   {
-    LOG.error("parse exception: ", e);
-
     this.failed = true;
-    this.errorReceiver.accept(
-      new BTParseError(
-        this.currentLexical(),
-        ERROR,
-        "sax-error",
-        messageOrException(e),
-        Map.of(),
-        Optional.empty(),
-        Optional.of(e)
-      )
-    );
+    this.counters.onError();
+
+    if (this.admit(e)) {
+      LOG.debug("parse exception: ", e);
+      this.errorReceiver.accept(
+        new BTParseError(
+          this.lexicalOf(e),
+          ERROR,
+          "sax-error",
+          messageOrException(e),
+          Map.of(),
+          Optional.empty(),
+          Optional.of(e)
+        )
+      );
+    }
+
+    if (this.errorFilter.limitReached()) {
+      throw new BTErrorLimitException(
+        this.errorFilter.observed(),
+        this.locator);
+    }
+  }
+
+  private boolean admit(
+    final SAXParseException e)
+  {
+    return this.errorFilter.admit(
+      "sax-error", e.getLineNumber(), e.getColumnNumber());
   }
 
   @Override
@@ -230,9 +390,10 @@ public final class BTContentHandler<T> extends DefaultHandler2
     final SAXParseException e)
     throws SAXException
   {
-    LOG.error("fatal parse exception: ", e);
+    LOG.debug("fatal parse exception: ", e);
 
     this.failed = true;
+    this.counters.onError();
     this.errorReceiver.accept(
       new BTParseError(
         this.currentLexical(),
@@ -248,6 +409,19 @@ public final class BTContentHandler<T> extends DefaultHandler2
     throw e;
   }
 
+  private LexicalPosition<URI> lexicalOf(
+    final SAXParseException e)
+  {
+    if (e instanceof BTPositionedParseException) {
+      return LexicalPosition.<URI>builder()
+        .setColumn(e.getColumnNumber())
+        .setLine(e.getLineNumber())
+        .setFile(this.fileURI)
+        .build();
+    }
+    return this.currentLexical();
+  }
+
   private LexicalPosition<URI> currentLexical()
   {
     final LexicalPosition<URI> lexicalPosition;
@@ -273,7 +447,7 @@ public final class BTContentHandler<T> extends DefaultHandler2
   private SAXParseException saxParseExceptionOf(
     final Exception e)
   {
-    return new SAXParseException(e.getLocalizedMessage(), this.locator, e);
+    return new BTLazyParseException(e::getLocalizedMessage, this.locator, e);
   }
 
   /**
@@ -285,6 +459,36 @@ public final class BTContentHandler<T> extends DefaultHandler2
     return this.stackHandler.result();
   }
 
+  /**
+   * Reset the handler so that it can be used to parse another document.
+   *
+   * @param inFileURI The URI of the file being parsed
+   */
+
+  public void reset(
+    final URI inFileURI)
+  {
+    this.fileURI = Objects.requireNonNull(inFileURI, "fileURI");
+    this.errorFilter.reset();
+    this.counters.reset();
+    this.locator = null;
+    this.failed = false;
+  }
+
+  /**
+   * Release everything retained from the most recent parse.
+   *
+   * @see BTStackHandler#release()
+   */
+
+  public void release()
+  {
+    if (this.stackHandler != null) {
+      this.stackHandler.release();
+    }
+    this.locator = null;
+  }
+
   /**
    * @return {@code true} if any parse errors were encountered
    */
@@ -294,15 +498,91 @@ public final class BTContentHandler<T> extends DefaultHandler2
     return this.failed;
   }
 
+  /**
+   * @return The counters for the current parse
+   */
+
+  public BTParseCounters counters()
+  {
+    return this.counters;
+  }
+
+  /**
+   * @return The statistics collected so far during the current parse; the
+   * wall time and allocated bytes are only measured by parsers that have
+   * a statistics receiver
+   */
+
+  public BTParseStatistics statistics()
+  {
+    return this.counters.snapshot();
+  }
+
+  /**
+   * @return The number of errors encountered but not reported because of the
+   * error limits
+   */
+
+  public int suppressedErrors()
+  {
+    return this.errorFilter.suppressed();
+  }
+
   private static final class Builder<U> implements BTContentHandlerBuilderType<U>
   {
     private final HashMap<BTQualifiedName, BTElementHandlerConstructorType<?, U>> handlers;
+    private final BTQualifiedNameTable names;
     private BTPreserveLexical preserveLexical;
+    private BTCompileGrammar compileGrammar;
+    private BTErrorLimits errorLimits;
+    private Optional<Consumer<? super BTParseStatistics>> statistics;
+    private Optional<Consumer<? super BTHandlerProfile>> profiles;
+    private BTGrammar<U> grammar;
 
     private Builder()
     {
       this.handlers = new HashMap<>(16);
+      this.names = new BTQualifiedNameTable();
       this.preserveLexical = BTPreserveLexical.PRESERVE_LEXICAL_INFORMATION;
+      this.compileGrammar = BTCompileGrammar.DO_NOT_COMPILE_GRAMMAR;
+      this.errorLimits = BTErrorLimits.unlimited();
+      this.statistics = Optional.empty();
+      this.profiles = Optional.empty();
+    }
+
+    @Override
+    public BTContentHandlerBuilderType<U> setHandlerProfileReceiver(
+      final Consumer<? super BTHandlerProfile> receiver)
+    {
+      this.profiles =
+        Optional.of(Objects.requireNonNull(receiver, "receiver"));
+      return this;
+    }
+
+    @Override
+    public BTContentHandlerBuilderType<U> setStatisticsReceiver(
+      final Consumer<? super BTParseStatistics> receiver)
+    {
+      this.statistics =
+        Optional.of(Objects.requireNonNull(receiver, "receiver"));
+      return this;
+    }
+
+    @Override
+    public BTContentHandlerBuilderType<U> setErrorLimits(
+      final BTErrorLimits limits)
+    {
+      this.errorLimits = Objects.requireNonNull(limits, "limits");
+      return this;
+    }
+
+    @Override
+    public BTContentHandlerBuilderType<U> setCompileGrammar(
+      final BTCompileGrammar compile)
+    {
+      this.compileGrammar = Objects.requireNonNull(compile, "compile");
+      this.grammar = null;
+      return this;
     }
 
     @Override
@@ -319,11 +599,58 @@ public final class BTContentHandler<T> extends DefaultHandler2
       final BTElementHandlerConstructorType<?, U> constructor)
     {
       this.handlers.put(
-        Objects.requireNonNull(name, "name"),
+        this.names.intern(Objects.requireNonNull(name, "name")),
         Objects.requireNonNull(constructor, "constructor"));
+      this.grammar = null;
       return this;
     }
 
+    /**
+     * The grammar is built once and then shared by every content handler
+     * built until the set of root handlers changes.
+     */
+
+    private BTGrammar<U> grammar()
+    {
+      if (this.grammar == null) {
+        this.grammar = switch (this.compileGrammar) {
+          case COMPILE_GRAMMAR -> BTGrammar.compile(this.handlers);
+          case DO_NOT_COMPILE_GRAMMAR ->
+            BTGrammar.dynamic(this.handlers, this.names);
+        };
+      }
+      return this.grammar;
+    }
+
+    @Override
+    public BTParserType<U> buildParser(
+      final Callable<XMLReader> xmlReaders)
+    {
+      return new BTParser<>(
+        this.grammar(),
+        this.preserveLexical,
+        Objects.requireNonNull(xmlReaders, "xmlReaders"),
+        this.errorLimits,
+        this.statistics,
+        this.profiles,
+        BTSessionPool.DEFAULT_SIZE
+      );
+    }
+
+    @Override
+    public BTStAXParserType<U> buildStAXParser(
+      final XMLInputFactory inputs)
+    {
+      return new BTStAXParser<>(
+        this.grammar(),
+        this.preserveLexical,
+        Objects.requireNonNull(inputs, "inputs"),
+        this.errorLimits,
+        this.statistics,
+        this.profiles
+      );
+    }
+
     @Override
     public BTContentHandler<U> build(
       final URI fileURI,
@@ -333,7 +660,8 @@ public final class BTContentHandler<T> extends DefaultHandler2
         Objects.requireNonNull(fileURI, "fileURI"),
         Objects.requireNonNull(errorConsumer, "errorConsumer"),
         this.preserveLexical,
-        Map.copyOf(this.handlers)
+        this.grammar(),
+        this.errorLimits
       );
     }
   }
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that counts the bytes read from an underlying stream.
+ */
+
+public final class BTCountingInputStream extends FilterInputStream
+{
+  private long count;
+
+  /**
+   * Construct a stream.
+   *
+   * @param inStream The underlying stream
+   */
+
+  public BTCountingInputStream(
+    final InputStream inStream)
+  {
+    super(inStream);
+  }
+
+  /**
+   * @return The number of bytes read so far
+   */
+
+  public long count()
+  {
+    return this.count;
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var r = super.read();
+    if (r >= 0) {
+      ++this.count;
+    }
+    return r;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var r = super.read(buffer, offset, length);
+    if (r > 0) {
+      this.count += r;
+    }
+    return r;
+  }
+
+  @Override
+  public long skip(
+    final long n)
+    throws IOException
+  {
+    final var r = super.skip(n);
+    this.count += r;
+    return r;
+  }
+
+  @Override
+  public boolean markSupported()
+  {
+    return false;
+  }
+}
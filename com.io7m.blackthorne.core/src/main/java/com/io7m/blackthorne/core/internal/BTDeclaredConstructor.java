@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTChildHandlers;
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A handler constructor that declares the child handlers of the handlers it
+ * produces.
+ *
+ * @param <CT> The type of values produced by child handlers
+ * @param <RT> The type of result values
+ */
+
+public final class BTDeclaredConstructor<CT, RT>
+  implements BTElementHandlerConstructorType<CT, RT>
+{
+  private final BTElementHandlerConstructorType<CT, RT> constructor;
+  private final Optional<BTChildHandlers<CT>> childHandlers;
+
+  /**
+   * Construct a handler constructor.
+   *
+   * @param inConstructor   The underlying constructor
+   * @param inChildHandlers The child handler declaration
+   */
+
+  public BTDeclaredConstructor(
+    final BTElementHandlerConstructorType<CT, RT> inConstructor,
+    final Optional<BTChildHandlers<CT>> inChildHandlers)
+  {
+    this.constructor =
+      Objects.requireNonNull(inConstructor, "constructor");
+    this.childHandlers =
+      Objects.requireNonNull(inChildHandlers, "childHandlers");
+  }
+
+  @Override
+  public BTElementHandlerType<? extends CT, ? extends RT> create(
+    final BTElementParsingContextType context)
+    throws Exception
+  {
+    return this.constructor.create(context);
+  }
+
+  @Override
+  public Optional<BTChildHandlers<CT>> staticChildHandlers()
+  {
+    return this.childHandlers;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTDeduplicateErrors;
+import com.io7m.blackthorne.core.BTErrorLimits;
+
+import java.util.HashSet;
+import java.util.Objects;
+
+/**
+ * The state of the error limits for a single parse. The filter decides
+ * whether each error is reported before anything is built for the error.
+ * The set of seen errors is bounded by the maximum number of reported
+ * errors.
+ */
+
+public final class BTErrorFilter
+{
+  private final BTErrorLimits limits;
+  private final HashSet<Key> seen;
+  private int observed;
+  private int observedWarnings;
+  private int reported;
+
+  /**
+   * Construct a filter.
+   *
+   * @param inLimits The error limits
+   */
+
+  public BTErrorFilter(
+    final BTErrorLimits inLimits)
+  {
+    this.limits = Objects.requireNonNull(inLimits, "limits");
+    this.seen = new HashSet<>(16);
+  }
+
+  /**
+   * Reset the filter for a new parse.
+   */
+
+  public void reset()
+  {
+    this.seen.clear();
+    this.observed = 0;
+    this.observedWarnings = 0;
+    this.reported = 0;
+  }
+
+  /**
+   * Record an error, and decide whether it should be reported.
+   *
+   * @param errorCode The error code
+   * @param line      The line number
+   * @param column    The column number
+   *
+   * @return {@code true} if the error should be reported
+   */
+
+  public boolean admit(
+    final String errorCode,
+    final int line,
+    final int column)
+  {
+    ++this.observed;
+    return this.report(errorCode, line, column);
+  }
+
+  /**
+   * Record a warning, and decide whether it should be reported. Warnings are
+   * subject to the same reporting limits as errors, but do not count towards
+   * abandoning the parse.
+   *
+   * @param errorCode The error code
+   * @param line      The line number
+   * @param column    The column number
+   *
+   * @return {@code true} if the warning should be reported
+   */
+
+  public boolean admitWarning(
+    final String errorCode,
+    final int line,
+    final int column)
+  {
+    ++this.observedWarnings;
+    return this.report(errorCode, line, column);
+  }
+
+  private boolean report(
+    final String errorCode,
+    final int line,
+    final int column)
+  {
+    if (this.reported >= this.limits.maximumErrors()) {
+      return false;
+    }
+    if (this.limits.deduplicate() == BTDeduplicateErrors.DEDUPLICATE_ERRORS
+        && !this.seen.add(new Key(errorCode, line, column))) {
+      return false;
+    }
+    ++this.reported;
+    return true;
+  }
+
+  /**
+   * @return {@code true} if enough errors have been observed that the parse
+   * should be abandoned
+   */
+
+  public boolean limitReached()
+  {
+    return this.observed >= this.limits.failAfter();
+  }
+
+  /**
+   * @return The number of errors observed
+   */
+
+  public int observed()
+  {
+    return this.observed;
+  }
+
+  /**
+   * @return The number of errors and warnings observed but not reported
+   */
+
+  public int suppressed()
+  {
+    return this.observed + this.observedWarnings - this.reported;
+  }
+
+  private record Key(
+    String errorCode,
+    int line,
+    int column)
+  {
+
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An input stream that reads from a bounded queue of byte buffers supplied
+ * by another thread. Readers block until data is supplied, the stream is
+ * finished, the stream is closed, or the idle timeout elapses. Suppliers
+ * never block; instead, they are told when the queue has room for more data.
+ */
+
+public final class BTFeedInputStream extends InputStream
+{
+  private static final CompletionStage<Void> ROOM =
+    CompletableFuture.completedStage(null);
+
+  private final ReentrantLock lock;
+  private final Condition ready;
+  private final ArrayDeque<ByteBuffer> buffers;
+  private final int capacity;
+  private final long idleTimeoutNanos;
+  private CompletableFuture<Void> room;
+  private int buffered;
+  private boolean finished;
+  private boolean closed;
+
+  /**
+   * Construct a stream.
+   *
+   * @param inCapacity    The maximum number of bytes queued
+   * @param inIdleTimeout The maximum time that readers wait for data
+   */
+
+  public BTFeedInputStream(
+    final int inCapacity,
+    final Duration inIdleTimeout)
+  {
+    if (inCapacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+
+    this.capacity = inCapacity;
+    this.idleTimeoutNanos =
+      Objects.requireNonNull(inIdleTimeout, "idleTimeout").toNanos();
+    this.lock = new ReentrantLock();
+    this.ready = this.lock.newCondition();
+    this.buffers = new ArrayDeque<>();
+    this.room = CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Supply data. As many of the remaining bytes of {@code data} as fit in
+   * the queue are copied, and the position of {@code data} is advanced past
+   * them.
+   *
+   * @param data The data
+   *
+   * @return A stage that completes when the queue has room for more data
+   */
+
+  public CompletionStage<Void> feed(
+    final ByteBuffer data)
+  {
+    Objects.requireNonNull(data, "data");
+
+    this.lock.lock();
+    try {
+      if (this.finished || this.closed) {
+        throw new IllegalStateException("Stream is finished.");
+      }
+
+      final var count =
+        Math.min(data.remaining(), this.capacity - this.buffered);
+
+      if (count > 0) {
+        final var copy = ByteBuffer.allocate(count);
+        copy.put(data.slice(data.position(), count));
+        copy.flip();
+        data.position(data.position() + count);
+        this.buffers.add(copy);
+        this.buffered += count;
+        this.ready.signalAll();
+      }
+
+      if (this.buffered < this.capacity) {
+        return ROOM;
+      }
+      if (this.room.isDone()) {
+        this.room = new CompletableFuture<>();
+      }
+      return this.room.minimalCompletionStage();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Indicate that no more data will be supplied. Readers will observe the
+   * end of the stream once all supplied data has been read.
+   */
+
+  public void finish()
+  {
+    final CompletableFuture<Void> waiting;
+
+    this.lock.lock();
+    try {
+      this.finished = true;
+      this.ready.signalAll();
+      waiting = this.room;
+    } finally {
+      this.lock.unlock();
+    }
+
+    waiting.complete(null);
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final CompletableFuture<Void> waiting;
+    final int value;
+
+    this.lock.lock();
+    try {
+      if (!this.awaitData()) {
+        return -1;
+      }
+      final var buffer = this.buffers.getFirst();
+      value = buffer.get() & 0xff;
+      waiting = this.consumed(buffer, 1);
+    } finally {
+      this.lock.unlock();
+    }
+
+    waiting.complete(null);
+    return value;
+  }
+
+  @Override
+  public int read(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    if (length == 0) {
+      return 0;
+    }
+
+    final CompletableFuture<Void> waiting;
+    final int count;
+
+    this.lock.lock();
+    try {
+      if (!this.awaitData()) {
+        return -1;
+      }
+      final var buffer = this.buffers.getFirst();
+      count = Math.min(length, buffer.remaining());
+      buffer.get(data, offset, count);
+      waiting = this.consumed(buffer, count);
+    } finally {
+      this.lock.unlock();
+    }
+
+    waiting.complete(null);
+    return count;
+  }
+
+  @Override
+  public int available()
+  {
+    this.lock.lock();
+    try {
+      return this.buffers.isEmpty() ? 0 : this.buffers.getFirst().remaining();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    final CompletableFuture<Void> waiting;
+
+    this.lock.lock();
+    try {
+      this.closed = true;
+      this.buffers.clear();
+      this.buffered = 0;
+      this.ready.signalAll();
+      waiting = this.room;
+    } finally {
+      this.lock.unlock();
+    }
+
+    waiting.complete(null);
+  }
+
+  /**
+   * Wait until data is queued or the stream is finished.
+   *
+   * @return {@code true} if data is queued, {@code false} at the end of the
+   * stream
+   *
+   * @throws IOException If the stream is closed, the idle timeout elapses, or
+   *                     the thread is interrupted
+   */
+
+  private boolean awaitData()
+    throws IOException
+  {
+    var remaining = this.idleTimeoutNanos;
+
+    while (true) {
+      if (this.closed) {
+        throw new IOException("Stream is closed.");
+      }
+      if (!this.buffers.isEmpty()) {
+        return true;
+      }
+      if (this.finished) {
+        return false;
+      }
+      if (remaining <= 0L) {
+        throw new IOException(
+          "No data was supplied within %s.".formatted(
+            Duration.ofNanos(this.idleTimeoutNanos)));
+      }
+      try {
+        remaining = this.ready.awaitNanos(remaining);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+
+  /**
+   * Account for bytes read from the buffer at the head of the queue.
+   *
+   * @param buffer The buffer at the head of the queue
+   * @param count  The number of bytes read
+   *
+   * @return The stage to complete, once the lock is released, if the queue
+   * now has room for more data
+   */
+
+  private CompletableFuture<Void> consumed(
+    final ByteBuffer buffer,
+    final int count)
+  {
+    if (!buffer.hasRemaining()) {
+      this.buffers.removeFirst();
+    }
+    this.buffered -= count;
+    return this.room;
+  }
+}
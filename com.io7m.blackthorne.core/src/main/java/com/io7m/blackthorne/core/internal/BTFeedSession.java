@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTFeedLimits;
+import com.io7m.blackthorne.core.BTFeedSessionType;
+import com.io7m.blackthorne.core.BTParserType;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A feed-based parse session. The parser runs on a virtual thread that
+ * reads from a {@link BTFeedInputStream}; while the thread waits for data it
+ * is unmounted, and so no platform thread is held between feeds.
+ *
+ * @param <T> The type of returned values
+ */
+
+public final class BTFeedSession<T> implements BTFeedSessionType<T>
+{
+  private static final ThreadFactory THREADS =
+    Thread.ofVirtual()
+      .name("com.io7m.blackthorne.feed-", 0L)
+      .factory();
+
+  private final BTFeedInputStream stream;
+  private final CompletableFuture<T> result;
+  private volatile boolean finished;
+  private volatile boolean closed;
+
+  private BTFeedSession(
+    final BTFeedLimits limits)
+  {
+    this.stream =
+      new BTFeedInputStream(limits.bufferSize(), limits.idleTimeout());
+    this.result = new CompletableFuture<>();
+  }
+
+  /**
+   * Start a feed session.
+   *
+   * @param parser The parser
+   * @param source The source URI
+   * @param limits The limits on the session
+   * @param <T>    The type of returned values
+   *
+   * @return A new session
+   */
+
+  public static <T> BTFeedSessionType<T> start(
+    final BTParserType<T> parser,
+    final URI source,
+    final BTFeedLimits limits)
+  {
+    Objects.requireNonNull(parser, "parser");
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(limits, "limits");
+
+    final var session = new BTFeedSession<T>(limits);
+    THREADS.newThread(() -> session.run(parser, source)).start();
+    return session;
+  }
+
+  private void run(
+    final BTParserType<T> parser,
+    final URI source)
+  {
+    try {
+      this.result.complete(parser.parse(source, this.stream));
+    } catch (final Throwable e) {
+      this.result.completeExceptionally(e);
+    } finally {
+      this.stream.close();
+    }
+  }
+
+  @Override
+  public CompletionStage<Void> feed(
+    final ByteBuffer data)
+  {
+    Objects.requireNonNull(data, "data");
+
+    if (this.finished || this.closed) {
+      throw new IllegalStateException("Session is finished.");
+    }
+
+    if (!this.result.isDone()) {
+      try {
+        return this.stream.feed(data);
+      } catch (final IllegalStateException e) {
+        if (!this.result.isDone()) {
+          throw e;
+        }
+      }
+    }
+
+    data.position(data.limit());
+    return CompletableFuture.completedStage(null);
+  }
+
+  @Override
+  public void finish()
+  {
+    this.finished = true;
+    this.stream.finish();
+  }
+
+  @Override
+  public CompletableFuture<T> result()
+  {
+    return this.result.copy();
+  }
+
+  @Override
+  public void close()
+  {
+    this.closed = true;
+    if (!this.finished) {
+      this.stream.close();
+    }
+  }
+}
@@ -111,4 +111,11 @@ public final class BTFunctorHandler<A, B, C> implements BTElementHandlerType<A,
   {
     return this.function.apply(this.handler.onElementFinished(context));
   }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    return this.handler.onReset(context);
+  }
 }
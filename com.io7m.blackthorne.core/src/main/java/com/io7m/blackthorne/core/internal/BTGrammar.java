@@ -0,0 +1,383 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTChildHandlers;
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A grammar: a set of root handlers, the table used to resolve element names,
+ * and, if the grammar was compiled, a set of precomputed transition tables.
+ *
+ * Compilation walks the handler constructors reachable from the root handlers.
+ * Each distinct constructor (by identity) becomes a numbered state. A
+ * constructor that declares its child handlers (see
+ * {@link BTElementHandlerConstructorType#staticChildHandlers()}) becomes a
+ * <i>static</i> state with a dense transition table, indexed by the indices
+ * that the grammar's name table assigns to element names, that yields the
+ * state of each permitted child element. Any other constructor becomes a
+ * <i>dynamic</i> state, and handlers produced by it are asked for their child
+ * handlers at parse time.
+ *
+ * Grammars are immutable and may be shared between threads.
+ *
+ * @param <T> The type of returned values
+ */
+
+public final class BTGrammar<T>
+{
+  /**
+   * The value used to indicate the absence of a state.
+   */
+
+  public static final int NO_STATE = -1;
+
+  private static final int NAME_TABLE_HEADROOM = 4096;
+
+  private final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootHandlers;
+  private final BTQualifiedNameTable names;
+  private final int[] rootTransitions;
+  private final State[] states;
+  private final IdentityHashMap<BTElementHandlerConstructorType<?, ?>, Integer> stateIndices;
+  private final boolean compiled;
+
+  private BTGrammar(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> inRootHandlers,
+    final BTQualifiedNameTable inNames,
+    final int[] inRootTransitions,
+    final State[] inStates,
+    final IdentityHashMap<BTElementHandlerConstructorType<?, ?>, Integer> inStateIndices,
+    final boolean inCompiled)
+  {
+    this.rootHandlers =
+      Map.copyOf(inRootHandlers);
+    this.names =
+      Objects.requireNonNull(inNames, "names");
+    this.rootTransitions =
+      Objects.requireNonNull(inRootTransitions, "rootTransitions");
+    this.states =
+      Objects.requireNonNull(inStates, "states");
+    this.stateIndices =
+      Objects.requireNonNull(inStateIndices, "stateIndices");
+    this.compiled = inCompiled;
+  }
+
+  /**
+   * Create a grammar that dispatches all elements dynamically.
+   *
+   * @param rootHandlers The root handlers
+   * @param names        The table used to resolve element names
+   * @param <T>          The type of returned values
+   *
+   * @return A grammar
+   */
+
+  public static <T> BTGrammar<T> dynamic(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootHandlers,
+    final BTQualifiedNameTable names)
+  {
+    return new BTGrammar<>(
+      rootHandlers,
+      names,
+      new int[0],
+      new State[0],
+      new IdentityHashMap<>(),
+      false
+    );
+  }
+
+  /**
+   * Compile a grammar.
+   *
+   * @param rootHandlers The root handlers
+   * @param <T>          The type of returned values
+   *
+   * @return A compiled grammar
+   */
+
+  public static <T> BTGrammar<T> compile(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootHandlers)
+  {
+    final var roots =
+      Map.copyOf(Objects.requireNonNull(rootHandlers, "rootHandlers"));
+
+    /*
+     * Walk the constructor graph, assigning a state to each distinct
+     * constructor and collecting every element name mentioned in the graph.
+     */
+
+    final var constructors =
+      new ArrayList<BTElementHandlerConstructorType<?, ?>>();
+    final var declarations =
+      new ArrayList<Optional<? extends BTChildHandlers<?>>>();
+    final var indices =
+      new IdentityHashMap<BTElementHandlerConstructorType<?, ?>, Integer>();
+    final var queue =
+      new ArrayDeque<BTElementHandlerConstructorType<?, ?>>();
+    final var elementNames =
+      new LinkedHashSet<BTQualifiedName>();
+
+    for (final var entry : roots.entrySet()) {
+      elementNames.add(entry.getKey());
+      register(constructors, indices, queue, entry.getValue());
+    }
+
+    while (!queue.isEmpty()) {
+      final var constructor = queue.poll();
+      final var declaration = constructor.staticChildHandlers();
+      declarations.add(declaration);
+      if (declaration.isPresent()) {
+        for (final var entry : declaration.get().handlers().entrySet()) {
+          elementNames.add(entry.getKey());
+          register(constructors, indices, queue, entry.getValue());
+        }
+      }
+    }
+
+    /*
+     * Intern all of the names so that they receive dense indices.
+     */
+
+    final var names =
+      new BTQualifiedNameTable(elementNames.size() * 2 + NAME_TABLE_HEADROOM);
+    for (final var name : elementNames) {
+      names.intern(name);
+    }
+    final var nameCount = names.indexBound();
+
+    /*
+     * Build the transition tables.
+     */
+
+    final var rootTransitions = new int[nameCount];
+    Arrays.fill(rootTransitions, NO_STATE);
+    for (final var entry : roots.entrySet()) {
+      rootTransitions[names.lookup(entry.getKey()).index()] =
+        indices.get(entry.getValue()).intValue();
+    }
+
+    final var states = new State[constructors.size()];
+    for (int index = 0; index < states.length; ++index) {
+      final var constructor = constructors.get(index);
+      final var declarationOpt = declarations.get(index);
+      if (declarationOpt.isPresent()) {
+        final var declaration = declarationOpt.get();
+        final var transitions = new int[nameCount];
+        Arrays.fill(transitions, NO_STATE);
+        for (final var entry : declaration.handlers().entrySet()) {
+          transitions[names.lookup(entry.getKey()).index()] =
+            indices.get(entry.getValue()).intValue();
+        }
+        states[index] = new State(
+          constructor,
+          transitions,
+          declaration.ignoreUnrecognized(),
+          declaration.handlers()
+        );
+      } else {
+        states[index] = new State(constructor, null, null, Map.of());
+      }
+    }
+
+    return new BTGrammar<>(
+      roots,
+      names,
+      rootTransitions,
+      states,
+      indices,
+      true
+    );
+  }
+
+  private static void register(
+    final ArrayList<BTElementHandlerConstructorType<?, ?>> constructors,
+    final IdentityHashMap<BTElementHandlerConstructorType<?, ?>, Integer> indices,
+    final ArrayDeque<BTElementHandlerConstructorType<?, ?>> queue,
+    final BTElementHandlerConstructorType<?, ?> constructor)
+  {
+    Objects.requireNonNull(constructor, "constructor");
+    if (!indices.containsKey(constructor)) {
+      indices.put(constructor, Integer.valueOf(constructors.size()));
+      constructors.add(constructor);
+      queue.add(constructor);
+    }
+  }
+
+  /**
+   * @return The root handlers
+   */
+
+  public Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootHandlers()
+  {
+    return this.rootHandlers;
+  }
+
+  /**
+   * @return The table used to resolve element names
+   */
+
+  public BTQualifiedNameTable names()
+  {
+    return this.names;
+  }
+
+  /**
+   * @return {@code true} if this grammar was compiled
+   */
+
+  public boolean isCompiled()
+  {
+    return this.compiled;
+  }
+
+  /**
+   * @return The number of states in the grammar
+   */
+
+  public int stateCount()
+  {
+    return this.states.length;
+  }
+
+  /**
+   * Find the state used for a root element.
+   *
+   * @param nameIndex The index of the element name
+   *
+   * @return The state, or {@link #NO_STATE} if the element is not permitted
+   * as a root element (or the grammar was not compiled)
+   */
+
+  public int rootTransition(
+    final int nameIndex)
+  {
+    if (nameIndex >= 0 && nameIndex < this.rootTransitions.length) {
+      return this.rootTransitions[nameIndex];
+    }
+    return NO_STATE;
+  }
+
+  /**
+   * Find the state used for a child element of an element in a static state.
+   *
+   * @param state     The state of the parent element
+   * @param nameIndex The index of the child element name
+   *
+   * @return The state, or {@link #NO_STATE} if the element is not permitted
+   */
+
+  public int transition(
+    final int state,
+    final int nameIndex)
+  {
+    final var transitions = this.states[state].transitions();
+    if (nameIndex >= 0 && nameIndex < transitions.length) {
+      return transitions[nameIndex];
+    }
+    return NO_STATE;
+  }
+
+  /**
+   * @param state The state
+   *
+   * @return {@code true} if the given state is static
+   */
+
+  public boolean isStatic(
+    final int state)
+  {
+    return this.states[state].transitions() != null;
+  }
+
+  /**
+   * @param state The state
+   *
+   * @return The constructor associated with the state
+   */
+
+  public BTElementHandlerConstructorType<?, ?> constructor(
+    final int state)
+  {
+    return this.states[state].constructor();
+  }
+
+  /**
+   * @param state A static state
+   *
+   * @return Whether unrecognized child elements are ignored in the state
+   */
+
+  public BTIgnoreUnrecognizedElements ignoreUnrecognized(
+    final int state)
+  {
+    return this.states[state].ignoreUnrecognized();
+  }
+
+  /**
+   * @param state A static state
+   *
+   * @return The child handlers declared for the state
+   */
+
+  public Map<BTQualifiedName, ? extends BTElementHandlerConstructorType<?, ?>> childHandlers(
+    final int state)
+  {
+    return this.states[state].childHandlers();
+  }
+
+  /**
+   * Find the state associated with a constructor.
+   *
+   * @param constructor The constructor
+   *
+   * @return The state, or {@link #NO_STATE} if the constructor is not part of
+   * the compiled grammar
+   */
+
+  public int stateOf(
+    final BTElementHandlerConstructorType<?, ?> constructor)
+  {
+    if (!this.compiled) {
+      return NO_STATE;
+    }
+    final var index = this.stateIndices.get(constructor);
+    if (index == null) {
+      return NO_STATE;
+    }
+    return index.intValue();
+  }
+
+  private record State(
+    BTElementHandlerConstructorType<?, ?> constructor,
+    int[] transitions,
+    BTIgnoreUnrecognizedElements ignoreUnrecognized,
+    Map<BTQualifiedName, ? extends BTElementHandlerConstructorType<?, ?>> childHandlers)
+  {
+
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A flight recorder event for a handler whose {@code onElementFinished}
+ * method took longer than the event threshold. The event is disabled by
+ * default, and the default threshold of 10 ms is only a default: both can
+ * be overridden in the settings of a recording, such as with
+ * {@code com.io7m.blackthorne.HandlerFinished#threshold=1 ms} in a JFC file
+ * or {@code recording.enable("com.io7m.blackthorne.HandlerFinished")
+ * .withThreshold(...)} in code.
+ */
+
+@Name("com.io7m.blackthorne.HandlerFinished")
+@Label("Handler Finished")
+@Category("Blackthorne")
+@Description("A handler took a long time to finish an element.")
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public final class BTHandlerFinishedEvent extends Event
+{
+  private static final EventType TYPE =
+    EventType.getEventType(BTHandlerFinishedEvent.class);
+
+  /**
+   * The namespace URI of the element.
+   */
+
+  @Label("Namespace")
+  private String namespace;
+
+  /**
+   * The local name of the element.
+   */
+
+  @Label("Element")
+  private String element;
+
+  /**
+   * The name of the handler.
+   */
+
+  @Label("Handler")
+  private String handler;
+
+  /**
+   * Construct an event.
+   */
+
+  public BTHandlerFinishedEvent()
+  {
+
+  }
+
+  /**
+   * Begin timing a handler, if the event is enabled in a running recording.
+   * No event is created otherwise.
+   *
+   * @return The event, or {@code null} if the event is not enabled
+   */
+
+  public static BTHandlerFinishedEvent beginIfEnabled()
+  {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+
+    final var event = new BTHandlerFinishedEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Commit the event, if it is enabled and the time since
+   * {@link #begin()} exceeds the threshold.
+   *
+   * @param name      The element name
+   * @param inHandler The handler
+   */
+
+  public void finish(
+    final BTQualifiedName name,
+    final BTElementHandlerType<?, ?> inHandler)
+  {
+    if (this.shouldCommit()) {
+      this.namespace = name.namespaceURI().toString();
+      this.element = name.localName();
+      this.handler = inHandler.name();
+      this.commit();
+    }
+  }
+}
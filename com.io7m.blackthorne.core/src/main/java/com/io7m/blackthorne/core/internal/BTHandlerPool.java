@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+
+/**
+ * A pool of handlers that have been reset and may be reused, keyed by the
+ * identity of the constructor that created them.
+ *
+ * A handler is only returned to the pool once it has finished, and so the
+ * number of handlers held for a given constructor never exceeds the largest
+ * number of handlers from that constructor that were simultaneously live
+ * during the parse.
+ *
+ * Pools are not thread-safe; a pool belongs to a single stack handler.
+ */
+
+public final class BTHandlerPool
+{
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final IdentityHashMap<BTElementHandlerConstructorType<?, ?>, Entry> entries;
+
+  /**
+   * Construct an empty pool.
+   */
+
+  public BTHandlerPool()
+  {
+    this.entries = new IdentityHashMap<>();
+  }
+
+  /**
+   * Take a handler from the pool.
+   *
+   * @param constructor The constructor
+   *
+   * @return A previously reset handler created by {@code constructor}, or
+   * {@code null} if no such handler is available
+   */
+
+  public BTElementHandlerType<?, ?> take(
+    final BTElementHandlerConstructorType<?, ?> constructor)
+  {
+    final var entry = this.entries.get(constructor);
+    if (entry == null) {
+      return null;
+    }
+    return entry.take();
+  }
+
+  /**
+   * Return a handler to the pool. The handler must already have been reset.
+   *
+   * @param constructor The constructor that created the handler
+   * @param handler     The handler
+   */
+
+  public void give(
+    final BTElementHandlerConstructorType<?, ?> constructor,
+    final BTElementHandlerType<?, ?> handler)
+  {
+    Objects.requireNonNull(constructor, "constructor");
+    Objects.requireNonNull(handler, "handler");
+
+    var entry = this.entries.get(constructor);
+    if (entry == null) {
+      entry = new Entry();
+      this.entries.put(constructor, entry);
+    }
+    entry.give(handler);
+  }
+
+  /**
+   * Discard all pooled handlers.
+   */
+
+  public void clear()
+  {
+    this.entries.clear();
+  }
+
+  private static final class Entry
+  {
+    private BTElementHandlerType<?, ?>[] handlers;
+    private int size;
+
+    Entry()
+    {
+      this.handlers = new BTElementHandlerType<?, ?>[INITIAL_CAPACITY];
+      this.size = 0;
+    }
+
+    BTElementHandlerType<?, ?> take()
+    {
+      if (this.size == 0) {
+        return null;
+      }
+
+      final var index = this.size - 1;
+      final var handler = this.handlers[index];
+      this.handlers[index] = null;
+      this.size = index;
+      return handler;
+    }
+
+    void give(
+      final BTElementHandlerType<?, ?> handler)
+    {
+      final var index = this.size;
+      if (index == this.handlers.length) {
+        this.handlers = Arrays.copyOf(this.handlers, index * 2);
+      }
+      this.handlers[index] = handler;
+      this.size = index + 1;
+    }
+  }
+}
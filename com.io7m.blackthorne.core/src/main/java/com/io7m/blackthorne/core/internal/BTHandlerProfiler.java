@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTHandlerProfile;
+import com.io7m.blackthorne.core.BTHandlerProfileEntry;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.OptionalLong;
+
+/**
+ * A profiler that attributes the time and allocations spent in handler
+ * callbacks to each pair of element name and handler class. A profiler is
+ * used by one parsing thread at a time, and is reset by its owner before
+ * each parse.
+ */
+
+public final class BTHandlerProfiler implements BTHandlerProfilerType
+{
+  private static final int INITIAL_STACK_CAPACITY = 16;
+
+  private final HashMap<Class<?>, HashMap<BTQualifiedName, Cost>> costs;
+  private long[] opened;
+  private long enterTime;
+  private long enterAllocated;
+  private boolean allocationMeasured;
+
+  /**
+   * Construct a profiler.
+   */
+
+  public BTHandlerProfiler()
+  {
+    this.costs = new HashMap<>(16);
+    this.opened = new long[INITIAL_STACK_CAPACITY];
+    this.reset();
+  }
+
+  /**
+   * Discard all collected costs.
+   */
+
+  public void reset()
+  {
+    this.costs.clear();
+    this.allocationMeasured = BTParseCounters.allocatedBytes() >= 0L;
+  }
+
+  private Cost cost(
+    final BTQualifiedName element,
+    final Object handler)
+  {
+    final var handlerClass = handler.getClass();
+    var byName = this.costs.get(handlerClass);
+    if (byName == null) {
+      byName = new HashMap<>(8);
+      this.costs.put(handlerClass, byName);
+    }
+
+    var cost = byName.get(element);
+    if (cost == null) {
+      cost = new Cost();
+      byName.put(element, cost);
+    }
+    return cost;
+  }
+
+  @Override
+  public void enter()
+  {
+    this.enterAllocated = BTParseCounters.allocatedBytes();
+    this.enterTime = System.nanoTime();
+  }
+
+  @Override
+  public void exit(
+    final BTQualifiedName element,
+    final Object handler)
+  {
+    final var time = System.nanoTime();
+    final var allocated = BTParseCounters.allocatedBytes();
+
+    final var cost = this.cost(element, handler);
+    if (allocated >= 0L && this.enterAllocated >= 0L) {
+      cost.onInvocation(time - this.enterTime, allocated - this.enterAllocated);
+    } else {
+      cost.onInvocation(time - this.enterTime, 0L);
+      this.allocationMeasured = false;
+    }
+  }
+
+  @Override
+  public void open(
+    final int index)
+  {
+    if (index >= this.opened.length) {
+      this.opened = Arrays.copyOf(this.opened, Math.max(index + 1, index * 2));
+    }
+    this.opened[index] = System.nanoTime();
+  }
+
+  @Override
+  public void close(
+    final int index,
+    final BTQualifiedName element,
+    final Object handler)
+  {
+    this.cost(element, handler)
+      .onElement(System.nanoTime() - this.opened[index]);
+  }
+
+  /**
+   * @return The profile collected since the last reset
+   */
+
+  public BTHandlerProfile snapshot()
+  {
+    final var entries = new ArrayList<BTHandlerProfileEntry>();
+    this.costs.forEach((handlerClass, byName) -> {
+      byName.forEach((element, cost) -> {
+        entries.add(
+          cost.toEntry(element, handlerClass, this.allocationMeasured));
+      });
+    });
+    entries.sort(
+      Comparator.comparingLong(BTHandlerProfileEntry::selfNanos).reversed());
+    return new BTHandlerProfile(entries);
+  }
+
+  private static final class Cost
+  {
+    private long elements;
+    private long invocations;
+    private long selfNanos;
+    private long totalNanos;
+    private long allocatedBytes;
+
+    Cost()
+    {
+
+    }
+
+    void onInvocation(
+      final long nanos,
+      final long allocated)
+    {
+      ++this.invocations;
+      this.selfNanos += nanos;
+      this.allocatedBytes += allocated;
+    }
+
+    void onElement(
+      final long nanos)
+    {
+      ++this.elements;
+      this.totalNanos += nanos;
+    }
+
+    BTHandlerProfileEntry toEntry(
+      final BTQualifiedName element,
+      final Class<?> handlerClass,
+      final boolean allocationMeasured)
+    {
+      final OptionalLong allocated;
+      if (allocationMeasured) {
+        allocated = OptionalLong.of(this.allocatedBytes);
+      } else {
+        allocated = OptionalLong.empty();
+      }
+      return new BTHandlerProfileEntry(
+        element,
+        handlerClass,
+        this.elements,
+        this.invocations,
+        this.selfNanos,
+        this.totalNanos,
+        allocated
+      );
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+/**
+ * A receiver of handler timing events, used for profiling.
+ *
+ * Handler callbacks never call back into the stack handler, and so callback
+ * intervals never nest: each {@link #enter()} is followed by at most one
+ * {@link #exit(BTQualifiedName, Object)} before the next {@link #enter()}.
+ */
+
+public interface BTHandlerProfilerType
+{
+  /**
+   * A handler callback is about to be invoked.
+   */
+
+  void enter();
+
+  /**
+   * A handler callback has returned.
+   *
+   * @param element The element being handled
+   * @param handler The handler
+   */
+
+  void exit(
+    BTQualifiedName element,
+    Object handler);
+
+  /**
+   * An element has started, and its handler is about to be created.
+   *
+   * @param index The stack index the element will occupy
+   */
+
+  void open(
+    int index);
+
+  /**
+   * An element has finished, and its handler is about to be popped.
+   *
+   * @param index   The stack index of the element
+   * @param element The element
+   * @param handler The handler
+   */
+
+  void close(
+    int index,
+    BTQualifiedName element,
+    Object handler);
+}
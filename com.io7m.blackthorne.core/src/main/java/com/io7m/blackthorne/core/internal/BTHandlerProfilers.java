@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+/**
+ * Functions over handler profilers.
+ */
+
+public final class BTHandlerProfilers
+{
+  private static final BTHandlerProfilerType NONE = new None();
+
+  private BTHandlerProfilers()
+  {
+
+  }
+
+  /**
+   * @return A profiler that discards all events
+   */
+
+  public static BTHandlerProfilerType none()
+  {
+    return NONE;
+  }
+
+  private static final class None implements BTHandlerProfilerType
+  {
+    None()
+    {
+
+    }
+
+    @Override
+    public void enter()
+    {
+
+    }
+
+    @Override
+    public void exit(
+      final BTQualifiedName element,
+      final Object handler)
+    {
+
+    }
+
+    @Override
+    public void open(
+      final int index)
+    {
+
+    }
+
+    @Override
+    public void close(
+      final int index,
+      final BTQualifiedName element,
+      final Object handler)
+    {
+
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds. Values are recorded
+ * into logarithmic buckets, each power of two being divided into four
+ * linear sub-buckets, and so quantiles are accurate to within 25%. Each
+ * bucket is a {@link LongAdder}, so concurrent recording threads do not
+ * contend.
+ */
+
+public final class BTLatencyHistogram
+{
+  private static final int BUCKETS = 256;
+
+  private final LongAdder[] buckets;
+  private final LongAccumulator maximum;
+
+  /**
+   * Construct an empty histogram.
+   */
+
+  public BTLatencyHistogram()
+  {
+    this.buckets = new LongAdder[BUCKETS];
+    for (int index = 0; index < BUCKETS; ++index) {
+      this.buckets[index] = new LongAdder();
+    }
+    this.maximum = new LongAccumulator(Math::max, 0L);
+  }
+
+  private static int bucketOf(
+    final long value)
+  {
+    if (value < 4L) {
+      return (int) Math.max(0L, value);
+    }
+    final var msb = 63 - Long.numberOfLeadingZeros(value);
+    final var sub = (int) ((value >>> (msb - 2)) & 3L);
+    return (msb * 4) + sub;
+  }
+
+  private static long bucketUpperBound(
+    final int bucket)
+  {
+    if (bucket < 4) {
+      return bucket;
+    }
+    final var msb = bucket / 4;
+    final var sub = bucket % 4;
+    return ((4L + sub + 1L) << (msb - 2)) - 1L;
+  }
+
+  /**
+   * Record a value.
+   *
+   * @param nanos The value
+   */
+
+  public void record(
+    final long nanos)
+  {
+    this.buckets[bucketOf(nanos)].increment();
+    this.maximum.accumulate(nanos);
+  }
+
+  /**
+   * @return The largest value recorded
+   */
+
+  public long maximum()
+  {
+    return this.maximum.get();
+  }
+
+  /**
+   * @param quantile The quantile in the range {@code [0, 1]}
+   *
+   * @return An upper bound on the value at the given quantile
+   */
+
+  public long quantile(
+    final double quantile)
+  {
+    final var counts = new long[BUCKETS];
+    long total = 0L;
+    for (int index = 0; index < BUCKETS; ++index) {
+      counts[index] = this.buckets[index].sum();
+      total += counts[index];
+    }
+    if (total == 0L) {
+      return 0L;
+    }
+
+    final var target = Math.max(1L, (long) Math.ceil(quantile * total));
+    long seen = 0L;
+    for (int index = 0; index < BUCKETS; ++index) {
+      seen += counts[index];
+      if (seen >= target) {
+        return Math.min(bucketUpperBound(index), this.maximum());
+      }
+    }
+    return this.maximum();
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTMessages;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A parse exception whose message is only formatted when it is requested.
+ * Errors that are discarded by the error limits are never formatted.
+ * Exceptions of this type do not capture stack traces; the position in the
+ * document, and the cause (if any), identify the error. The message is
+ * formatted before the exception is serialized.
+ */
+
+public final class BTLazyParseException extends SAXParseException
+{
+  private final LazyMessage message;
+
+  /**
+   * Construct an exception.
+   *
+   * @param inMessage The message supplier
+   * @param locator   The locator
+   * @param cause     The cause, if any
+   */
+
+  public BTLazyParseException(
+    final Supplier<String> inMessage,
+    final Locator locator,
+    final Exception cause)
+  {
+    super(null, locator, cause);
+    this.message =
+      new LazyMessage(Objects.requireNonNull(inMessage, "message"));
+  }
+
+  /**
+   * Construct an exception with a message produced by formatting a
+   * localized resource.
+   *
+   * @param locator   The locator
+   * @param resource  The resource ID
+   * @param arguments The arguments to the format string
+   *
+   * @return An exception
+   */
+
+  public static BTLazyParseException ofResource(
+    final Locator locator,
+    final String resource,
+    final Object... arguments)
+  {
+    return new BTLazyParseException(
+      () -> BTMessages.format(resource, arguments),
+      locator,
+      null
+    );
+  }
+
+  /**
+   * @param names A collection of names
+   *
+   * @return A message argument that lists the local names of the given
+   * names when formatted
+   */
+
+  public static Object localNames(
+    final Collection<BTQualifiedName> names)
+  {
+    return new LocalNames(Objects.requireNonNull(names, "names"));
+  }
+
+  @Override
+  public String getMessage()
+  {
+    return this.message.get();
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace()
+  {
+    return this;
+  }
+
+  /*
+   * The message supplier cannot be serialized, so the message is formatted
+   * when it is written, and the deserialized message simply returns it.
+   */
+
+  private static final class LazyMessage implements Serializable
+  {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient Supplier<String> supplier;
+    private String text;
+
+    LazyMessage(
+      final Supplier<String> inSupplier)
+    {
+      this.supplier = inSupplier;
+    }
+
+    private String formatted()
+    {
+      return this.text;
+    }
+
+    String get()
+    {
+      if (this.text == null) {
+        this.text = this.supplier.get();
+      }
+      return this.text;
+    }
+
+    @Serial
+    private void writeObject(
+      final ObjectOutputStream output)
+      throws IOException
+    {
+      this.get();
+      output.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(
+      final ObjectInputStream input)
+      throws IOException, ClassNotFoundException
+    {
+      input.defaultReadObject();
+      this.supplier = this::formatted;
+    }
+  }
+
+  private record LocalNames(
+    Collection<BTQualifiedName> names)
+  {
+    @Override
+    public String toString()
+    {
+      return this.names.stream()
+        .map(BTQualifiedName::localName)
+        .collect(Collectors.joining("|"));
+    }
+  }
+}
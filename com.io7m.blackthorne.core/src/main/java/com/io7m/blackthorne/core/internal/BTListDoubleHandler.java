@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTChildHandlers;
+import com.io7m.blackthorne.core.BTDoubleConsumerType;
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A convenience handler for constructing content handlers that produce
+ * arrays of {@code double} values from the child elements of a single element.
+ * Values are collected into a growable primitive buffer rather than a list
+ * of boxed values.
+ */
+
+public final class BTListDoubleHandler
+  implements BTElementHandlerType<Double, double[]>, BTDoubleConsumerType
+{
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAXIMUM_RETAINED_CAPACITY = 65536;
+  private static final double[] EMPTY = new double[0];
+
+  private final BTQualifiedName elementName;
+  private final BTChildHandlers<Double> childHandlers;
+  private double[] values;
+  private int size;
+
+  /**
+   * Construct a handler. The child handler declaration is shared by every
+   * handler created by the same constructor.
+   *
+   * @param inElementName   The list element name
+   * @param inChildHandlers The child handler declaration
+   */
+
+  public BTListDoubleHandler(
+    final BTQualifiedName inElementName,
+    final BTChildHandlers<Double> inChildHandlers)
+  {
+    this.elementName =
+      Objects.requireNonNull(inElementName, "elementName");
+    this.childHandlers =
+      Objects.requireNonNull(inChildHandlers, "childHandlers");
+    this.values = EMPTY;
+  }
+
+  @Override
+  public String name()
+  {
+    return this.elementName.localName();
+  }
+
+  @Override
+  public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Double>> onChildHandlersRequested(
+    final BTElementParsingContextType context)
+  {
+    return this.childHandlers.handlers();
+  }
+
+  @Override
+  public BTIgnoreUnrecognizedElements onShouldIgnoreUnrecognizedElements(
+    final BTElementParsingContextType context)
+  {
+    return this.childHandlers.ignoreUnrecognized();
+  }
+
+  @Override
+  public void onChildValueProduced(
+    final BTElementParsingContextType context,
+    final Double result)
+  {
+    this.add(result.doubleValue());
+  }
+
+  @Override
+  public void onChildDoubleProduced(
+    final BTElementParsingContextType context,
+    final double value)
+  {
+    this.add(value);
+  }
+
+  /**
+   * Add a value to the list.
+   *
+   * @param value The value
+   */
+
+  public void add(
+    final double value)
+  {
+    if (this.size == this.values.length) {
+      this.values = Arrays.copyOf(
+        this.values,
+        Math.max(INITIAL_CAPACITY, this.values.length * 2)
+      );
+    }
+    this.values[this.size] = value;
+    ++this.size;
+  }
+
+  @Override
+  public double[] onElementFinished(
+    final BTElementParsingContextType context)
+  {
+    return Arrays.copyOf(this.values, this.size);
+  }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.size = 0;
+    if (this.values.length > MAXIMUM_RETAINED_CAPACITY) {
+      this.values = EMPTY;
+    }
+    return true;
+  }
+}
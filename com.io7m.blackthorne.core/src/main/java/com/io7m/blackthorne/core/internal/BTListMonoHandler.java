@@ -17,6 +17,7 @@
 
 package com.io7m.blackthorne.core.internal;
 
+import com.io7m.blackthorne.core.BTChildHandlers;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
 import com.io7m.blackthorne.core.BTElementHandlerType;
 import com.io7m.blackthorne.core.BTElementParsingContextType;
@@ -39,33 +40,25 @@ public final class BTListMonoHandler<S> implements BTElementHandlerType<S, List<
 {
   private final List<S> childElements;
   private final BTQualifiedName elementName;
-  private final BTQualifiedName childElementName;
-  private final BTElementHandlerConstructorType<?, ? extends S> itemHandler;
-  private final BTIgnoreUnrecognizedElements ignoreUnrecognized;
+  private final BTChildHandlers<S> childHandlers;
 
   /**
-   * Construct a handler.
+   * Construct a handler. The child handler declaration is shared by every
+   * handler created by the same constructor, and must contain exactly one
+   * child handler.
    *
-   * @param inElementName        The list element name
-   * @param inChildElementName   The name of child elements
-   * @param inItemHandler        The handler used for child elements
-   * @param inIgnoreUnrecognized Whether to ignore unrecognized elements
+   * @param inElementName   The list element name
+   * @param inChildHandlers The child handler declaration
    */
 
   public BTListMonoHandler(
     final BTQualifiedName inElementName,
-    final BTQualifiedName inChildElementName,
-    final BTElementHandlerConstructorType<?, ? extends S> inItemHandler,
-    final BTIgnoreUnrecognizedElements inIgnoreUnrecognized)
+    final BTChildHandlers<S> inChildHandlers)
   {
     this.elementName =
       Objects.requireNonNull(inElementName, "elementName");
-    this.childElementName =
-      Objects.requireNonNull(inChildElementName, "childElementName");
-    this.itemHandler =
-      Objects.requireNonNull(inItemHandler, "itemHandler");
-    this.ignoreUnrecognized =
-      Objects.requireNonNull(inIgnoreUnrecognized, "inIgnoreUnrecognized");
+    this.childHandlers =
+      Objects.requireNonNull(inChildHandlers, "childHandlers");
 
     this.childElements = new ArrayList<>();
   }
@@ -80,14 +73,14 @@ public final class BTListMonoHandler<S> implements BTElementHandlerType<S, List<
   public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> onChildHandlersRequested(
     final BTElementParsingContextType context)
   {
-    return Map.ofEntries(Map.entry(this.childElementName, this.itemHandler));
+    return this.childHandlers.handlers();
   }
 
   @Override
   public BTIgnoreUnrecognizedElements onShouldIgnoreUnrecognizedElements(
     final BTElementParsingContextType context)
   {
-    return this.ignoreUnrecognized;
+    return this.childHandlers.ignoreUnrecognized();
   }
 
   @Override
@@ -103,4 +96,12 @@ public final class BTListMonoHandler<S> implements BTElementHandlerType<S, List<
   {
     return List.copyOf(this.childElements);
   }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.childElements.clear();
+    return true;
+  }
 }
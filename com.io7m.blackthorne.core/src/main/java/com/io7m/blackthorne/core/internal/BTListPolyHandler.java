@@ -17,6 +17,7 @@
 
 package com.io7m.blackthorne.core.internal;
 
+import com.io7m.blackthorne.core.BTChildHandlers;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
 import com.io7m.blackthorne.core.BTElementHandlerType;
 import com.io7m.blackthorne.core.BTElementParsingContextType;
@@ -40,28 +41,24 @@ public final class BTListPolyHandler<S> implements BTElementHandlerType<S, List<
 {
   private final List<S> childElements;
   private final BTQualifiedName elementName;
-  private final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> itemHandlers;
-  private final BTIgnoreUnrecognizedElements ignoreUnrecognized;
+  private final BTChildHandlers<S> childHandlers;
 
   /**
-   * Construct a handler.
+   * Construct a handler. The child handler declaration is shared by every
+   * handler created by the same constructor.
    *
-   * @param inElementName        The list element name
-   * @param inItemHandlers       The child item handlers
-   * @param inIgnoreUnrecognized Whether to ignore unrecognized elements
+   * @param inElementName   The list element name
+   * @param inChildHandlers The child handler declaration
    */
 
   public BTListPolyHandler(
     final BTQualifiedName inElementName,
-    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> inItemHandlers,
-    final BTIgnoreUnrecognizedElements inIgnoreUnrecognized)
+    final BTChildHandlers<S> inChildHandlers)
   {
     this.elementName =
       Objects.requireNonNull(inElementName, "elementName");
-    this.itemHandlers =
-      Objects.requireNonNull(inItemHandlers, "itemHandler");
-    this.ignoreUnrecognized =
-      Objects.requireNonNull(inIgnoreUnrecognized, "inIgnoreUnrecognized");
+    this.childHandlers =
+      Objects.requireNonNull(inChildHandlers, "childHandlers");
 
     this.childElements = new ArrayList<>();
   }
@@ -76,14 +73,14 @@ public final class BTListPolyHandler<S> implements BTElementHandlerType<S, List<
   public BTIgnoreUnrecognizedElements onShouldIgnoreUnrecognizedElements(
     final BTElementParsingContextType context)
   {
-    return this.ignoreUnrecognized;
+    return this.childHandlers.ignoreUnrecognized();
   }
 
   @Override
   public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> onChildHandlersRequested(
     final BTElementParsingContextType context)
   {
-    return Map.copyOf(this.itemHandlers);
+    return this.childHandlers.handlers();
   }
 
   @Override
@@ -99,4 +96,12 @@ public final class BTListPolyHandler<S> implements BTElementHandlerType<S, List<
   {
     return List.copyOf(this.childElements);
   }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.childElements.clear();
+    return true;
+  }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTChildHandlers;
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A convenience handler for processing the child elements of a single
+ * element as a stream. Each value produced by a child element is passed to a
+ * consumer as soon as it is produced, and is not retained. The handler
+ * produces the number of values that were consumed.
+ *
+ * @param <S> The type of list values
+ */
+
+public final class BTListStreamHandler<S> implements BTElementHandlerType<S, Long>
+{
+  private final BTQualifiedName elementName;
+  private final BTChildHandlers<S> childHandlers;
+  private final Consumer<? super S> consumer;
+  private long count;
+
+  /**
+   * Construct a handler. The child handler declaration is shared by every
+   * handler created by the same constructor.
+   *
+   * @param inElementName   The list element name
+   * @param inChildHandlers The child handler declaration
+   * @param inConsumer      The consumer of values
+   */
+
+  public BTListStreamHandler(
+    final BTQualifiedName inElementName,
+    final BTChildHandlers<S> inChildHandlers,
+    final Consumer<? super S> inConsumer)
+  {
+    this.elementName =
+      Objects.requireNonNull(inElementName, "elementName");
+    this.childHandlers =
+      Objects.requireNonNull(inChildHandlers, "childHandlers");
+    this.consumer =
+      Objects.requireNonNull(inConsumer, "consumer");
+  }
+
+  @Override
+  public String name()
+  {
+    return this.elementName.localName();
+  }
+
+  @Override
+  public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends S>> onChildHandlersRequested(
+    final BTElementParsingContextType context)
+  {
+    return this.childHandlers.handlers();
+  }
+
+  @Override
+  public BTIgnoreUnrecognizedElements onShouldIgnoreUnrecognizedElements(
+    final BTElementParsingContextType context)
+  {
+    return this.childHandlers.ignoreUnrecognized();
+  }
+
+  @Override
+  public void onChildValueProduced(
+    final BTElementParsingContextType context,
+    final S result)
+  {
+    this.consumer.accept(result);
+    ++this.count;
+  }
+
+  @Override
+  public Long onElementFinished(final BTElementParsingContextType context)
+  {
+    return Long.valueOf(this.count);
+  }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.count = 0L;
+    return true;
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTParserMetricsType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * The process-wide parser metrics. All counters are {@link LongAdder}
+ * instances, so that many concurrent parsing threads can record parses
+ * without contending on shared fields.
+ */
+
+public final class BTMetrics implements BTParserMetricsType
+{
+  private static final BTMetrics INSTANCE = new BTMetrics();
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final LongAdder parses;
+  private final LongAdder failures;
+  private final LongAdder bytes;
+  private final LongAdder elements;
+  private final LongAdder nanos;
+  private final ConcurrentHashMap<String, LongAdder> errors;
+  private final ConcurrentHashMap<BTQualifiedName, BTLatencyHistogram> latencies;
+  private final ConcurrentHashMap<String, LongSupplier> gauges;
+  private volatile boolean enabled;
+
+  private BTMetrics()
+  {
+    this.parses = new LongAdder();
+    this.failures = new LongAdder();
+    this.bytes = new LongAdder();
+    this.elements = new LongAdder();
+    this.nanos = new LongAdder();
+    this.errors = new ConcurrentHashMap<>();
+    this.latencies = new ConcurrentHashMap<>();
+    this.gauges = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @return The process-wide metrics
+   */
+
+  public static BTMetrics get()
+  {
+    return INSTANCE;
+  }
+
+  /**
+   * @return {@code true} if metrics are being collected
+   */
+
+  public static boolean isEnabled()
+  {
+    return INSTANCE.enabled;
+  }
+
+  /**
+   * Enable or disable metrics collection.
+   *
+   * @param inEnabled {@code true} if metrics should be collected
+   */
+
+  public void setEnabled(
+    final boolean inEnabled)
+  {
+    this.enabled = inEnabled;
+  }
+
+  /**
+   * Register a gauge.
+   *
+   * @param name  The gauge name
+   * @param gauge The gauge
+   */
+
+  public void registerGauge(
+    final String name,
+    final LongSupplier gauge)
+  {
+    this.gauges.put(
+      Objects.requireNonNull(name, "name"),
+      Objects.requireNonNull(gauge, "gauge")
+    );
+  }
+
+  /**
+   * Record a completed parse.
+   *
+   * @param root          The root element, or {@code null} if no root
+   *                      element was seen
+   * @param parseBytes    The bytes read
+   * @param parseElements The elements started
+   * @param parseNanos    The time taken
+   * @param failed        {@code true} if the parse failed
+   */
+
+  public void recordParse(
+    final BTQualifiedName root,
+    final long parseBytes,
+    final long parseElements,
+    final long parseNanos,
+    final boolean failed)
+  {
+    this.parses.increment();
+    if (failed) {
+      this.failures.increment();
+    }
+    this.bytes.add(parseBytes);
+    this.elements.add(parseElements);
+    this.nanos.add(parseNanos);
+
+    if (root != null) {
+      var histogram = this.latencies.get(root);
+      if (histogram == null) {
+        histogram = this.latencies.computeIfAbsent(
+          root, k -> new BTLatencyHistogram());
+      }
+      histogram.record(parseNanos);
+    }
+  }
+
+  /**
+   * Record a reported parse error.
+   *
+   * @param errorCode The error code
+   */
+
+  public void recordError(
+    final String errorCode)
+  {
+    var counter = this.errors.get(errorCode);
+    if (counter == null) {
+      counter = this.errors.computeIfAbsent(errorCode, k -> new LongAdder());
+    }
+    counter.increment();
+  }
+
+  @Override
+  public long getParses()
+  {
+    return this.parses.sum();
+  }
+
+  @Override
+  public long getFailures()
+  {
+    return this.failures.sum();
+  }
+
+  @Override
+  public Map<String, Long> getErrorsByCode()
+  {
+    final var result = new TreeMap<String, Long>();
+    this.errors.forEach((code, count) -> {
+      result.put(code, Long.valueOf(count.sum()));
+    });
+    return result;
+  }
+
+  @Override
+  public long getBytes()
+  {
+    return this.bytes.sum();
+  }
+
+  @Override
+  public long getElements()
+  {
+    return this.elements.sum();
+  }
+
+  private double perParsingSecond(
+    final long count)
+  {
+    final var time = this.nanos.sum();
+    if (time <= 0L) {
+      return 0.0;
+    }
+    return count / (time / NANOS_PER_SECOND);
+  }
+
+  @Override
+  public double getThroughputBytesPerSecond()
+  {
+    return this.perParsingSecond(this.getBytes());
+  }
+
+  @Override
+  public double getThroughputElementsPerSecond()
+  {
+    return this.perParsingSecond(this.getElements());
+  }
+
+  private Map<String, Long> byRoot(
+    final ToLongFunction<BTLatencyHistogram> f)
+  {
+    final var result = new TreeMap<String, Long>();
+    this.latencies.forEach((root, histogram) -> {
+      result.put(
+        "{" + root.namespaceURI() + "}" + root.localName(),
+        Long.valueOf(f.applyAsLong(histogram)));
+    });
+    return result;
+  }
+
+  @Override
+  public Map<String, Long> getLatencyMedianNanosByRoot()
+  {
+    return this.byRoot(h -> h.quantile(0.5));
+  }
+
+  @Override
+  public Map<String, Long> getLatency99NanosByRoot()
+  {
+    return this.byRoot(h -> h.quantile(0.99));
+  }
+
+  @Override
+  public Map<String, Long> getLatencyMaximumNanosByRoot()
+  {
+    return this.byRoot(BTLatencyHistogram::maximum);
+  }
+
+  @Override
+  public Map<String, Long> getGauges()
+  {
+    final var result = new TreeMap<String, Long>();
+    this.gauges.forEach((name, gauge) -> {
+      result.put(name, Long.valueOf(gauge.getAsLong()));
+    });
+    return result;
+  }
+
+  @Override
+  public void reset()
+  {
+    this.parses.reset();
+    this.failures.reset();
+    this.bytes.reset();
+    this.elements.reset();
+    this.nanos.reset();
+    this.errors.clear();
+    this.latencies.clear();
+  }
+}
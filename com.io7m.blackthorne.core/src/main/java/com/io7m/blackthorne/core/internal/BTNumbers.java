@@ -0,0 +1,571 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import java.math.BigDecimal;
+
+/**
+ * Functions to parse numbers directly from character arrays, without
+ * constructing intermediate strings.
+ *
+ * Leading and trailing XML whitespace (space, tab, carriage return, and line
+ * feed) is ignored. Numbers are otherwise expected to be in the lexical forms
+ * of the corresponding XML Schema datatypes ({@code xs:int}, {@code xs:long},
+ * {@code xs:double}, and {@code xs:decimal}).
+ */
+
+public final class BTNumbers
+{
+  private static final double[] POWERS_OF_TEN = {
+    1.0e0, 1.0e1, 1.0e2, 1.0e3, 1.0e4, 1.0e5, 1.0e6, 1.0e7,
+    1.0e8, 1.0e9, 1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15,
+    1.0e16, 1.0e17, 1.0e18, 1.0e19, 1.0e20, 1.0e21, 1.0e22,
+  };
+
+  private static final int MAXIMUM_FAST_DIGITS = 15;
+
+  private BTNumbers()
+  {
+
+  }
+
+  private static boolean isWhitespace(
+    final char c)
+  {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+  }
+
+  private static int trimStart(
+    final char[] data,
+    final int offset,
+    final int end)
+  {
+    var index = offset;
+    while (index < end && isWhitespace(data[index])) {
+      ++index;
+    }
+    return index;
+  }
+
+  private static int trimEnd(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    var index = end;
+    while (index > start && isWhitespace(data[index - 1])) {
+      --index;
+    }
+    return index;
+  }
+
+  private static int trimStart(
+    final String text)
+  {
+    var index = 0;
+    while (index < text.length() && isWhitespace(text.charAt(index))) {
+      ++index;
+    }
+    return index;
+  }
+
+  private static int trimEnd(
+    final String text,
+    final int start)
+  {
+    var index = text.length();
+    while (index > start && isWhitespace(text.charAt(index - 1))) {
+      --index;
+    }
+    return index;
+  }
+
+  private static NumberFormatException invalid(
+    final String type,
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    return invalid(type, String.valueOf(data, offset, length));
+  }
+
+  private static NumberFormatException invalid(
+    final String type,
+    final String text)
+  {
+    return new NumberFormatException(
+      String.format("Invalid %s value: '%s'", type, text)
+    );
+  }
+
+  /**
+   * Parse an {@code int}.
+   *
+   * @param data   The characters
+   * @param offset The offset of the first character
+   * @param length The number of characters
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid integer
+   */
+
+  public static int parseInt(
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    final var value = parseLong(data, offset, length);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw invalid("int", data, offset, length);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Parse a {@code long}.
+   *
+   * @param data   The characters
+   * @param offset The offset of the first character
+   * @param length The number of characters
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid integer
+   */
+
+  public static long parseLong(
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    final var end = trimEnd(data, offset, offset + length);
+    final var start = trimStart(data, offset, end);
+    if (start == end) {
+      throw invalid("integer", data, offset, length);
+    }
+
+    final var sign = data[start];
+    final var negative = sign == '-';
+    final var digits = (negative || sign == '+') ? start + 1 : start;
+    if (digits == end) {
+      throw invalid("integer", data, offset, length);
+    }
+
+    final var result = accumulateNegative(data, digits, end, negative);
+    if (result > 0L) {
+      throw invalid("integer", data, offset, length);
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Accumulate decimal digits negatively, so that Long.MIN_VALUE can be
+   * represented.
+   *
+   * @return The negated value, or {@code 1} on invalid input or overflow
+   */
+
+  private static long accumulateNegative(
+    final char[] data,
+    final int start,
+    final int end,
+    final boolean negative)
+  {
+    final var limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    final var multiplyLimit = limit / 10L;
+    var result = 0L;
+    for (int index = start; index < end; ++index) {
+      final var digit = data[index] - '0';
+      if (digit < 0 || digit > 9 || result < multiplyLimit) {
+        return 1L;
+      }
+      result *= 10L;
+      if (result < limit + digit) {
+        return 1L;
+      }
+      result -= digit;
+    }
+    return result;
+  }
+
+  /**
+   * Parse a {@code double}. In addition to decimal and scientific notation,
+   * the XML Schema special values {@code INF}, {@code +INF}, {@code -INF},
+   * and {@code NaN} are accepted.
+   *
+   * @param data   The characters
+   * @param offset The offset of the first character
+   * @param length The number of characters
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid double
+   */
+
+  public static double parseDouble(
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    final var end = trimEnd(data, offset, offset + length);
+    final var start = trimStart(data, offset, end);
+
+    final var special = parseSpecial(data, start, end);
+    if (!Double.isFinite(special)) {
+      return special;
+    }
+
+    final var unsigned = skipSign(data, start, end);
+    final var mantissaEnd = scanMantissa(data, unsigned, end);
+    if (mantissaEnd < 0 || !exponentValid(data, mantissaEnd, end)) {
+      throw invalid("double", data, offset, length);
+    }
+
+    final var value = fastDouble(data, unsigned, mantissaEnd, end);
+    if (Double.isNaN(value)) {
+      return slowDouble(data, start, end);
+    }
+    return data[start] == '-' ? -value : value;
+  }
+
+  private static int skipSign(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    if (start < end && (data[start] == '-' || data[start] == '+')) {
+      return start + 1;
+    }
+    return start;
+  }
+
+  /**
+   * If there are few enough significant digits, and the exponent is small
+   * enough, the value can be computed exactly with a single correctly
+   * rounded multiplication or division.
+   *
+   * @return The unsigned value, or NaN if the value cannot be computed exactly
+   */
+
+  private static double fastDouble(
+    final char[] data,
+    final int start,
+    final int mantissaEnd,
+    final int end)
+  {
+    final var mantissa = fastMantissa(data, start, mantissaEnd);
+    if (mantissa < 0L || end - mantissaEnd > 7) {
+      return Double.NaN;
+    }
+
+    final var exponent =
+      exponentOf(data, mantissaEnd, end)
+        - fractionDigits(data, start, mantissaEnd);
+
+    if (exponent < -22 || exponent > 22) {
+      return Double.NaN;
+    }
+
+    final var value = (double) mantissa;
+    if (exponent < 0) {
+      return value / POWERS_OF_TEN[-exponent];
+    }
+    return value * POWERS_OF_TEN[exponent];
+  }
+
+  /**
+   * Scan digits with an optional decimal point.
+   *
+   * @return The index after the mantissa, or {@code -1} if there are no digits
+   */
+
+  private static int scanMantissa(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    var index = start;
+    var dot = false;
+    var anyDigits = false;
+    for (; index < end; ++index) {
+      final var c = data[index];
+      if (c >= '0' && c <= '9') {
+        anyDigits = true;
+      } else if (c == '.' && !dot) {
+        dot = true;
+      } else {
+        break;
+      }
+    }
+    return anyDigits ? index : -1;
+  }
+
+  private static boolean exponentValid(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    if (start == end) {
+      return true;
+    }
+    if (data[start] != 'e' && data[start] != 'E') {
+      return false;
+    }
+
+    var index = start + 1;
+    if (index < end && (data[index] == '-' || data[index] == '+')) {
+      ++index;
+    }
+    if (index == end) {
+      return false;
+    }
+    for (; index < end; ++index) {
+      if (data[index] < '0' || data[index] > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int exponentOf(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    if (start == end) {
+      return 0;
+    }
+    return (int) parseLong(data, start + 1, end - (start + 1));
+  }
+
+  /**
+   * Accumulate the significant digits of a validated mantissa.
+   *
+   * @return The digits, or {@code -1} if there are too many to be exact
+   */
+
+  private static long fastMantissa(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    var mantissa = 0L;
+    var digits = 0;
+    for (int index = start; index < end; ++index) {
+      final var c = data[index];
+      if (c != '.' && (mantissa != 0L || c != '0')) {
+        ++digits;
+        mantissa = mantissa * 10L + (c - '0');
+      }
+      if (digits > MAXIMUM_FAST_DIGITS) {
+        return -1L;
+      }
+    }
+    return mantissa;
+  }
+
+  private static int fractionDigits(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    for (int index = start; index < end; ++index) {
+      if (data[index] == '.') {
+        return end - (index + 1);
+      }
+    }
+    return 0;
+  }
+
+  private static double parseSpecial(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    final var length = end - start;
+    if (length == 3) {
+      if (data[start] == 'I' && data[start + 1] == 'N' && data[start + 2] == 'F') {
+        return Double.POSITIVE_INFINITY;
+      }
+      if (data[start] == 'N' && data[start + 1] == 'a' && data[start + 2] == 'N') {
+        return Double.NaN;
+      }
+    }
+    if (length == 4
+        && data[start + 1] == 'I'
+        && data[start + 2] == 'N'
+        && data[start + 3] == 'F') {
+      if (data[start] == '+') {
+        return Double.POSITIVE_INFINITY;
+      }
+      if (data[start] == '-') {
+        return Double.NEGATIVE_INFINITY;
+      }
+    }
+    return 0.0;
+  }
+
+  private static double slowDouble(
+    final char[] data,
+    final int start,
+    final int end)
+  {
+    /*
+     * Values with many significant digits or large exponents are rare, and
+     * correctly rounding them is delegated to the standard library. The
+     * lexical form has already been validated.
+     */
+
+    return Double.parseDouble(String.valueOf(data, start, end - start));
+  }
+
+  /**
+   * Parse a decimal.
+   *
+   * @param data   The characters
+   * @param offset The offset of the first character
+   * @param length The number of characters
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid decimal
+   */
+
+  public static BigDecimal parseDecimal(
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    final var end = trimEnd(data, offset, offset + length);
+    final var start = trimStart(data, offset, end);
+    for (int index = start; index < end; ++index) {
+      final var c = data[index];
+      if (c == 'e' || c == 'E') {
+        throw invalid("decimal", data, offset, length);
+      }
+    }
+    if (start == end) {
+      throw invalid("decimal", data, offset, length);
+    }
+    return new BigDecimal(data, start, end - start);
+  }
+
+  /**
+   * Parse an {@code int}.
+   *
+   * @param text The text
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid integer
+   */
+
+  public static int parseInt(
+    final String text)
+  {
+    final var start = trimStart(text);
+    final var end = trimEnd(text, start);
+    return Integer.parseInt(text, start, end, 10);
+  }
+
+  /**
+   * Parse a {@code long}.
+   *
+   * @param text The text
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid integer
+   */
+
+  public static long parseLong(
+    final String text)
+  {
+    final var start = trimStart(text);
+    final var end = trimEnd(text, start);
+    return Long.parseLong(text, start, end, 10);
+  }
+
+  /**
+   * Parse a {@code double}.
+   *
+   * @param text The text
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid double
+   *
+   * @see #parseDouble(char[], int, int)
+   */
+
+  public static double parseDouble(
+    final String text)
+  {
+    final var start = trimStart(text);
+    final var end = trimEnd(text, start);
+    final var trimmed = text.substring(start, end);
+    switch (trimmed) {
+      case "INF", "+INF" -> {
+        return Double.POSITIVE_INFINITY;
+      }
+      case "-INF" -> {
+        return Double.NEGATIVE_INFINITY;
+      }
+      case "NaN" -> {
+        return Double.NaN;
+      }
+      default -> {
+        for (int index = 0; index < trimmed.length(); ++index) {
+          if (!isDoubleCharacter(trimmed.charAt(index))) {
+            throw invalid("double", text);
+          }
+        }
+        return Double.parseDouble(trimmed);
+      }
+    }
+  }
+
+  private static boolean isDoubleCharacter(
+    final char c)
+  {
+    return (c >= '0' && c <= '9') || "+-.eE".indexOf(c) >= 0;
+  }
+
+  /**
+   * Parse a decimal.
+   *
+   * @param text The text
+   *
+   * @return The parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid decimal
+   */
+
+  public static BigDecimal parseDecimal(
+    final String text)
+  {
+    final var start = trimStart(text);
+    final var end = trimEnd(text, start);
+    final var trimmed = text.substring(start, end);
+    if (trimmed.indexOf('e') >= 0 || trimmed.indexOf('E') >= 0) {
+      throw invalid("decimal", text);
+    }
+    return new BigDecimal(trimmed);
+  }
+}
@@ -17,6 +17,7 @@
 
 package com.io7m.blackthorne.core.internal;
 
+import com.io7m.blackthorne.core.BTChildHandlers;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
 import com.io7m.blackthorne.core.BTElementHandlerType;
 import com.io7m.blackthorne.core.BTElementParsingContextType;
@@ -37,7 +38,7 @@ import java.util.Objects;
 public final class BTOneOfHandler<A, B extends A>
   implements BTElementHandlerType<B, A>
 {
-  private final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends B>> itemHandlers;
+  private final BTChildHandlers<B> itemHandlers;
   private B childElement;
 
   @Override
@@ -45,7 +46,7 @@ public final class BTOneOfHandler<A, B extends A>
   onChildHandlersRequested(
     final BTElementParsingContextType context)
   {
-    return this.itemHandlers;
+    return this.itemHandlers.handlers();
   }
 
   @Override
@@ -63,16 +64,17 @@ public final class BTOneOfHandler<A, B extends A>
   }
 
   /**
-   * Construct a handler.
+   * Construct a handler. The child item handlers are not copied, and so are
+   * shared by every handler created from the same declaration.
    *
    * @param inItemHandlers The child item handlers
    */
 
   public BTOneOfHandler(
-    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends B>> inItemHandlers)
+    final BTChildHandlers<B> inItemHandlers)
   {
     this.itemHandlers =
-      Map.copyOf(Objects.requireNonNull(inItemHandlers, "itemHandler"));
+      Objects.requireNonNull(inItemHandlers, "itemHandler");
   }
 
   @Override
@@ -81,4 +83,12 @@ public final class BTOneOfHandler<A, B extends A>
   {
     return this.childElement;
   }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.childElement = null;
+    return true;
+  }
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTParseStatistics;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The counters behind {@link BTParseStatistics}. Counters are plain fields
+ * updated by the thread performing the parse. The clock and the allocation
+ * counter are only sampled when a parse is explicitly timed, so parses whose
+ * statistics are not requested pay only for the field updates.
+ */
+
+public final class BTParseCounters
+{
+  private static final LongSupplier ALLOCATED_BYTES =
+    allocationCounter();
+
+  private long elements;
+  private long ignoredElements;
+  private int maximumDepth;
+  private long characters;
+  private long handlersCreated;
+  private long valuesProduced;
+  private long warnings;
+  private long errors;
+  private long timeStart;
+  private long timeEnd;
+  private long allocatedStart;
+  private long allocatedEnd;
+  private BTQualifiedName root;
+
+  /**
+   * Construct a set of counters.
+   */
+
+  public BTParseCounters()
+  {
+    this.reset();
+  }
+
+  /**
+   * Allocation counting requires the optional {@code jdk.management} module,
+   * which may be absent from custom runtime images. The module is checked
+   * before any of its classes are touched, and any class that cannot be
+   * loaded leaves allocation counting unsupported.
+   */
+
+  private static LongSupplier allocationCounter()
+  {
+    if (ModuleLayer.boot().findModule("jdk.management").isEmpty()) {
+      return () -> -1L;
+    }
+
+    try {
+      return ThreadAllocation.counter();
+    } catch (final LinkageError e) {
+      return () -> -1L;
+    }
+  }
+
+  static long allocatedBytes()
+  {
+    return ALLOCATED_BYTES.getAsLong();
+  }
+
+  /**
+   * Reset all counters to zero.
+   */
+
+  public void reset()
+  {
+    this.elements = 0L;
+    this.ignoredElements = 0L;
+    this.maximumDepth = 0;
+    this.characters = 0L;
+    this.handlersCreated = 0L;
+    this.valuesProduced = 0L;
+    this.warnings = 0L;
+    this.errors = 0L;
+    this.timeStart = 0L;
+    this.timeEnd = 0L;
+    this.allocatedStart = -1L;
+    this.allocatedEnd = -1L;
+    this.root = null;
+  }
+
+  /**
+   * Sample the clock and allocation counter at the start of a parse.
+   */
+
+  public void timeStart()
+  {
+    this.timeStart = System.nanoTime();
+    this.timeEnd = this.timeStart;
+    this.allocatedStart = allocatedBytes();
+  }
+
+  /**
+   * Sample the clock and allocation counter at the end of a parse.
+   */
+
+  public void timeEnd()
+  {
+    this.timeEnd = System.nanoTime();
+    this.allocatedEnd = allocatedBytes();
+  }
+
+  /**
+   * An element was started.
+   */
+
+  public void onElement()
+  {
+    ++this.elements;
+  }
+
+  /**
+   * An element was pushed onto the stack.
+   *
+   * @param depth   The new depth of the stack
+   * @param ignored {@code true} if the element is ignored
+   */
+
+  public void onPush(
+    final int depth,
+    final boolean ignored)
+  {
+    if (depth > this.maximumDepth) {
+      this.maximumDepth = depth;
+    }
+    if (ignored) {
+      ++this.ignoredElements;
+    }
+  }
+
+  /**
+   * Characters were delivered to a handler.
+   *
+   * @param count The number of characters
+   */
+
+  public void onCharacters(
+    final int count)
+  {
+    this.characters += count;
+  }
+
+  /**
+   * A handler was created.
+   */
+
+  public void onHandlerCreated()
+  {
+    ++this.handlersCreated;
+  }
+
+  /**
+   * A handler produced a value.
+   */
+
+  public void onValueProduced()
+  {
+    ++this.valuesProduced;
+  }
+
+  /**
+   * A warning was raised.
+   */
+
+  public void onWarning()
+  {
+    ++this.warnings;
+  }
+
+  /**
+   * An error was raised.
+   */
+
+  public void onError()
+  {
+    ++this.errors;
+  }
+
+  /**
+   * The root element was started.
+   *
+   * @param name The name of the root element
+   */
+
+  public void onRoot(
+    final BTQualifiedName name)
+  {
+    this.root = name;
+  }
+
+  /**
+   * @return The name of the root element, or {@code null} if no root element
+   * has been started
+   */
+
+  public BTQualifiedName root()
+  {
+    return this.root;
+  }
+
+  /**
+   * @return The number of elements started
+   */
+
+  public long elements()
+  {
+    return this.elements;
+  }
+
+  /**
+   * @return The current values of the counters
+   */
+
+  public BTParseStatistics snapshot()
+  {
+    final OptionalLong allocated;
+    if (this.allocatedStart >= 0L && this.allocatedEnd >= 0L) {
+      allocated = OptionalLong.of(this.allocatedEnd - this.allocatedStart);
+    } else {
+      allocated = OptionalLong.empty();
+    }
+
+    return new BTParseStatistics(
+      this.elements,
+      this.ignoredElements,
+      this.maximumDepth,
+      this.characters,
+      this.handlersCreated,
+      this.valuesProduced,
+      this.warnings,
+      this.errors,
+      Duration.ofNanos(this.timeEnd - this.timeStart),
+      allocated
+    );
+  }
+
+  private static final class ThreadAllocation
+  {
+    private ThreadAllocation()
+    {
+
+    }
+
+    static LongSupplier counter()
+    {
+      if (ManagementFactory.getThreadMXBean()
+        instanceof final com.sun.management.ThreadMXBean bean
+          && bean.isThreadAllocatedMemorySupported()) {
+        return () -> {
+          if (!bean.isThreadAllocatedMemoryEnabled()) {
+            return -1L;
+          }
+          return bean.getCurrentThreadAllocatedBytes();
+        };
+      }
+      return () -> -1L;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URI;
+
+/**
+ * A flight recorder event covering a single parse. The event is disabled by
+ * default, and must be enabled in the recording settings.
+ */
+
+@Name("com.io7m.blackthorne.Parse")
+@Label("Parse")
+@Category("Blackthorne")
+@Description("A document was parsed.")
+@Enabled(false)
+@StackTrace(false)
+public final class BTParseEvent extends Event
+{
+  /**
+   * The source URI of the document.
+   */
+
+  @Label("Source")
+  private String source;
+
+  /**
+   * The number of bytes read from the document stream.
+   */
+
+  @Label("Bytes")
+  @DataAmount
+  private long bytes;
+
+  /**
+   * The number of elements started.
+   */
+
+  @Label("Elements")
+  private long elements;
+
+  /**
+   * The outcome of the parse: {@code succeeded}, or the error code of the
+   * failure.
+   */
+
+  @Label("Outcome")
+  private String outcome;
+
+  /**
+   * Construct an event.
+   */
+
+  public BTParseEvent()
+  {
+
+  }
+
+  /**
+   * Commit the event, if it is enabled.
+   *
+   * @param inSource   The source URI
+   * @param inBytes    The number of bytes read
+   * @param inElements The number of elements started
+   * @param inOutcome  The outcome
+   */
+
+  public void finish(
+    final URI inSource,
+    final long inBytes,
+    final long inElements,
+    final String inOutcome)
+  {
+    if (this.shouldCommit()) {
+      this.source = inSource.toString();
+      this.bytes = inBytes;
+      this.elements = inElements;
+      this.outcome = inOutcome;
+      this.commit();
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * The observation of a single parse, feeding both the flight recorder
+ * {@link BTParseEvent} and the process-wide {@link BTMetrics}. If neither
+ * is enabled, the document stream is not wrapped and the clock is not read.
+ */
+
+public final class BTParseObservation
+{
+  /**
+   * The outcome recorded for parses that did not fail.
+   */
+
+  public static final String SUCCEEDED = "succeeded";
+
+  private final BTParseEvent event;
+  private final boolean metered;
+  private final InputStream input;
+  private final long timeStart;
+  private String outcome;
+
+  private BTParseObservation(
+    final BTParseEvent inEvent,
+    final boolean inMetered,
+    final InputStream inInput,
+    final long inTimeStart)
+  {
+    this.event = inEvent;
+    this.metered = inMetered;
+    this.input = inInput;
+    this.timeStart = inTimeStart;
+    this.outcome = SUCCEEDED;
+  }
+
+  /**
+   * Begin observing a parse.
+   *
+   * @param stream The document stream
+   *
+   * @return An observation
+   */
+
+  public static BTParseObservation begin(
+    final InputStream stream)
+  {
+    Objects.requireNonNull(stream, "stream");
+
+    final var event = new BTParseEvent();
+    final var metered = BTMetrics.isEnabled();
+    if (metered || event.isEnabled()) {
+      return start(event, metered, new BTCountingInputStream(stream));
+    }
+    return start(event, metered, stream);
+  }
+
+  /**
+   * Begin observing a parse of a document that is read from a source other
+   * than a stream, such as an existing stream reader. The number of bytes
+   * read is not known, and is recorded as zero.
+   *
+   * @return An observation
+   */
+
+  public static BTParseObservation begin()
+  {
+    return start(
+      new BTParseEvent(),
+      BTMetrics.isEnabled(),
+      InputStream.nullInputStream()
+    );
+  }
+
+  private static BTParseObservation start(
+    final BTParseEvent event,
+    final boolean metered,
+    final InputStream input)
+  {
+    event.begin();
+    final long time;
+    if (metered) {
+      time = System.nanoTime();
+    } else {
+      time = 0L;
+    }
+    return new BTParseObservation(event, metered, input, time);
+  }
+
+  /**
+   * @return The stream that should be parsed
+   */
+
+  public InputStream input()
+  {
+    return this.input;
+  }
+
+  /**
+   * Mark the parse as failed.
+   *
+   * @param errorCode The error code of the failure
+   */
+
+  public void fail(
+    final String errorCode)
+  {
+    this.outcome = Objects.requireNonNull(errorCode, "errorCode");
+  }
+
+  /**
+   * Finish observing the parse.
+   *
+   * @param source         The source URI
+   * @param countersOrNull The counters for the parse, if any
+   */
+
+  public void end(
+    final URI source,
+    final BTParseCounters countersOrNull)
+  {
+    final long bytes;
+    if (this.input instanceof final BTCountingInputStream counting) {
+      bytes = counting.count();
+    } else {
+      bytes = 0L;
+    }
+
+    final long elements;
+    final BTQualifiedName root;
+    if (countersOrNull != null) {
+      elements = countersOrNull.elements();
+      root = countersOrNull.root();
+    } else {
+      elements = 0L;
+      root = null;
+    }
+
+    this.event.finish(source, bytes, elements, this.outcome);
+
+    if (this.metered) {
+      BTMetrics.get().recordParse(
+        root,
+        bytes,
+        elements,
+        System.nanoTime() - this.timeStart,
+        !SUCCEEDED.equals(this.outcome)
+      );
+    }
+  }
+}
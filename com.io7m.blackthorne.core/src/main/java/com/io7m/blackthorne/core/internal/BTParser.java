@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTErrorLimits;
+import com.io7m.blackthorne.core.BTException;
+import com.io7m.blackthorne.core.BTHandlerProfile;
+import com.io7m.blackthorne.core.BTParseError;
+import com.io7m.blackthorne.core.BTParseStatistics;
+import com.io7m.blackthorne.core.BTParserType;
+import com.io7m.blackthorne.core.BTPreserveLexical;
+import org.xml.sax.XMLReader;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * The default parser implementation. The parser holds a bounded pool of
+ * idle parse sessions; a parse call takes a session from the pool (or
+ * creates one if the pool is empty) and returns it afterwards.
+ *
+ * @param <T> The type of returned values
+ */
+
+public final class BTParser<T> implements BTParserType<T>
+{
+  private final BTSessionPool<BTParserSession<T>> sessions;
+
+  /**
+   * Construct a parser.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inXMLReaders      A supplier of XML readers
+   * @param inErrorLimits     The error limits
+   * @param inStatistics      A receiver of statistics for each parse, if
+   *                          statistics are required
+   * @param inProfiles        A receiver of handler profiles for each parse,
+   *                          if profiles are required
+   * @param inPoolSize        The maximum number of idle sessions retained
+   */
+
+  public BTParser(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final Callable<XMLReader> inXMLReaders,
+    final BTErrorLimits inErrorLimits,
+    final Optional<Consumer<? super BTParseStatistics>> inStatistics,
+    final Optional<Consumer<? super BTHandlerProfile>> inProfiles,
+    final int inPoolSize)
+  {
+    Objects.requireNonNull(inGrammar, "grammar");
+    Objects.requireNonNull(inPreserveLexical, "preserveLexical");
+    Objects.requireNonNull(inXMLReaders, "xmlReaders");
+    Objects.requireNonNull(inErrorLimits, "errorLimits");
+    Objects.requireNonNull(inStatistics, "statistics");
+    Objects.requireNonNull(inProfiles, "profiles");
+
+    this.sessions =
+      new BTSessionPool<>(
+        inPoolSize,
+        () -> new BTParserSession<>(
+          inGrammar,
+          inPreserveLexical,
+          inXMLReaders,
+          inErrorLimits,
+          inStatistics,
+          inProfiles),
+        BTParserSession::isReusable
+      );
+  }
+
+  /**
+   * Construct a parser that does not limit errors.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inXMLReaders      A supplier of XML readers
+   * @param inPoolSize        The maximum number of idle sessions retained
+   */
+
+  public BTParser(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final Callable<XMLReader> inXMLReaders,
+    final int inPoolSize)
+  {
+    this(
+      inGrammar,
+      inPreserveLexical,
+      inXMLReaders,
+      BTErrorLimits.unlimited(),
+      Optional.empty(),
+      Optional.empty(),
+      inPoolSize
+    );
+  }
+
+  /**
+   * Construct a parser with a default session pool size.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inXMLReaders      A supplier of XML readers
+   */
+
+  public BTParser(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final Callable<XMLReader> inXMLReaders)
+  {
+    this(
+      inGrammar,
+      inPreserveLexical,
+      inXMLReaders,
+      BTSessionPool.DEFAULT_SIZE
+    );
+  }
+
+  @Override
+  public T parse(
+    final URI source,
+    final InputStream stream)
+    throws BTException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+
+    final var session = this.sessions.take();
+    try {
+      return session.parse(source, stream);
+    } finally {
+      this.sessions.release(session);
+    }
+  }
+
+  @Override
+  public T parse(
+    final URI source,
+    final InputStream stream,
+    final Consumer<? super BTParseError> errors)
+    throws BTException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(errors, "errors");
+
+    final var session = this.sessions.take();
+    try {
+      return session.parse(source, stream, errors);
+    } finally {
+      this.sessions.release(session);
+    }
+  }
+}
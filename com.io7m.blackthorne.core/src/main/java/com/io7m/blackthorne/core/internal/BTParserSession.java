@@ -0,0 +1,430 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTErrorLimits;
+import com.io7m.blackthorne.core.BTException;
+import com.io7m.blackthorne.core.BTHandlerProfile;
+import com.io7m.blackthorne.core.BTParseError;
+import com.io7m.blackthorne.core.BTParseStatistics;
+import com.io7m.blackthorne.core.BTPreserveLexical;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A parse session. A session holds an XML reader, a content handler, and an
+ * error buffer, all of which are reused by successive parse calls. Sessions
+ * are not thread-safe.
+ *
+ * @param <T> The type of returned values
+ */
+
+public final class BTParserSession<T>
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(BTParserSession.class);
+
+  private final BTGrammar<T> grammar;
+  private final BTPreserveLexical preserveLexical;
+  private final Callable<XMLReader> xmlReaders;
+  private final ArrayList<BTParseError> errors;
+  private final BTErrorLimits errorLimits;
+  private final Optional<Consumer<? super BTParseStatistics>> statistics;
+  private final Optional<Consumer<? super BTHandlerProfile>> profiles;
+  private final BTHandlerProfiler profiler;
+  private Consumer<? super BTParseError> errorSink;
+  private BTParseCounters timed;
+  private XMLReader reader;
+  private BTContentHandler<T> contentHandler;
+  private boolean reusable;
+
+  /**
+   * Construct a session.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inXMLReaders      A supplier of XML readers
+   */
+
+  public BTParserSession(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final Callable<XMLReader> inXMLReaders)
+  {
+    this(
+      inGrammar,
+      inPreserveLexical,
+      inXMLReaders,
+      BTErrorLimits.unlimited(),
+      Optional.empty(),
+      Optional.empty()
+    );
+  }
+
+  /**
+   * Construct a session.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inXMLReaders      A supplier of XML readers
+   * @param inErrorLimits     The error limits
+   * @param inStatistics      A receiver of statistics for each parse, if
+   *                          statistics are required
+   * @param inProfiles        A receiver of handler profiles for each parse,
+   *                          if profiles are required
+   */
+
+  public BTParserSession(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final Callable<XMLReader> inXMLReaders,
+    final BTErrorLimits inErrorLimits,
+    final Optional<Consumer<? super BTParseStatistics>> inStatistics,
+    final Optional<Consumer<? super BTHandlerProfile>> inProfiles)
+  {
+    this.statistics =
+      Objects.requireNonNull(inStatistics, "statistics");
+    this.profiles =
+      Objects.requireNonNull(inProfiles, "profiles");
+    if (inProfiles.isPresent()) {
+      this.profiler = new BTHandlerProfiler();
+    } else {
+      this.profiler = null;
+    }
+    this.errorLimits =
+      Objects.requireNonNull(inErrorLimits, "errorLimits");
+    this.grammar =
+      Objects.requireNonNull(inGrammar, "grammar");
+    this.preserveLexical =
+      Objects.requireNonNull(inPreserveLexical, "preserveLexical");
+    this.xmlReaders =
+      Objects.requireNonNull(inXMLReaders, "xmlReaders");
+    this.errors =
+      new ArrayList<>(32);
+    this.reusable = true;
+  }
+
+  /**
+   * @return {@code true} if the session may be used for another parse
+   */
+
+  public boolean isReusable()
+  {
+    return this.reusable;
+  }
+
+  /**
+   * Parse a document.
+   *
+   * @param source The source URI
+   * @param stream The input stream
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  public T parse(
+    final URI source,
+    final InputStream stream)
+    throws BTException
+  {
+    return this.parse(source, stream, null);
+  }
+
+  /**
+   * Parse a document.
+   *
+   * @param source    The source URI
+   * @param stream    The input stream
+   * @param sink      A receiver of errors, or {@code null} if errors should
+   *                  be collected into the raised exception
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  public T parse(
+    final URI source,
+    final InputStream stream,
+    final Consumer<? super BTParseError> sink)
+    throws BTException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+
+    this.errors.clear();
+    this.errorSink = sink;
+
+    final var observation = BTParseObservation.begin(stream);
+    this.profileStart();
+    try {
+      return this.run(source, observation.input());
+    } catch (final BTException e) {
+      observation.fail(e.errorCode());
+      throw e;
+    } finally {
+      this.errorSink = null;
+      this.statisticsPublish();
+      this.profilePublish();
+      this.observationEnd(observation, source);
+      this.release();
+    }
+  }
+
+  /**
+   * Release the result, handlers, and errors of the parse that just ended,
+   * so that an idle pooled session does not keep the document alive.
+   */
+
+  private void release()
+  {
+    this.errors.clear();
+    final var handler = this.contentHandler;
+    if (handler != null) {
+      handler.release();
+    }
+  }
+
+  private void observationEnd(
+    final BTParseObservation observation,
+    final URI source)
+  {
+    final var handler = this.contentHandler;
+    if (handler == null) {
+      observation.end(source, null);
+    } else {
+      observation.end(source, handler.counters());
+    }
+  }
+
+  private void statisticsStart(
+    final BTContentHandler<T> handler)
+  {
+    if (this.statistics.isPresent()) {
+      this.timed = handler.counters();
+      this.timed.timeStart();
+    }
+  }
+
+  private void statisticsPublish()
+  {
+    final var counters = this.timed;
+    if (counters != null) {
+      this.timed = null;
+      counters.timeEnd();
+      this.statistics.get().accept(counters.snapshot());
+    }
+  }
+
+  private BTHandlerProfilerType profiler()
+  {
+    if (this.profiler == null) {
+      return BTHandlerProfilers.none();
+    }
+    return this.profiler;
+  }
+
+  private void profileStart()
+  {
+    if (this.profiler != null) {
+      this.profiler.reset();
+    }
+  }
+
+  private void profilePublish()
+  {
+    if (this.profiler != null) {
+      this.profiles.get().accept(this.profiler.snapshot());
+    }
+  }
+
+  private void receive(
+    final BTParseError error)
+  {
+    if (BTMetrics.isEnabled()) {
+      BTMetrics.get().recordError(error.errorCode());
+    }
+
+    final var sink = this.errorSink;
+    if (sink == null) {
+      this.errors.add(error);
+    } else {
+      sink.accept(error);
+    }
+  }
+
+  private T run(
+    final URI source,
+    final InputStream stream)
+    throws BTException
+  {
+    try {
+      final var handler = this.contentHandlerFor(source);
+      this.statisticsStart(handler);
+
+      final var inputSource = new InputSource(stream);
+      inputSource.setPublicId(source.toString());
+
+      this.reader.parse(inputSource);
+
+      final var resultOpt = handler.result();
+      if (resultOpt.isEmpty() || handler.failed()) {
+        throw new BTException(
+          "Parsing failed.",
+          "parse-failed",
+          suppressedAttributes(handler),
+          this.errors
+        );
+      }
+
+      return resultOpt.get();
+    } catch (final BTException e) {
+      throw e;
+    } catch (final BTErrorLimitException e) {
+      LOG.debug("error limit reached: ", e);
+
+      throw new BTException(
+        e.getMessage(),
+        e,
+        "error-limit-reached",
+        suppressedAttributes(this.contentHandler),
+        Optional.empty(),
+        this.errors
+      );
+    } catch (final SAXParseException e) {
+      LOG.debug("error encountered during parsing: ", e);
+
+      final var position =
+        LexicalPosition.of(
+          e.getLineNumber(),
+          e.getColumnNumber(),
+          Optional.of(source)
+        );
+
+      final var mainError =
+        new BTParseError(
+          position,
+          BTParseError.Severity.ERROR,
+          "sax-parse-error",
+          e.getMessage(),
+          Map.of(),
+          Optional.empty(),
+          Optional.of(e)
+        );
+
+      this.receive(mainError);
+
+      throw new BTException(
+        e.getMessage(),
+        e,
+        mainError.errorCode(),
+        mainError.attributes(),
+        mainError.remediatingAction(),
+        this.errors
+      );
+    } catch (final Exception e) {
+      LOG.debug("exception encountered during parsing: ", e);
+
+      /*
+       * The parse did not simply produce errors, so the reader may have been
+       * left in an unknown state.
+       */
+
+      this.reusable = false;
+
+      final var position =
+        LexicalPosition.of(-1, -1, Optional.of(source));
+
+      final var mainError =
+        new BTParseError(
+          position,
+          BTParseError.Severity.ERROR,
+          "exception",
+          e.getMessage(),
+          Map.of(),
+          Optional.empty(),
+          Optional.of(e)
+        );
+
+      this.receive(mainError);
+
+      throw new BTException(
+        e.getMessage(),
+        e,
+        mainError.errorCode(),
+        mainError.attributes(),
+        mainError.remediatingAction(),
+        this.errors
+      );
+    }
+  }
+
+  private static Map<String, String> suppressedAttributes(
+    final BTContentHandler<?> handler)
+  {
+    if (handler == null) {
+      return Map.of();
+    }
+    final var suppressed = handler.suppressedErrors();
+    if (suppressed == 0) {
+      return Map.of();
+    }
+    return Map.of("Suppressed Errors", Integer.toString(suppressed));
+  }
+
+  private BTContentHandler<T> contentHandlerFor(
+    final URI source)
+    throws Exception
+  {
+    if (this.contentHandler == null) {
+      this.contentHandler =
+        new BTContentHandler<>(
+          source,
+          this::receive,
+          this.preserveLexical,
+          this.grammar,
+          this.errorLimits,
+          this.profiler()
+        );
+    } else {
+      this.contentHandler.reset(source);
+    }
+
+    if (this.reader == null) {
+      this.reader = this.xmlReaders.call();
+      this.reader.setContentHandler(this.contentHandler);
+      this.reader.setErrorHandler(this.contentHandler);
+    }
+    return this.contentHandler;
+  }
+}
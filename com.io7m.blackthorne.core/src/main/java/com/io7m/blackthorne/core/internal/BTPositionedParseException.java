@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import org.xml.sax.SAXParseException;
+
+/**
+ * A parse exception that is reported at the position it carries, rather
+ * than at the position of the parser when the exception is received.
+ * Exceptions of this type do not capture stack traces.
+ *
+ * @see com.io7m.blackthorne.core.BTElementParsingContextType#parseExceptionAt(long, Exception)
+ */
+
+public final class BTPositionedParseException extends SAXParseException
+{
+  /**
+   * Construct an exception.
+   *
+   * @param message The message
+   * @param line    The line number
+   * @param column  The column number
+   * @param cause   The cause
+   */
+
+  public BTPositionedParseException(
+    final String message,
+    final int line,
+    final int column,
+    final Exception cause)
+  {
+    super(message, null, null, line, column, cause);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace()
+  {
+    return this;
+  }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A symbol table that resolves the namespace and local name strings delivered
+ * by XML parsers to canonical {@link BTQualifiedName} instances.
+ *
+ * Lookups are keyed directly on the strings received from the parser (whose
+ * hash codes are cached by {@link String}), and so resolving a name that has
+ * already been seen allocates nothing. Each distinct namespace string is
+ * converted to a {@link URI} exactly once.
+ *
+ * Every interned name is also assigned a dense integer index, in the order
+ * in which names were first interned, so that callers can build arrays
+ * indexed by name.
+ *
+ * The table is safe to share between threads. Names received from documents
+ * are resolved with {@link #find(String, String)}, which never adds entries
+ * and never allocates, so that documents cannot fill the table with names
+ * that no handler accepts. To prevent the table from growing without bound regardless, the
+ * table stops interning new names once it holds a configured maximum number
+ * of entries; names beyond that limit are still resolved correctly, but are
+ * freshly allocated on every lookup.
+ */
+
+public final class BTQualifiedNameTable
+{
+  private static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+  /**
+   * The symbol returned by {@link #find(String, String)} for names that have
+   * not been interned. The symbol's index is {@code -1}, and its name is a
+   * placeholder that does not match any element.
+   */
+
+  public static final BTQualifiedNameSymbol UNKNOWN =
+    new BTQualifiedNameSymbol(
+      new BTQualifiedName(
+        URI.create("urn:com.io7m.blackthorne:unknown"),
+        "unknown"),
+      -1
+    );
+
+  private final ConcurrentHashMap<String, Namespace> namespaces;
+  private final AtomicInteger size;
+  private final AtomicInteger indices;
+  private final int maximumSize;
+
+  /**
+   * Construct a table.
+   *
+   * @param inMaximumSize The maximum number of names and namespaces that will
+   *                      be interned
+   */
+
+  public BTQualifiedNameTable(
+    final int inMaximumSize)
+  {
+    if (inMaximumSize < 0) {
+      throw new IllegalArgumentException(
+        "Maximum size must be non-negative");
+    }
+
+    this.maximumSize = inMaximumSize;
+    this.namespaces = new ConcurrentHashMap<>(16);
+    this.size = new AtomicInteger(0);
+    this.indices = new AtomicInteger(0);
+  }
+
+  /**
+   * Construct a table with a default maximum size.
+   */
+
+  public BTQualifiedNameTable()
+  {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Construct a table that has been populated with the given names.
+   *
+   * @param names The names
+   *
+   * @return A new table
+   */
+
+  public static BTQualifiedNameTable of(
+    final Collection<BTQualifiedName> names)
+  {
+    Objects.requireNonNull(names, "names");
+
+    final var table = new BTQualifiedNameTable();
+    for (final var name : names) {
+      table.intern(name);
+    }
+    return table;
+  }
+
+  /**
+   * @return The number of names and namespaces currently interned
+   */
+
+  public int size()
+  {
+    return this.size.get();
+  }
+
+  /**
+   * @return An exclusive upper bound on the indices of interned names
+   */
+
+  public int indexBound()
+  {
+    return this.indices.get();
+  }
+
+  /**
+   * Resolve a qualified name.
+   *
+   * @param namespaceURI The namespace URI
+   * @param localName    The local name
+   *
+   * @return The canonical qualified name
+   */
+
+  public BTQualifiedName intern(
+    final String namespaceURI,
+    final String localName)
+  {
+    return this.lookup(namespaceURI, localName).name();
+  }
+
+  /**
+   * Resolve a qualified name, returning the name and its index.
+   *
+   * @param namespaceURI The namespace URI
+   * @param localName    The local name
+   *
+   * @return The canonical qualified name symbol
+   */
+
+  public BTQualifiedNameSymbol lookup(
+    final String namespaceURI,
+    final String localName)
+  {
+    Objects.requireNonNull(namespaceURI, "namespaceURI");
+    Objects.requireNonNull(localName, "localName");
+
+    var namespace = this.namespaces.get(namespaceURI);
+    if (namespace == null) {
+      namespace = this.namespaceCreate(namespaceURI, null);
+    }
+
+    final var existing = namespace.names().get(localName);
+    if (existing != null) {
+      return existing;
+    }
+    return this.nameCreate(namespace, localName);
+  }
+
+  /**
+   * Find the symbol for a qualified name without interning it. If the name
+   * has not been interned, the shared {@link #UNKNOWN} symbol is returned, so
+   * that looking up names that no handler accepts allocates nothing. Callers
+   * that need the actual name of an unknown element can build it with
+   * {@link #nameOf(String, String)}.
+   *
+   * @param namespaceURI The namespace URI
+   * @param localName    The local name
+   *
+   * @return The canonical qualified name symbol, or {@link #UNKNOWN}
+   */
+
+  public BTQualifiedNameSymbol find(
+    final String namespaceURI,
+    final String localName)
+  {
+    Objects.requireNonNull(namespaceURI, "namespaceURI");
+    Objects.requireNonNull(localName, "localName");
+
+    final var namespace = this.namespaces.get(namespaceURI);
+    if (namespace == null) {
+      return UNKNOWN;
+    }
+
+    final var existing = namespace.names().get(localName);
+    if (existing != null) {
+      return existing;
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Build a qualified name without interning it, reusing the interned
+   * namespace URI if there is one.
+   *
+   * @param namespaceURI The namespace URI
+   * @param localName    The local name
+   *
+   * @return The qualified name
+   */
+
+  public BTQualifiedName nameOf(
+    final String namespaceURI,
+    final String localName)
+  {
+    Objects.requireNonNull(namespaceURI, "namespaceURI");
+    Objects.requireNonNull(localName, "localName");
+
+    final var namespace = this.namespaces.get(namespaceURI);
+    if (namespace == null) {
+      return new BTQualifiedName(URI.create(namespaceURI), localName);
+    }
+
+    final var existing = namespace.names().get(localName);
+    if (existing != null) {
+      return existing.name();
+    }
+    return new BTQualifiedName(namespace.uri(), localName);
+  }
+
+  /**
+   * Intern an existing qualified name, making it (or a name equal to it) the
+   * canonical instance.
+   *
+   * @param name The name
+   *
+   * @return The canonical qualified name
+   */
+
+  public BTQualifiedName intern(
+    final BTQualifiedName name)
+  {
+    return this.lookup(name).name();
+  }
+
+  /**
+   * Intern an existing qualified name, returning the canonical name and its
+   * index.
+   *
+   * @param name The name
+   *
+   * @return The canonical qualified name symbol
+   */
+
+  public BTQualifiedNameSymbol lookup(
+    final BTQualifiedName name)
+  {
+    Objects.requireNonNull(name, "name");
+
+    final var namespaceURI = name.namespaceURI();
+    final var namespaceText = namespaceURI.toString();
+    var namespace = this.namespaces.get(namespaceText);
+    if (namespace == null) {
+      namespace = this.namespaceCreate(namespaceText, namespaceURI);
+    }
+
+    final var existing = namespace.names().get(name.localName());
+    if (existing != null) {
+      return existing;
+    }
+    return this.symbolCreate(namespace, name);
+  }
+
+  private Namespace namespaceCreate(
+    final String namespaceURI,
+    final URI uriOrNull)
+  {
+    final URI uri;
+    if (uriOrNull == null) {
+      uri = URI.create(namespaceURI);
+    } else {
+      uri = uriOrNull;
+    }
+
+    /*
+     * Namespaces count towards the size limit. If the table is full, return
+     * a namespace that is not stored in the table, and into which no names
+     * will be interned.
+     */
+
+    if (!this.reserve()) {
+      return new Namespace(uri, new ConcurrentHashMap<>(0), false);
+    }
+
+    final var namespace =
+      new Namespace(uri, new ConcurrentHashMap<>(16), true);
+    final var previous = this.namespaces.putIfAbsent(namespaceURI, namespace);
+    if (previous != null) {
+      this.size.decrementAndGet();
+      return previous;
+    }
+    return namespace;
+  }
+
+  private BTQualifiedNameSymbol nameCreate(
+    final Namespace namespace,
+    final String localName)
+  {
+    return this.symbolCreate(
+      namespace,
+      new BTQualifiedName(namespace.uri(), localName)
+    );
+  }
+
+  private BTQualifiedNameSymbol symbolCreate(
+    final Namespace namespace,
+    final BTQualifiedName name)
+  {
+    if (namespace.interned() && this.reserve()) {
+      final var symbol =
+        new BTQualifiedNameSymbol(name, this.indices.getAndIncrement());
+      final var previous =
+        namespace.names().putIfAbsent(name.localName(), symbol);
+      if (previous != null) {
+        this.size.decrementAndGet();
+        return previous;
+      }
+      return symbol;
+    }
+    return new BTQualifiedNameSymbol(name, -1);
+  }
+
+  private boolean reserve()
+  {
+    while (true) {
+      final var current = this.size.get();
+      if (current >= this.maximumSize) {
+        return false;
+      }
+      if (this.size.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private record Namespace(
+    URI uri,
+    ConcurrentHashMap<String, BTQualifiedNameSymbol> names,
+    boolean interned)
+  {
+    Namespace
+    {
+      Objects.requireNonNull(uri, "uri");
+      Objects.requireNonNull(names, "names");
+    }
+  }
+}
@@ -73,4 +73,12 @@ public final class BTScalarAttributeHandler<S> implements BTElementHandlerType<O
   {
     return this.result;
   }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.result = null;
+    return true;
+  }
 }
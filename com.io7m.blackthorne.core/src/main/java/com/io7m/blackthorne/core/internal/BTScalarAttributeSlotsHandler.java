@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTAttributeSlots;
+import com.io7m.blackthorne.core.BTAttributeSlotsHandlerType;
+import com.io7m.blackthorne.core.BTAttributeValuesHandlerType;
+import com.io7m.blackthorne.core.BTAttributeValuesType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import org.xml.sax.Attributes;
+
+import java.util.Objects;
+
+/**
+ * A convenient handler for converting declared attributes into scalar values.
+ *
+ * @param <S> The type of returned values
+ */
+
+public final class BTScalarAttributeSlotsHandler<S>
+  implements BTElementHandlerType<Object, S>, BTAttributeSlotsHandlerType
+{
+  private final BTQualifiedName name;
+  private final BTAttributeSlots slots;
+  private final BTAttributeValuesHandlerType<S> handler;
+  private S result;
+
+  /**
+   * Construct a handler.
+   *
+   * @param inName    The name of elements handled by this handler
+   * @param inSlots   The declared attributes
+   * @param inHandler The attribute handler
+   */
+
+  public BTScalarAttributeSlotsHandler(
+    final BTQualifiedName inName,
+    final BTAttributeSlots inSlots,
+    final BTAttributeValuesHandlerType<S> inHandler)
+  {
+    this.name = Objects.requireNonNull(inName, "name");
+    this.slots = Objects.requireNonNull(inSlots, "slots");
+    this.handler = Objects.requireNonNull(inHandler, "handler");
+  }
+
+  @Override
+  public String name()
+  {
+    return this.name.localName();
+  }
+
+  @Override
+  public BTAttributeSlots attributeSlots()
+  {
+    return this.slots;
+  }
+
+  /**
+   * Resolve the attributes directly. This is only used when the handler is
+   * wrapped by another handler that hides the declared attributes from the
+   * handler stack.
+   */
+
+  @Override
+  public void onElementStart(
+    final BTElementParsingContextType context,
+    final Attributes attributes)
+    throws Exception
+  {
+    final var values = new BTAttributeSlotArray();
+    final var unrecognized = values.resolve(this.slots, attributes);
+    if (unrecognized >= 0) {
+      throw BTAttributeSlotArray.errorUnrecognized(
+        context, this, this.slots, attributes, unrecognized);
+    }
+    this.onElementStartSlots(context, values);
+  }
+
+  @Override
+  public void onElementStartSlots(
+    final BTElementParsingContextType context,
+    final BTAttributeValuesType attributes)
+    throws Exception
+  {
+    this.result = this.handler.parse(context, attributes);
+  }
+
+  @Override
+  public S onElementFinished(
+    final BTElementParsingContextType context)
+  {
+    return this.result;
+  }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.result = null;
+    return true;
+  }
+}
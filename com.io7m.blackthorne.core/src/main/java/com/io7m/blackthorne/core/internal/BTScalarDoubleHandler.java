@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import com.io7m.blackthorne.core.BTDoubleProducerType;
+
+import java.util.Objects;
+
+/**
+ * A handler that parses the text content of elements as {@code double} values.
+ * When the parent handler accepts {@code double} values directly, the value is
+ * delivered without boxing.
+ */
+
+public final class BTScalarDoubleHandler
+  implements BTElementHandlerType<Object, Double>, BTDoubleProducerType
+{
+  private final BTQualifiedName name;
+  private final BTTextBuffer text;
+
+  /**
+   * Construct a handler.
+   *
+   * @param inName The name of elements handled by this handler
+   */
+
+  public BTScalarDoubleHandler(
+    final BTQualifiedName inName)
+  {
+    this.name =
+      Objects.requireNonNull(inName, "name");
+    this.text =
+      new BTTextBuffer();
+  }
+
+  @Override
+  public String name()
+  {
+    return this.name.localName();
+  }
+
+  @Override
+  public void onCharacters(
+    final BTElementParsingContextType context,
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    this.text.append(data, offset, length);
+  }
+
+  @Override
+  public Double onElementFinished(
+    final BTElementParsingContextType context)
+  {
+    return Double.valueOf(this.onElementFinishedDouble(context));
+  }
+
+  @Override
+  public double onElementFinishedDouble(
+    final BTElementParsingContextType context)
+  {
+    return this.text.parseDouble();
+  }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.text.clear();
+    return true;
+  }
+}
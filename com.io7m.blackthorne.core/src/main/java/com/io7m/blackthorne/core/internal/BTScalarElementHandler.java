@@ -27,15 +27,20 @@ import java.util.Objects;
 /**
  * A convenient handler for converting the text content of elements into scalar values.
  *
+ * XML parsers may deliver the text of a single element in any number of
+ * chunks (split across buffer boundaries, entity references, and CDATA
+ * sections). The handler accumulates the chunks into a buffer that is reused
+ * for as long as the handler is, and invokes the character handler exactly
+ * once, when the element is finished.
+ *
  * @param <S> The type of returned values
  */
 
 public final class BTScalarElementHandler<S> implements BTElementHandlerType<Object, S>
 {
-  private static final char[] CHARACTERS = new char[0];
   private final BTCharacterHandlerType<S> handler;
   private final BTQualifiedName name;
-  private S result;
+  private final BTTextBuffer text;
 
   /**
    * Construct a handler.
@@ -52,6 +57,7 @@ public final class BTScalarElementHandler<S> implements BTElementHandlerType<Obj
       Objects.requireNonNull(inName, "name");
     this.handler =
       Objects.requireNonNull(inHandler, "handler");
+    this.text = new BTTextBuffer();
   }
 
   @Override
@@ -66,12 +72,8 @@ public final class BTScalarElementHandler<S> implements BTElementHandlerType<Obj
     final char[] data,
     final int offset,
     final int length)
-    throws Exception
   {
-    final var parsed =
-      this.handler.parse(context, data, offset, length);
-    this.result =
-      Objects.requireNonNull(parsed, "parsed");
+    this.text.append(data, offset, length);
   }
 
   @Override
@@ -79,12 +81,15 @@ public final class BTScalarElementHandler<S> implements BTElementHandlerType<Obj
     final BTElementParsingContextType context)
     throws Exception
   {
-    if (this.result == null) {
-      final var parsed =
-        this.handler.parse(context, CHARACTERS, 0, 0);
-      this.result =
-        Objects.requireNonNull(parsed, "parsed");
-    }
-    return this.result;
+    final var parsed = this.text.parse(context, this.handler);
+    return Objects.requireNonNull(parsed, "parsed");
+  }
+
+  @Override
+  public boolean onReset(
+    final BTElementParsingContextType context)
+  {
+    this.text.clear();
+    return true;
   }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, thread-safe pool of idle parse sessions.
+ *
+ * @param <S> The type of sessions
+ */
+
+public final class BTSessionPool<S>
+{
+  /**
+   * The default number of idle sessions retained.
+   */
+
+  public static final int DEFAULT_SIZE =
+    Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  private final ArrayBlockingQueue<S> sessions;
+  private final Supplier<S> creator;
+  private final Predicate<S> reusable;
+
+  /**
+   * Construct a pool.
+   *
+   * @param inSize     The maximum number of idle sessions retained
+   * @param inCreator  A function that creates new sessions
+   * @param inReusable A predicate that determines if a released session
+   *                   may be reused
+   */
+
+  public BTSessionPool(
+    final int inSize,
+    final Supplier<S> inCreator,
+    final Predicate<S> inReusable)
+  {
+    this.sessions =
+      new ArrayBlockingQueue<>(Math.max(1, inSize));
+    this.creator =
+      Objects.requireNonNull(inCreator, "creator");
+    this.reusable =
+      Objects.requireNonNull(inReusable, "reusable");
+  }
+
+  /**
+   * Take an idle session from the pool, or create a new one.
+   *
+   * @return A session
+   */
+
+  public S take()
+  {
+    final var session = this.sessions.poll();
+    if (session != null) {
+      return session;
+    }
+    return this.creator.get();
+  }
+
+  /**
+   * Return a session to the pool. Sessions that are not reusable, or that
+   * do not fit in the pool because more sessions were live at once than the
+   * pool retains, are discarded. Sessions hold no resources that require
+   * closing, so a discarded session is simply left to the garbage collector.
+   *
+   * @param session The session
+   *
+   * @return {@code true} if the session was retained for reuse
+   */
+
+  public boolean release(
+    final S session)
+  {
+    if (this.reusable.test(session)) {
+      return this.sessions.offer(session);
+    }
+    return false;
+  }
+}
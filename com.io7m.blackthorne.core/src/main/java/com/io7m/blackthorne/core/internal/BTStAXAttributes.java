@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import org.xml.sax.Attributes;
+
+import javax.xml.stream.XMLStreamReader;
+import java.util.Objects;
+
+/**
+ * A view of the attributes of the current element of a StAX stream reader
+ * as SAX attributes. The view is only valid while the reader is positioned
+ * on the element's start tag.
+ */
+
+public final class BTStAXAttributes implements Attributes
+{
+  private XMLStreamReader reader;
+
+  /**
+   * Construct a view.
+   */
+
+  public BTStAXAttributes()
+  {
+
+  }
+
+  /**
+   * Set the underlying stream reader.
+   *
+   * @param inReader The stream reader
+   */
+
+  public void setReader(
+    final XMLStreamReader inReader)
+  {
+    this.reader = Objects.requireNonNull(inReader, "reader");
+  }
+
+  private static String orEmpty(
+    final String text)
+  {
+    return text == null ? "" : text;
+  }
+
+  @Override
+  public int getLength()
+  {
+    return this.reader.getAttributeCount();
+  }
+
+  @Override
+  public String getURI(
+    final int index)
+  {
+    if (!this.inRange(index)) {
+      return null;
+    }
+    return orEmpty(this.reader.getAttributeNamespace(index));
+  }
+
+  @Override
+  public String getLocalName(
+    final int index)
+  {
+    if (!this.inRange(index)) {
+      return null;
+    }
+    return this.reader.getAttributeLocalName(index);
+  }
+
+  @Override
+  public String getQName(
+    final int index)
+  {
+    if (!this.inRange(index)) {
+      return null;
+    }
+
+    final var prefix = this.reader.getAttributePrefix(index);
+    final var localName = this.reader.getAttributeLocalName(index);
+    if (prefix == null || prefix.isEmpty()) {
+      return localName;
+    }
+    return prefix + ":" + localName;
+  }
+
+  @Override
+  public String getType(
+    final int index)
+  {
+    if (!this.inRange(index)) {
+      return null;
+    }
+    return this.reader.getAttributeType(index);
+  }
+
+  @Override
+  public String getValue(
+    final int index)
+  {
+    if (!this.inRange(index)) {
+      return null;
+    }
+    return this.reader.getAttributeValue(index);
+  }
+
+  @Override
+  public int getIndex(
+    final String uri,
+    final String localName)
+  {
+    final var count = this.reader.getAttributeCount();
+    for (int index = 0; index < count; ++index) {
+      if (Objects.equals(localName, this.reader.getAttributeLocalName(index))
+          && Objects.equals(uri, orEmpty(this.reader.getAttributeNamespace(index)))) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int getIndex(
+    final String qName)
+  {
+    final var count = this.reader.getAttributeCount();
+    for (int index = 0; index < count; ++index) {
+      if (Objects.equals(qName, this.getQName(index))) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String getType(
+    final String uri,
+    final String localName)
+  {
+    return this.getType(this.getIndex(uri, localName));
+  }
+
+  @Override
+  public String getType(
+    final String qName)
+  {
+    return this.getType(this.getIndex(qName));
+  }
+
+  @Override
+  public String getValue(
+    final String uri,
+    final String localName)
+  {
+    return this.getValue(this.getIndex(uri, localName));
+  }
+
+  @Override
+  public String getValue(
+    final String qName)
+  {
+    return this.getValue(this.getIndex(qName));
+  }
+
+  private boolean inRange(
+    final int index)
+  {
+    return index >= 0 && index < this.reader.getAttributeCount();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import org.xml.sax.ext.Locator2;
+
+import javax.xml.stream.XMLStreamReader;
+import java.util.Objects;
+
+/**
+ * A SAX locator that reports the position of a StAX stream reader.
+ */
+
+public final class BTStAXLocator implements Locator2
+{
+  private XMLStreamReader reader;
+  private String publicId;
+
+  /**
+   * Construct a locator.
+   */
+
+  public BTStAXLocator()
+  {
+
+  }
+
+  /**
+   * Set the underlying stream reader.
+   *
+   * @param inReader   The stream reader
+   * @param inPublicId The public ID of the document
+   */
+
+  public void setReader(
+    final XMLStreamReader inReader,
+    final String inPublicId)
+  {
+    this.reader = Objects.requireNonNull(inReader, "reader");
+    this.publicId = Objects.requireNonNull(inPublicId, "publicId");
+  }
+
+  @Override
+  public String getXMLVersion()
+  {
+    return this.reader.getVersion();
+  }
+
+  @Override
+  public String getEncoding()
+  {
+    return this.reader.getEncoding();
+  }
+
+  @Override
+  public String getPublicId()
+  {
+    return this.publicId;
+  }
+
+  @Override
+  public String getSystemId()
+  {
+    return this.reader.getLocation().getSystemId();
+  }
+
+  @Override
+  public int getLineNumber()
+  {
+    return this.reader.getLocation().getLineNumber();
+  }
+
+  @Override
+  public int getColumnNumber()
+  {
+    return this.reader.getLocation().getColumnNumber();
+  }
+}
@@ -0,0 +1,659 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTErrorLimits;
+import com.io7m.blackthorne.core.BTException;
+import com.io7m.blackthorne.core.BTHandlerProfile;
+import com.io7m.blackthorne.core.BTParseError;
+import com.io7m.blackthorne.core.BTParseStatistics;
+import com.io7m.blackthorne.core.BTPreserveLexical;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * A parse session that drives a stack handler from a StAX stream reader.
+ * Errors are reported exactly as they are by the SAX-based
+ * {@link BTParserSession}. The stream is read to the end of the document,
+ * so trailing elements or malformed content after the root element are
+ * rejected exactly as they are by SAX parsers.
+ * Sessions are not thread-safe.
+ *
+ * @param <T> The type of returned values
+ */
+
+public final class BTStAXParserSession<T>
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(BTStAXParserSession.class);
+
+  private final BTGrammar<T> grammar;
+  private final BTPreserveLexical preserveLexical;
+  private final XMLInputFactory inputs;
+  private final ArrayList<BTParseError> errors;
+  private final BTErrorFilter errorFilter;
+  private final BTParseCounters counters;
+  private final Optional<Consumer<? super BTParseStatistics>> statistics;
+  private final Optional<Consumer<? super BTHandlerProfile>> profiles;
+  private final BTHandlerProfiler profiler;
+  private Consumer<? super BTParseError> errorSink;
+  private final BTStAXLocator locator;
+  private final BTStAXAttributes attributes;
+  private BTStackHandler<T> stackHandler;
+  private URI source;
+  private boolean failed;
+  private boolean reusable;
+
+  /**
+   * Construct a session.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inInputs          A factory of stream readers
+   */
+
+  public BTStAXParserSession(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final XMLInputFactory inInputs)
+  {
+    this(
+      inGrammar,
+      inPreserveLexical,
+      inInputs,
+      BTErrorLimits.unlimited(),
+      Optional.empty(),
+      Optional.empty()
+    );
+  }
+
+  /**
+   * Construct a session.
+   *
+   * @param inGrammar         The grammar
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inInputs          A factory of stream readers
+   * @param inErrorLimits     The error limits
+   * @param inStatistics      A receiver of statistics for each parse, if
+   *                          statistics are required
+   * @param inProfiles        A receiver of handler profiles for each parse,
+   *                          if profiles are required
+   */
+
+  public BTStAXParserSession(
+    final BTGrammar<T> inGrammar,
+    final BTPreserveLexical inPreserveLexical,
+    final XMLInputFactory inInputs,
+    final BTErrorLimits inErrorLimits,
+    final Optional<Consumer<? super BTParseStatistics>> inStatistics,
+    final Optional<Consumer<? super BTHandlerProfile>> inProfiles)
+  {
+    this.statistics =
+      Objects.requireNonNull(inStatistics, "statistics");
+    this.profiles =
+      Objects.requireNonNull(inProfiles, "profiles");
+    if (inProfiles.isPresent()) {
+      this.profiler = new BTHandlerProfiler();
+    } else {
+      this.profiler = null;
+    }
+    this.counters =
+      new BTParseCounters();
+    this.errorFilter =
+      new BTErrorFilter(inErrorLimits);
+    this.grammar =
+      Objects.requireNonNull(inGrammar, "grammar");
+    this.preserveLexical =
+      Objects.requireNonNull(inPreserveLexical, "preserveLexical");
+    this.inputs =
+      Objects.requireNonNull(inInputs, "inputs");
+    this.errors =
+      new ArrayList<>(32);
+    this.locator =
+      new BTStAXLocator();
+    this.attributes =
+      new BTStAXAttributes();
+    this.reusable = true;
+  }
+
+  /**
+   * @return {@code true} if the session may be used for another parse
+   */
+
+  public boolean isReusable()
+  {
+    return this.reusable;
+  }
+
+  /**
+   * Parse a document.
+   *
+   * @param inSource The source URI
+   * @param stream   The input stream
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  public T parse(
+    final URI inSource,
+    final InputStream stream)
+    throws BTException
+  {
+    return this.parse(inSource, stream, null);
+  }
+
+  /**
+   * Parse a document.
+   *
+   * @param inSource  The source URI
+   * @param stream    The input stream
+   * @param sink      A receiver of errors, or {@code null} if errors should
+   *                  be collected into the raised exception
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  public T parse(
+    final URI inSource,
+    final InputStream stream,
+    final Consumer<? super BTParseError> sink)
+    throws BTException
+  {
+    Objects.requireNonNull(inSource, "source");
+    Objects.requireNonNull(stream, "stream");
+
+    this.errorSink = sink;
+
+    final var observation = BTParseObservation.begin(stream);
+    try {
+      return this.parseStream(inSource, observation.input());
+    } catch (final BTException e) {
+      observation.fail(e.errorCode());
+      throw e;
+    } finally {
+      this.errorSink = null;
+      observation.end(inSource, this.counters);
+    }
+  }
+
+  private T parseStream(
+    final URI inSource,
+    final InputStream stream)
+    throws BTException
+  {
+    XMLStreamReader reader = null;
+    try {
+      synchronized (this.inputs) {
+        reader = this.inputs.createXMLStreamReader(
+          inSource.toString(),
+          stream
+        );
+      }
+      return this.parseReader(inSource, reader);
+    } catch (final XMLStreamException e) {
+      throw this.streamError(inSource, e);
+    } finally {
+      this.errors.clear();
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (final XMLStreamException e) {
+          LOG.debug("close: ", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Parse a document from a reader positioned at the start of the document.
+   *
+   * @param inSource The source URI
+   * @param reader   The stream reader
+   *
+   * @return The parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  public T parse(
+    final URI inSource,
+    final XMLStreamReader reader)
+    throws BTException
+  {
+    Objects.requireNonNull(inSource, "source");
+    Objects.requireNonNull(reader, "reader");
+
+    this.errorSink = null;
+
+    final var observation = BTParseObservation.begin();
+    try {
+      return this.parseReader(inSource, reader);
+    } catch (final BTException e) {
+      observation.fail(e.errorCode());
+      throw e;
+    } finally {
+      observation.end(inSource, this.counters);
+    }
+  }
+
+  private BTHandlerProfilerType profiler()
+  {
+    if (this.profiler == null) {
+      return BTHandlerProfilers.none();
+    }
+    return this.profiler;
+  }
+
+  private void profileStart()
+  {
+    if (this.profiler != null) {
+      this.profiler.reset();
+    }
+  }
+
+  private void profilePublish()
+  {
+    if (this.profiler != null) {
+      this.profiles.get().accept(this.profiler.snapshot());
+    }
+  }
+
+  private void receive(
+    final BTParseError error)
+  {
+    if (BTMetrics.isEnabled()) {
+      BTMetrics.get().recordError(error.errorCode());
+    }
+
+    final var sink = this.errorSink;
+    if (sink == null) {
+      this.errors.add(error);
+    } else {
+      sink.accept(error);
+    }
+  }
+
+  private Map<String, String> suppressedAttributes()
+  {
+    final var suppressed = this.errorFilter.suppressed();
+    if (suppressed == 0) {
+      return Map.of();
+    }
+    return Map.of("Suppressed Errors", Integer.toString(suppressed));
+  }
+
+  private T parseReader(
+    final URI inSource,
+    final XMLStreamReader reader)
+    throws BTException
+  {
+    this.source = Objects.requireNonNull(inSource, "source");
+    Objects.requireNonNull(reader, "reader");
+
+    this.errors.clear();
+    this.errorFilter.reset();
+    this.failed = false;
+    this.locator.setReader(reader, inSource.toString());
+    this.attributes.setReader(reader);
+
+    if (this.stackHandler == null) {
+      this.stackHandler =
+        new BTStackHandler<>(
+          this.locator,
+          this.preserveLexical,
+          this.grammar,
+          this.counters,
+          this.profiler()
+        );
+    }
+    this.stackHandler.reset(this.locator, this.source);
+    this.counters.reset();
+    this.profileStart();
+
+    final var timed = this.statistics.isPresent();
+    if (timed) {
+      this.counters.timeStart();
+    }
+
+    try {
+      return this.runChecked(inSource, reader);
+    } finally {
+      if (timed) {
+        this.counters.timeEnd();
+        this.statistics.get().accept(this.counters.snapshot());
+      }
+      this.profilePublish();
+      this.errors.clear();
+      this.stackHandler.release();
+    }
+  }
+
+  private T runChecked(
+    final URI inSource,
+    final XMLStreamReader reader)
+    throws BTException
+  {
+    try {
+      this.run(reader);
+
+      final var resultOpt = this.stackHandler.result();
+      if (resultOpt.isEmpty() || this.failed) {
+        throw new BTException(
+          "Parsing failed.",
+          "parse-failed",
+          this.suppressedAttributes(),
+          this.errors
+        );
+      }
+
+      return resultOpt.get();
+    } catch (final BTException e) {
+      throw e;
+    } catch (final BTErrorLimitException e) {
+      LOG.debug("error limit reached: ", e);
+
+      throw new BTException(
+        e.getMessage(),
+        e,
+        "error-limit-reached",
+        this.suppressedAttributes(),
+        Optional.empty(),
+        this.errors
+      );
+    } catch (final XMLStreamException e) {
+      this.counters.onError();
+      throw this.streamError(inSource, e);
+    } catch (final Exception e) {
+      LOG.debug("exception encountered during parsing: ", e);
+
+      /*
+       * The parse did not simply produce errors, so the handlers may have
+       * been left in an unknown state.
+       */
+
+      this.reusable = false;
+
+      final var position =
+        LexicalPosition.of(-1, -1, Optional.of(inSource));
+
+      final var mainError =
+        new BTParseError(
+          position,
+          BTParseError.Severity.ERROR,
+          "exception",
+          e.getMessage(),
+          Map.of(),
+          Optional.empty(),
+          Optional.of(e)
+        );
+
+      this.receive(mainError);
+
+      throw new BTException(
+        e.getMessage(),
+        e,
+        mainError.errorCode(),
+        mainError.attributes(),
+        mainError.remediatingAction(),
+        this.errors
+      );
+    }
+  }
+
+  private void run(
+    final XMLStreamReader reader)
+    throws XMLStreamException, BTErrorLimitException
+  {
+    int depth = 0;
+    boolean rootClosed = false;
+    while (reader.hasNext()) {
+      if (this.errorFilter.limitReached()) {
+        throw new BTErrorLimitException(
+          this.errorFilter.observed(),
+          this.locator);
+      }
+
+      switch (reader.next()) {
+        case START_ELEMENT: {
+          if (depth == 0 && rootClosed) {
+            throw new XMLStreamException(
+              "The markup in the document following the root element must be well-formed.",
+              reader.getLocation()
+            );
+          }
+          ++depth;
+          this.onElementStarted(reader);
+          break;
+        }
+        case END_ELEMENT: {
+          --depth;
+          this.onElementFinished(reader);
+          if (depth == 0) {
+            rootClosed = true;
+          }
+          break;
+        }
+        case CHARACTERS:
+        case CDATA: {
+          if (depth == 0) {
+            if (!reader.isWhiteSpace()) {
+              throw new XMLStreamException(
+                "Content is not allowed in trailing section.",
+                reader.getLocation()
+              );
+            }
+            break;
+          }
+          this.onCharacters(reader);
+          break;
+        }
+        default: {
+          break;
+        }
+      }
+    }
+  }
+
+  private static String namespaceOf(
+    final XMLStreamReader reader)
+  {
+    final var namespace = reader.getNamespaceURI();
+    return namespace == null ? "" : namespace;
+  }
+
+  private void onElementStarted(
+    final XMLStreamReader reader)
+  {
+    try {
+      this.stackHandler.onElementStarted(
+        namespaceOf(reader),
+        reader.getLocalName(),
+        this.attributes
+      );
+    } catch (final SAXParseException e) {
+      this.error(e);
+    } catch (final Exception e) {
+      this.error(this.saxParseExceptionOf(e));
+    }
+  }
+
+  private void onElementFinished(
+    final XMLStreamReader reader)
+  {
+    try {
+      this.stackHandler.onElementFinished(
+        namespaceOf(reader),
+        reader.getLocalName()
+      );
+    } catch (final SAXParseException e) {
+      this.error(e);
+    } catch (final Exception e) {
+      this.error(this.saxParseExceptionOf(e));
+    }
+  }
+
+  private void onCharacters(
+    final XMLStreamReader reader)
+  {
+    try {
+      this.stackHandler.onCharacters(
+        reader.getTextCharacters(),
+        reader.getTextStart(),
+        reader.getTextLength()
+      );
+    } catch (final SAXParseException e) {
+      this.error(e);
+    } catch (final Exception e) {
+      this.error(this.saxParseExceptionOf(e));
+    }
+  }
+
+  private void error(
+    final SAXParseException e)
+  {
+    this.failed = true;
+    this.counters.onError();
+
+    final boolean admitted;
+    if (e instanceof BTPositionedParseException) {
+      admitted = this.errorFilter.admit(
+        "sax-error", e.getLineNumber(), e.getColumnNumber());
+    } else {
+      admitted = this.errorFilter.admit(
+        "sax-error",
+        this.locator.getLineNumber(),
+        this.locator.getColumnNumber());
+    }
+
+    if (admitted) {
+      LOG.debug("parse exception: ", e);
+      this.receive(
+        new BTParseError(
+          this.lexicalOf(e),
+          BTParseError.Severity.ERROR,
+          "sax-error",
+          BTContentHandler.messageOrException(e),
+          Map.of(),
+          Optional.empty(),
+          Optional.of(e)
+        )
+      );
+    }
+  }
+
+  private BTException streamError(
+    final URI inSource,
+    final XMLStreamException e)
+  {
+    LOG.debug("error encountered during parsing: ", e);
+
+    final var location = e.getLocation();
+    final LexicalPosition<URI> position;
+    if (location != null) {
+      position = LexicalPosition.of(
+        location.getLineNumber(),
+        location.getColumnNumber(),
+        Optional.of(inSource)
+      );
+    } else {
+      position = LexicalPosition.of(-1, -1, Optional.of(inSource));
+    }
+
+    final var mainError =
+      new BTParseError(
+        position,
+        BTParseError.Severity.ERROR,
+        "stax-parse-error",
+        e.getMessage(),
+        Map.of(),
+        Optional.empty(),
+        Optional.of(e)
+      );
+
+    this.receive(mainError);
+
+    return new BTException(
+      e.getMessage(),
+      e,
+      mainError.errorCode(),
+      mainError.attributes(),
+      mainError.remediatingAction(),
+      this.errors
+    );
+  }
+
+  private LexicalPosition<URI> lexicalOf(
+    final SAXParseException e)
+  {
+    if (e instanceof BTPositionedParseException) {
+      return LexicalPosition.<URI>builder()
+        .setColumn(e.getColumnNumber())
+        .setLine(e.getLineNumber())
+        .setFile(this.source)
+        .build();
+    }
+    return this.currentLexical();
+  }
+
+  private LexicalPosition<URI> currentLexical()
+  {
+    return LexicalPosition.<URI>builder()
+      .setColumn(this.locator.getColumnNumber())
+      .setLine(this.locator.getLineNumber())
+      .setFile(this.source)
+      .build();
+  }
+
+  private SAXParseException saxParseExceptionOf(
+    final Exception e)
+  {
+    return new BTLazyParseException(e::getLocalizedMessage, this.locator, e);
+  }
+
+  /**
+   * @return {@code true} if any parse errors were encountered in the most
+   * recent parse
+   */
+
+  public boolean failed()
+  {
+    return this.failed;
+  }
+}
@@ -17,13 +17,22 @@
 
 package com.io7m.blackthorne.core.internal;
 
+import com.io7m.blackthorne.core.BTAttributeSlotsHandlerType;
+import com.io7m.blackthorne.core.BTDoubleConsumerType;
+import com.io7m.blackthorne.core.BTDoubleProducerType;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
 import com.io7m.blackthorne.core.BTElementHandlerType;
 import com.io7m.blackthorne.core.BTElementParsingContextType;
-import com.io7m.blackthorne.core.BTMessages;
+import com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements;
+import com.io7m.blackthorne.core.BTIntConsumerType;
+import com.io7m.blackthorne.core.BTIntProducerType;
+import com.io7m.blackthorne.core.BTLexicalPositions;
+import com.io7m.blackthorne.core.BTLongConsumerType;
+import com.io7m.blackthorne.core.BTLongProducerType;
 import com.io7m.blackthorne.core.BTPreserveLexical;
 import com.io7m.blackthorne.core.BTQualifiedName;
 import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.jlexing.core.LexicalPosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
@@ -31,11 +40,10 @@ import org.xml.sax.SAXParseException;
 import org.xml.sax.ext.Locator2;
 
 import java.net.URI;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * A stack-based SAX handler.
@@ -53,37 +61,193 @@ import java.util.stream.Collectors;
 public final class BTStackHandler<T>
 {
   private static final Logger LOG = LoggerFactory.getLogger(BTStackHandler.class);
-  private final LinkedList<StackElement> stack;
-  private final Context context;
-  private final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootHandlers;
+  private static final int INITIAL_STACK_CAPACITY = 16;
+
+  private Context context;
+  private final BTGrammar<T> grammar;
+  private final BTQualifiedNameTable names;
+  private final BTPreserveLexical preserveLexical;
+  private BTQualifiedName[] stackNames;
+  private BTElementHandlerType<?, ?>[] stackHandlers;
+  private BTElementHandlerConstructorType<?, ?>[] stackConstructors;
+  private int[] stackStates;
+  private final BTHandlerPool pool;
+  private final BTAttributeSlotArray attributeSlots;
+  private int stackSize;
+  private BTStackTracerType tracer;
+  private final BTParseCounters counters;
+  private final BTHandlerProfilerType profiler;
   private boolean failed;
   private T result;
 
   /**
    * Construct a new stack handler.
    *
-   * @param locator2        The underlying document locator
-   * @param preserveLexical Whether to preserve lexical information
-   * @param inRootHandlers  A set of root element handlers
+   * @param locator2          The underlying document locator
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inGrammar         The grammar
    */
 
   public BTStackHandler(
     final Locator2 locator2,
-    final BTPreserveLexical preserveLexical,
+    final BTPreserveLexical inPreserveLexical,
+    final BTGrammar<T> inGrammar)
+  {
+    this(locator2, inPreserveLexical, inGrammar, new BTParseCounters());
+  }
+
+  /**
+   * Construct a new stack handler.
+   *
+   * @param locator2          The underlying document locator
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inGrammar         The grammar
+   * @param inCounters        The counters updated during parsing; the
+   *                          counters are reset by their owner, not by
+   *                          this handler
+   */
+
+  public BTStackHandler(
+    final Locator2 locator2,
+    final BTPreserveLexical inPreserveLexical,
+    final BTGrammar<T> inGrammar,
+    final BTParseCounters inCounters)
+  {
+    this(
+      locator2,
+      inPreserveLexical,
+      inGrammar,
+      inCounters,
+      BTHandlerProfilers.none()
+    );
+  }
+
+  /**
+   * Construct a new stack handler.
+   *
+   * @param locator2          The underlying document locator
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inGrammar         The grammar
+   * @param inCounters        The counters updated during parsing; the
+   *                          counters are reset by their owner, not by
+   *                          this handler
+   * @param inProfiler        The profiler informed of handler callbacks; the
+   *                          profiler is reset by its owner, not by this
+   *                          handler
+   */
+
+  public BTStackHandler(
+    final Locator2 locator2,
+    final BTPreserveLexical inPreserveLexical,
+    final BTGrammar<T> inGrammar,
+    final BTParseCounters inCounters,
+    final BTHandlerProfilerType inProfiler)
+  {
+    this.stackNames = new BTQualifiedName[INITIAL_STACK_CAPACITY];
+    this.stackHandlers = new BTElementHandlerType<?, ?>[INITIAL_STACK_CAPACITY];
+    this.stackConstructors = new BTElementHandlerConstructorType<?, ?>[INITIAL_STACK_CAPACITY];
+    this.stackStates = new int[INITIAL_STACK_CAPACITY];
+    this.stackSize = 0;
+    this.pool = new BTHandlerPool();
+    this.attributeSlots = new BTAttributeSlotArray();
+    this.counters = Objects.requireNonNull(inCounters, "counters");
+    this.profiler = Objects.requireNonNull(inProfiler, "profiler");
+    this.grammar = Objects.requireNonNull(inGrammar, "grammar");
+    this.names = inGrammar.names();
+    this.preserveLexical =
+      Objects.requireNonNull(inPreserveLexical, "preserveLexical");
+    this.context = new Context(locator2, inPreserveLexical, null);
+    this.tracer = BTStackTracers.standard();
+  }
+
+  /**
+   * Construct a new stack handler.
+   *
+   * @param locator2          The underlying document locator
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inRootHandlers    A set of root element handlers
+   * @param inNames           The table used to resolve element names
+   */
+
+  public BTStackHandler(
+    final Locator2 locator2,
+    final BTPreserveLexical inPreserveLexical,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> inRootHandlers,
+    final BTQualifiedNameTable inNames)
+  {
+    this(
+      locator2,
+      inPreserveLexical,
+      BTGrammar.dynamic(inRootHandlers, inNames)
+    );
+  }
+
+  /**
+   * Construct a new stack handler.
+   *
+   * @param locator2          The underlying document locator
+   * @param inPreserveLexical Whether to preserve lexical information
+   * @param inRootHandlers    A set of root element handlers
+   */
+
+  public BTStackHandler(
+    final Locator2 locator2,
+    final BTPreserveLexical inPreserveLexical,
     final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> inRootHandlers)
   {
-    this.stack = new LinkedList<>();
-    this.rootHandlers = Objects.requireNonNull(inRootHandlers, "rootHandlers");
-    this.context = new Context(locator2, preserveLexical);
+    this(
+      locator2,
+      inPreserveLexical,
+      inRootHandlers,
+      BTQualifiedNameTable.of(inRootHandlers.keySet())
+    );
   }
 
-  private static String handlerNames(
-    final Map<BTQualifiedName, ?> childHandlers)
+  /**
+   * Reset the handler so that it can be used to parse another document.
+   * Handlers pooled during earlier parses are discarded, as handlers may only
+   * be reused for the remainder of the parse in which they were created.
+   * Tracing is enabled for the parse only if {@code TRACE} logging is enabled
+   * at the time of the call.
+   *
+   * @param locator2 The underlying document locator
+   * @param source   The URI of the document
+   */
+
+  public void reset(
+    final Locator2 locator2,
+    final URI source)
+  {
+    this.release();
+    this.failed = false;
+    this.context = new Context(locator2, this.preserveLexical, source);
+    this.tracer = BTStackTracers.standard();
+  }
+
+  /**
+   * Release everything retained from the most recent parse: the result, any
+   * handlers left on the stack by a failed parse, and the pooled handlers.
+   * Owners call this at the end of each parse so that an idle handler does
+   * not keep the last document alive.
+   */
+
+  public void release()
   {
-    return childHandlers.keySet()
-      .stream()
-      .map(BTQualifiedName::localName)
-      .collect(Collectors.joining("|"));
+    Arrays.fill(this.stackNames, 0, this.stackSize, null);
+    Arrays.fill(this.stackHandlers, 0, this.stackSize, null);
+    Arrays.fill(this.stackConstructors, 0, this.stackSize, null);
+    this.stackSize = 0;
+    this.result = null;
+    this.pool.clear();
+  }
+
+  /**
+   * @return The counters for the current parse
+   */
+
+  public BTParseCounters counters()
+  {
+    return this.counters;
   }
 
   /**
@@ -95,25 +259,79 @@ public final class BTStackHandler<T>
     return Optional.ofNullable(this.result);
   }
 
-  private void trace(
-    final String format,
-    final Object... args)
+  /**
+   * @return The current depth of the stack
+   */
+
+  public int depth()
   {
-    if (LOG.isTraceEnabled()) {
-      final var stackElement = this.stack.peek();
-      String name = null;
-      if (stackElement != null) {
-        name = stackElement.element.localName();
+    return this.stackSize;
+  }
+
+  /**
+   * Count the slots above the top of the stack that still refer to an
+   * element, handler, or constructor. Popping clears slots, and so this is
+   * always zero; it is exposed so that tests can check that finished
+   * handlers are not retained by the stack.
+   *
+   * @return The number of stale slots
+   */
+
+  public int staleSlots()
+  {
+    int count = 0;
+    for (int index = this.stackSize; index < this.stackNames.length; ++index) {
+      if (this.stackNames[index] != null
+          || this.stackHandlers[index] != null
+          || this.stackConstructors[index] != null) {
+        ++count;
       }
+    }
+    return count;
+  }
+
+*
+   * Push an element onto the stack. The stack storage is only reallocated
+   * when the document is deeper than any document previously seen by this
+   * handler.
+   */
 
-      LOG.trace(
-        "[{}][{}]: {}",
-        name,
-        Integer.valueOf(this.stack.size()),
-        String.format(format, args));
+  private void stackPush(
+    final BTQualifiedName name,
+    final BTElementHandlerConstructorType<?, ?> constructor,
+    final BTElementHandlerType<?, ?> handler,
+    final int state)
+  {
+    final var index = this.stackSize;
+    if (index == this.stackNames.length) {
+      final var capacity = index * 2;
+      this.stackNames = Arrays.copyOf(this.stackNames, capacity);
+      this.stackHandlers = Arrays.copyOf(this.stackHandlers, capacity);
+      this.stackConstructors = Arrays.copyOf(this.stackConstructors, capacity);
+      this.stackStates = Arrays.copyOf(this.stackStates, capacity);
     }
+
+    this.stackNames[index] = name;
+    this.stackHandlers[index] = handler;
+    this.stackConstructors[index] = constructor;
+    this.stackStates[index] = state;
+    this.stackSize = index + 1;
+    this.counters.onPush(this.stackSize, handler == null);
   }
 
+  /**
+   * Pop the topmost element from the stack, clearing the slot so that the
+   * stack does not retain finished handlers.
+   */
+
+  private void stackPop()
+  {
+    final var index = this.stackSize - 1;
+    this.stackNames[index] = null;
+    this.stackHandlers[index] = null;
+    this.stackConstructors[index] = null;
+    this.stackSize = index;
+  }
 
   /**
    * An XML element has started.
@@ -140,34 +358,25 @@ public final class BTStackHandler<T>
         return;
       }
 
-      final var qualifiedName =
-        new BTQualifiedName(URI.create(namespaceURI), localName);
+      this.counters.onElement();
+
+      /*
+       * Names are only found here, never interned: a name is interned only
+       * once a handler has accepted it, so that documents cannot fill the
+       * name table with names that no handler will ever accept. Names that
+       * have not been interned are only built where they are needed.
+       */
+
+      final var symbol =
+        this.names.find(namespaceURI, localName);
 
       /*
        * If the handler stack is empty, then try to find a handler suitable for use as a root
        * node. If one doesn't exist, fail.
        */
 
-      if (this.stack.isEmpty()) {
-        this.trace(
-          "creating root handler for %s:%s",
-          qualifiedName.namespaceURI(),
-          qualifiedName.localName());
-
-        final var rootHandlerConstructor = this.rootHandlers.get(qualifiedName);
-        if (rootHandlerConstructor == null) {
-          throw new SAXParseException(
-            BTMessages.format(
-              "errorRootElementNotAllowed",
-              localName,
-              namespaceURI),
-            this.context.documentLocator());
-        }
-
-        final var handler = rootHandlerConstructor.create(this.context);
-        this.trace("pushing root handler %s", handler.name());
-        this.stack.push(new StackElement(qualifiedName, handler));
-        handler.onElementStart(this.context, attributes);
+      if (this.stackSize == 0) {
+        this.onRootElementStarted(namespaceURI, localName, symbol, attributes);
         return;
       }
 
@@ -177,43 +386,62 @@ public final class BTStackHandler<T>
        * the element onto the stack but don't otherwise do anything with it.
        */
 
-      final var topMost = this.stack.peek();
-      final var topMostHandler = topMost.handler;
+      final var topMostIndex = this.stackSize - 1;
+      final var topMostHandler = this.stackHandlers[topMostIndex];
       if (topMostHandler == null) {
-        this.trace("pushing ignored element %s", qualifiedName.localName());
-        this.stack.push(new StackElement(qualifiedName, null));
+        this.pushIgnored(namespaceURI, localName, symbol);
         return;
       }
 
       /*
-       * If there is a handler on top of the stack, then ask it for child element handlers.
-       */
-
-      final var childHandlers =
-        topMostHandler.onChildHandlersRequested(this.context);
-      final var childHandlerConstructor =
-        childHandlers.get(qualifiedName);
-
-      /*
-       * If the handler didn't provide a child element handler that can handle the current
-       * element, and isn't prepared to ignore child elements, then fail.
+       * If the topmost element is in a static state of a compiled grammar, then
+       * the child handler can be found directly in the transition table.
+       * Otherwise, ask the handler for child element handlers.
        */
 
-      if (childHandlerConstructor == null) {
-        switch (topMostHandler.onShouldIgnoreUnrecognizedElements(this.context)) {
-          case IGNORE_UNRECOGNIZED_ELEMENTS: {
-            this.trace("pushing ignored element %s", qualifiedName.localName());
-            this.stack.push(new StackElement(qualifiedName, null));
-            return;
-          }
-          case DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS: {
-            throw this.errorUnrecognizedElement(
-              namespaceURI,
-              localName,
-              topMostHandler,
-              (Map<BTQualifiedName, BTElementHandlerConstructorType<?, ?>>) childHandlers
-            );
-          }
+      final var topMostState = this.stackStates[topMostIndex];
+      final BTElementHandlerConstructorType<?, ?> childHandlerConstructor;
+      final int childState;
+      final BTQualifiedName qualifiedName;
+
+      if (topMostState != BTGrammar.NO_STATE
+          && this.grammar.isStatic(topMostState)) {
+        childState = this.grammar.transition(topMostState, symbol.index());
+        if (childState == BTGrammar.NO_STATE) {
+          this.onUnrecognizedChild(
+            namespaceURI,
+            localName,
+            symbol,
+            topMostHandler,
+            this.grammar.ignoreUnrecognized(topMostState),
+            this.grammar.childHandlers(topMostState)
+          );
+          return;
+        }
+        childHandlerConstructor = this.grammar.constructor(childState);
+        qualifiedName = symbol.name();
+      } else {
+        final var childHandlers =
+          topMostHandler.onChildHandlersRequested(this.context);
+
+        final var name = this.nameOf(namespaceURI, localName, symbol);
+        childHandlerConstructor = childHandlers.get(name);
+        if (childHandlerConstructor == null) {
+          this.onUnrecognizedChild(
+            namespaceURI,
+            localName,
+            symbol,
+            topMostHandler,
+            topMostHandler.onShouldIgnoreUnrecognizedElements(this.context),
+            childHandlers
+          );
+          return;
+        }
+        childState = this.grammar.stateOf(childHandlerConstructor);
+        if (symbol == BTQualifiedNameTable.UNKNOWN) {
+          qualifiedName = this.names.intern(name);
+        } else {
+          qualifiedName = name;
         }
       }
 
@@ -222,48 +450,212 @@ public final class BTStackHandler<T>
        * element started.
        */
 
+      this.profiler.open(this.stackSize);
       final var newHandler =
-        Objects.requireNonNull(
-            childHandlerConstructor,
-            "childHandlerConstructor")
-          .create(this.context);
-
-      Objects.requireNonNull(newHandler, "newHandler");
-      this.trace("pushing handler %s", newHandler.name());
-      this.stack.push(new StackElement(qualifiedName, newHandler));
-      newHandler.onElementStart(this.context, attributes);
+        this.handlerCreate(qualifiedName, childHandlerConstructor);
+
+      this.stackPush(
+        qualifiedName,
+        childHandlerConstructor,
+        newHandler,
+        childState
+      );
+      this.tracer.onPush(this.stackSize, qualifiedName, newHandler);
+      this.handlerStart(qualifiedName, newHandler, attributes);
     } catch (final Exception e) {
       this.failed = true;
       throw e;
     }
   }
 
-  private SAXParseException errorUnrecognizedElement(
+  private void onRootElementStarted(
     final String namespaceURI,
     final String localName,
+    final BTQualifiedNameSymbol symbol,
+    final Attributes attributes)
+    throws Exception
+  {
+    final var qualifiedName = this.nameOf(namespaceURI, localName, symbol);
+    this.tracer.onRootStart(qualifiedName);
+
+    final BTElementHandlerConstructorType<?, ?> rootHandlerConstructor;
+    final int rootState;
+    if (this.grammar.isCompiled()) {
+      rootState = this.grammar.rootTransition(symbol.index());
+      if (rootState == BTGrammar.NO_STATE) {
+        rootHandlerConstructor = null;
+      } else {
+        rootHandlerConstructor = this.grammar.constructor(rootState);
+      }
+    } else {
+      rootState = BTGrammar.NO_STATE;
+      rootHandlerConstructor = this.grammar.rootHandlers().get(qualifiedName);
+    }
+
+    if (rootHandlerConstructor == null) {
+      throw BTLazyParseException.ofResource(
+        this.context.documentLocator(),
+        "errorRootElementNotAllowed",
+        localName,
+        namespaceURI);
+    }
+
+    /*
+     * The root is only recorded once it is known to be allowed, as the root
+     * name keys process-wide metrics that are never evicted.
+     */
+
+    this.counters.onRoot(qualifiedName);
+    this.profiler.open(this.stackSize);
+    final var handler =
+      this.handlerCreate(qualifiedName, rootHandlerConstructor);
+    this.stackPush(qualifiedName, rootHandlerConstructor, handler, rootState);
+    this.tracer.onPush(this.stackSize, qualifiedName, handler);
+    this.handlerStart(qualifiedName, handler, attributes);
+  }
+
+  /**
+   * Tell a handler that an element started, resolving the attributes into
+   * slots if the handler declared the attributes it needs.
+   */
+
+  private void handlerStart(
+    final BTQualifiedName name,
+    final BTElementHandlerType<?, ?> handler,
+    final Attributes attributes)
+    throws Exception
+  {
+    if (handler instanceof final BTAttributeSlotsHandlerType slotted) {
+      final var slots = slotted.attributeSlots();
+      final var unrecognized = this.attributeSlots.resolve(slots, attributes);
+      if (unrecognized >= 0) {
+        throw BTAttributeSlotArray.errorUnrecognized(
+          this.context, handler, slots, attributes, unrecognized);
+      }
+      this.profiler.enter();
+      slotted.onElementStartSlots(this.context, this.attributeSlots);
+      this.profiler.exit(name, handler);
+      return;
+    }
+    this.profiler.enter();
+    handler.onElementStart(this.context, attributes);
+    this.profiler.exit(name, handler);
+  }
+
+  /**
+   * Obtain a handler from the given constructor, reusing a handler that was
+   * previously reset if one is available.
+   */
+
+  private BTElementHandlerType<?, ?> handlerCreate(
+    final BTQualifiedName name,
+    final BTElementHandlerConstructorType<?, ?> constructor)
+    throws Exception
+  {
+    final var pooled = this.pool.take(constructor);
+    if (pooled != null) {
+      return pooled;
+    }
+    this.counters.onHandlerCreated();
+    this.profiler.enter();
+    final var handler =
+      Objects.requireNonNull(constructor.create(this.context), "newHandler");
+    this.profiler.exit(name, handler);
+    return handler;
+  }
+
+  /**
+   * The handler didn't provide a child element handler that can handle the current
+   * element. If it isn't prepared to ignore child elements, then fail.
+   */
+
+  private void onUnrecognizedChild(
+    final String namespaceURI,
+    final String localName,
+    final BTQualifiedNameSymbol symbol,
     final BTElementHandlerType<?, ?> topMostHandler,
-    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ?>> childHandlers)
+    final BTIgnoreUnrecognizedElements ignore,
+    final Map<BTQualifiedName, ?> childHandlers)
+    throws SAXParseException
   {
-    final var ex =
-      new SAXParseException(
-        BTMessages.format(
-          "errorHandlerUnrecognizedElement",
-          topMostHandler.getClass().getCanonicalName(),
+    switch (ignore) {
+      case IGNORE_UNRECOGNIZED_ELEMENTS: {
+        this.pushIgnored(namespaceURI, localName, symbol);
+        return;
+      }
+      case DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS: {
+        throw this.errorUnrecognizedElement(
           namespaceURI,
           localName,
-          handlerNames(childHandlers)),
-        this.context.documentLocator()
+          topMostHandler,
+          childHandlers
+        );
+      }
+    }
+  }
+
+  /**
+   * Resolve the name of an element, building it if it has not been interned.
+   */
+
+  private BTQualifiedName nameOf(
+    final String namespaceURI,
+    final String localName,
+    final BTQualifiedNameSymbol symbol)
+  {
+    if (symbol == BTQualifiedNameTable.UNKNOWN) {
+      return this.names.nameOf(namespaceURI, localName);
+    }
+    return symbol.name();
+  }
+
+  /**
+   * Push an ignored element. The names of ignored elements are only ever
+   * observed by the tracer, so the names of elements that have not been
+   * interned are only built when tracing.
+   */
+
+  private void pushIgnored(
+    final String namespaceURI,
+    final String localName,
+    final BTQualifiedNameSymbol symbol)
+  {
+    final BTQualifiedName name;
+    if (this.tracer == BTStackTracers.none()) {
+      name = symbol.name();
+    } else {
+      name = this.nameOf(namespaceURI, localName, symbol);
+    }
+    this.stackPush(name, null, null, BTGrammar.NO_STATE);
+    this.tracer.onPush(this.stackSize, name, null);
+  }
+
+  private SAXParseException errorUnrecognizedElement(
+    final String namespaceURI,
+    final String localName,
+    final BTElementHandlerType<?, ?> topMostHandler,
+    final Map<BTQualifiedName, ?> childHandlers)
+  {
+    final var ex =
+      BTLazyParseException.ofResource(
+        this.context.documentLocator(),
+        "errorHandlerUnrecognizedElement",
+        topMostHandler.getClass().getCanonicalName(),
+        namespaceURI,
+        localName,
+        BTLazyParseException.localNames(childHandlers.keySet())
       );
 
     if (LOG.isDebugEnabled()) {
       LOG.debug("", ex);
       LOG.debug("Handler: {}", topMostHandler.name());
 
-      for (int index = 0; index < this.stack.size(); ++index) {
+      for (int index = 0; index < this.stackSize; ++index) {
+        final var handler = this.stackHandlers[this.stackSize - 1 - index];
         LOG.debug(
           "Stack [{}]: {}",
           Integer.valueOf(index),
-          this.stack.get(index).handler.name()
+          handler == null ? null : handler.name()
         );
       }
     }
@@ -295,19 +687,21 @@ public final class BTStackHandler<T>
       }
 
       Preconditions.checkPrecondition(
-        !this.stack.isEmpty(),
+        this.stackSize > 0,
         "Handler stack cannot be empty");
 
-      final var topMost = this.stack.peek();
-
       @SuppressWarnings("unchecked") final var topMostHandler =
-        (BTElementHandlerType<Object, Object>) topMost.handler;
+        (BTElementHandlerType<Object, Object>)
+          this.stackHandlers[this.stackSize - 1];
 
       if (topMostHandler == null) {
         return;
       }
 
+      this.counters.onCharacters(length);
+      this.profiler.enter();
       topMostHandler.onCharacters(this.context, data, offset, length);
+      this.profiler.exit(this.stackNames[this.stackSize - 1], topMostHandler);
     } catch (final Exception e) {
       this.failed = true;
       throw e;
@@ -337,35 +731,51 @@ public final class BTStackHandler<T>
       }
 
       Preconditions.checkPrecondition(
-        !this.stack.isEmpty(),
+        this.stackSize > 0,
         "Handler stack cannot be empty");
 
-      final var topMost = this.stack.peek();
-
       @SuppressWarnings("unchecked") final var topMostHandler =
-        (BTElementHandlerType<Object, Object>) topMost.handler;
+        (BTElementHandlerType<Object, Object>)
+          this.stackHandlers[this.stackSize - 1];
 
       if (topMostHandler == null) {
-        this.trace("popping ignored element %s", topMost.element.localName());
-        this.stack.pop();
+        this.tracer.onPop(
+          this.stackSize, this.stackNames[this.stackSize - 1], null);
+        this.stackPop();
+        return;
+      }
+
+      final var topMostConstructor =
+        this.stackConstructors[this.stackSize - 1];
+      final var topMostName =
+        this.stackNames[this.stackSize - 1];
+
+      if (this.finishPrimitive(topMostHandler, topMostConstructor)) {
         return;
       }
 
+      this.profiler.enter();
+      final var event = BTHandlerFinishedEvent.beginIfEnabled();
       final var childResult = topMostHandler.onElementFinished(this.context);
-      this.trace("popping element with handler %s", topMostHandler.name());
-      this.stack.pop();
+      if (event != null) {
+        event.finish(topMostName, topMostHandler);
+      }
+      this.profiler.exit(topMostName, topMostHandler);
+      this.popAndRecycle(topMostHandler, topMostConstructor);
 
-      final var parentElement = this.stack.peek();
-      if (parentElement == null) {
+      if (this.stackSize == 0) {
         @SuppressWarnings("unchecked") final var castResult = (T) childResult;
         this.result = castResult;
         return;
       }
 
       @SuppressWarnings("unchecked") final var parentHandler =
-        (BTElementHandlerType<Object, Object>) parentElement.handler;
+        (BTElementHandlerType<Object, Object>)
+          this.stackHandlers[this.stackSize - 1];
       if (parentHandler != null) {
+        this.profiler.enter();
         parentHandler.onChildValueProduced(this.context, childResult);
+        this.profiler.exit(this.stackNames[this.stackSize - 1], parentHandler);
         return;
       }
     } catch (final Exception e) {
@@ -374,17 +784,90 @@ public final class BTStackHandler<T>
     }
   }
 
-  private static final class StackElement
+  /**
+   * Finish the topmost element by passing a primitive value directly from
+   * its handler to the parent handler, if both handlers support it. The
+   * event times only the child handler's production of the value. Events are
+   * created only in the branch that uses them, so that they never escape
+   * into this method's callers and can be eliminated when JFR is off.
+   *
+   * @return {@code true} if the element was finished
+   */
+
+  private boolean finishPrimitive(
+    final BTElementHandlerType<?, ?> child,
+    final BTElementHandlerConstructorType<?, ?> constructor)
+    throws Exception
   {
-    private final BTQualifiedName element;
-    private final BTElementHandlerType<?, ?> handler;
+    if (this.stackSize < 2) {
+      return false;
+    }
 
-    StackElement(
-      final BTQualifiedName inElement,
-      final BTElementHandlerType<?, ?> inHandler)
-    {
-      this.element = Objects.requireNonNull(inElement, "element");
-      this.handler = inHandler;
+    final var parent = this.stackHandlers[this.stackSize - 2];
+    final var parentName = this.stackNames[this.stackSize - 2];
+    final var childName = this.stackNames[this.stackSize - 1];
+    return switch (child) {
+      case final BTIntProducerType producer
+        when parent instanceof final BTIntConsumerType consumer -> {
+        this.profiler.enter();
+        final var event = BTHandlerFinishedEvent.beginIfEnabled();
+        final var value = producer.onElementFinishedInt(this.context);
+        if (event != null) {
+          event.finish(childName, child);
+        }
+        this.profiler.exit(childName, child);
+        this.popAndRecycle(child, constructor);
+        this.profiler.enter();
+        consumer.onChildIntProduced(this.context, value);
+        this.profiler.exit(parentName, parent);
+        yield true;
+      }
+      case final BTLongProducerType producer
+        when parent instanceof final BTLongConsumerType consumer -> {
+        this.profiler.enter();
+        final var event = BTHandlerFinishedEvent.beginIfEnabled();
+        final var value = producer.onElementFinishedLong(this.context);
+        if (event != null) {
+          event.finish(childName, child);
+        }
+        this.profiler.exit(childName, child);
+        this.popAndRecycle(child, constructor);
+        this.profiler.enter();
+        consumer.onChildLongProduced(this.context, value);
+        this.profiler.exit(parentName, parent);
+        yield true;
+      }
+      case final BTDoubleProducerType producer
+        when parent instanceof final BTDoubleConsumerType consumer -> {
+        this.profiler.enter();
+        final var event = BTHandlerFinishedEvent.beginIfEnabled();
+        final var value = producer.onElementFinishedDouble(this.context);
+        if (event != null) {
+          event.finish(childName, child);
+        }
+        this.profiler.exit(childName, child);
+        this.popAndRecycle(child, constructor);
+        this.profiler.enter();
+        consumer.onChildDoubleProduced(this.context, value);
+        this.profiler.exit(parentName, parent);
+        yield true;
+      }
+      default -> false;
+    };
+  }
+
+  private void popAndRecycle(
+    final BTElementHandlerType<?, ?> handler,
+    final BTElementHandlerConstructorType<?, ?> constructor)
+  {
+    final var name = this.stackNames[this.stackSize - 1];
+    this.tracer.onPop(this.stackSize, name, handler);
+    this.profiler.close(this.stackSize - 1, name, handler);
+    this.stackPop();
+    this.counters.onValueProduced();
+
+    if (handler.onReset(this.context)) {
+      this.pool.give(constructor, handler);
     }
   }
 
@@ -393,11 +876,15 @@ public final class BTStackHandler<T>
     private final Locator2 locator2;
     private final BTPreserveLexical preserveLexical;
     private final FakeLocator fakeLocator;
+    private final Optional<URI> source;
 
     private Context(
       final Locator2 inLocator,
-      final BTPreserveLexical inPreserveLexical)
+      final BTPreserveLexical inPreserveLexical,
+      final URI inSource)
     {
+      this.source =
+        Optional.ofNullable(inSource);
       this.locator2 =
         Objects.requireNonNull(inLocator, "locator2");
       this.preserveLexical =
@@ -419,7 +906,31 @@ public final class BTStackHandler<T>
     public SAXParseException parseException(
       final Exception e)
     {
-      return new SAXParseException(e.getLocalizedMessage(), this.locator2, e);
+      return new BTLazyParseException(e::getLocalizedMessage, this.locator2, e);
+    }
+
+    @Override
+    public LexicalPosition<URI> lexicalPositionOf(
+      final long position)
+    {
+      return LexicalPosition.of(
+        BTLexicalPositions.line(position),
+        BTLexicalPositions.column(position),
+        this.source
+      );
+    }
+
+    @Override
+    public SAXParseException parseExceptionAt(
+      final long position,
+      final Exception e)
+    {
+      return new BTPositionedParseException(
+        e.getLocalizedMessage(),
+        BTLexicalPositions.line(position),
+        BTLexicalPositions.column(position),
+        e
+      );
     }
   }
 
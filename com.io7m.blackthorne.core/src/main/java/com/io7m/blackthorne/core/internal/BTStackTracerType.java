@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+
+/**
+ * A receiver of stack handler events, used for tracing.
+ *
+ * Arguments are passed as they are, rather than formatted, so that a tracer
+ * that discards events costs nothing beyond the (inlinable) call.
+ */
+
+public interface BTStackTracerType
+{
+  /**
+   * A root handler is about to be created.
+   *
+   * @param element The root element
+   */
+
+  void onRootStart(
+    BTQualifiedName element);
+
+  /**
+   * An element was pushed onto the stack.
+   *
+   * @param depth   The stack depth after the push
+   * @param element The element
+   * @param handler The handler, or {@code null} if the element is ignored
+   */
+
+  void onPush(
+    int depth,
+    BTQualifiedName element,
+    BTElementHandlerType<?, ?> handler);
+
+  /**
+   * An element is about to be popped from the stack.
+   *
+   * @param depth   The stack depth before the pop
+   * @param element The element
+   * @param handler The handler, or {@code null} if the element is ignored
+   */
+
+  void onPop(
+    int depth,
+    BTQualifiedName element,
+    BTElementHandlerType<?, ?> handler);
+}
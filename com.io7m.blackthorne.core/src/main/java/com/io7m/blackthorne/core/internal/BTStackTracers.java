@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The standard stack tracers. Events are logged under the name of
+ * {@link BTStackHandler}, so that the existing logging configuration for
+ * the stack handler continues to control tracing.
+ */
+
+public final class BTStackTracers
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(BTStackHandler.class.getName());
+
+  private static final BTStackTracerType NONE = new None();
+  private static final BTStackTracerType LOGGING = new Logging();
+
+  private BTStackTracers()
+  {
+
+  }
+
+  /**
+   * @return A tracer that discards all events
+   */
+
+  public static BTStackTracerType none()
+  {
+    return NONE;
+  }
+
+  /**
+   * @return A tracer that logs events at {@code TRACE} level
+   */
+
+  public static BTStackTracerType logging()
+  {
+    return LOGGING;
+  }
+
+  /**
+   * Select a tracer: a logging tracer if {@code TRACE} is enabled, and a
+   * tracer that discards all events otherwise.
+   *
+   * @return A tracer
+   */
+
+  public static BTStackTracerType standard()
+  {
+    if (LOG.isTraceEnabled()) {
+      return LOGGING;
+    }
+    return NONE;
+  }
+
+  private static final class None implements BTStackTracerType
+  {
+    None()
+    {
+
+    }
+
+    @Override
+    public void onRootStart(
+      final BTQualifiedName element)
+    {
+
+    }
+
+    @Override
+    public void onPush(
+      final int depth,
+      final BTQualifiedName element,
+      final BTElementHandlerType<?, ?> handler)
+    {
+
+    }
+
+    @Override
+    public void onPop(
+      final int depth,
+      final BTQualifiedName element,
+      final BTElementHandlerType<?, ?> handler)
+    {
+
+    }
+  }
+
+  private static final class Logging implements BTStackTracerType
+  {
+    Logging()
+    {
+
+    }
+
+    private static String handlerName(
+      final BTElementHandlerType<?, ?> handler)
+    {
+      if (handler == null) {
+        return "(ignored)";
+      }
+      return handler.name();
+    }
+
+    @Override
+    public void onRootStart(
+      final BTQualifiedName element)
+    {
+      LOG.trace(
+        "[0]: creating root handler for {}:{}",
+        element.namespaceURI(),
+        element.localName());
+    }
+
+    @Override
+    public void onPush(
+      final int depth,
+      final BTQualifiedName element,
+      final BTElementHandlerType<?, ?> handler)
+    {
+      LOG.trace(
+        "[{}][{}]: pushing handler {}",
+        element.localName(),
+        Integer.valueOf(depth),
+        handlerName(handler));
+    }
+
+    @Override
+    public void onPop(
+      final int depth,
+      final BTQualifiedName element,
+      final BTElementHandlerType<?, ?> handler)
+    {
+      LOG.trace(
+        "[{}][{}]: popping handler {}",
+        element.localName(),
+        Integer.valueOf(depth),
+        handlerName(handler));
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.core.internal;
+
+import com.io7m.blackthorne.core.BTCharacterHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+
+import java.util.Arrays;
+
+/**
+ * A growable buffer into which the text content of an element is
+ * accumulated. XML parsers may deliver the text of a single element in any
+ * number of chunks, and may reuse their own buffers after delivering each
+ * chunk.
+ */
+
+public final class BTTextBuffer
+{
+  private static final char[] EMPTY = new char[0];
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MAXIMUM_RETAINED_CAPACITY = 8192;
+
+  private char[] text;
+  private int length;
+
+  /**
+   * Construct an empty buffer.
+   */
+
+  public BTTextBuffer()
+  {
+    this.text = EMPTY;
+  }
+
+  /**
+   * Append characters to the buffer.
+   *
+   * @param data   The characters
+   * @param offset The offset of the first character
+   * @param count  The number of characters
+   */
+
+  public void append(
+    final char[] data,
+    final int offset,
+    final int count)
+  {
+    final var required = this.length + count;
+    if (required > this.text.length) {
+      this.text = Arrays.copyOf(
+        this.text,
+        Math.max(required, Math.max(INITIAL_CAPACITY, this.text.length * 2))
+      );
+    }
+    System.arraycopy(data, offset, this.text, this.length, count);
+    this.length = required;
+  }
+
+  /**
+   * Parse the buffered text with a character handler. The handler is given
+   * the underlying array directly, and must not retain it.
+   *
+   * @param context The parsing context
+   * @param handler The character handler
+   * @param <S>     The type of parsed values
+   *
+   * @return The parsed value
+   *
+   * @throws Exception On errors
+   */
+
+  public <S> S parse(
+    final BTElementParsingContextType context,
+    final BTCharacterHandlerType<S> handler)
+    throws Exception
+  {
+    return handler.parse(context, this.text, 0, this.length);
+  }
+
+  /**
+   * @return The buffered text parsed as an integer
+   *
+   * @throws NumberFormatException If the text is not a valid integer
+   * @see BTNumbers#parseInt(char[], int, int)
+   */
+
+  public int parseInt()
+  {
+    return BTNumbers.parseInt(this.text, 0, this.length);
+  }
+
+  /**
+   * @return The buffered text parsed as an integer
+   *
+   * @throws NumberFormatException If the text is not a valid integer
+   * @see BTNumbers#parseLong(char[], int, int)
+   */
+
+  public long parseLong()
+  {
+    return BTNumbers.parseLong(this.text, 0, this.length);
+  }
+
+  /**
+   * @return The buffered text parsed as a double
+   *
+   * @throws NumberFormatException If the text is not a valid double
+   * @see BTNumbers#parseDouble(char[], int, int)
+   */
+
+  public double parseDouble()
+  {
+    return BTNumbers.parseDouble(this.text, 0, this.length);
+  }
+
+  /**
+   * @return The number of characters in the buffer
+   */
+
+  public int length()
+  {
+    return this.length;
+  }
+
+  /**
+   * Clear the buffer. Buffers that have grown unusually large are released.
+   */
+
+  public void clear()
+  {
+    this.length = 0;
+    if (this.text.length > MAXIMUM_RETAINED_CAPACITY) {
+      this.text = EMPTY;
+    }
+  }
+}
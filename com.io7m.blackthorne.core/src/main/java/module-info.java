@@ -27,11 +27,14 @@ module com.io7m.blackthorne.core
   requires com.io7m.jaffirm.core;
   requires com.io7m.jlexing.core;
   requires com.io7m.junreachable.core;
+  requires transitive java.management;
   requires java.xml;
+  requires jdk.jfr;
+  requires static jdk.management;
   requires org.slf4j;
 
   exports com.io7m.blackthorne.core;
 
   exports com.io7m.blackthorne.core.internal
-    to com.io7m.blackthorne.tests;
+    to com.io7m.blackthorne.benchmarks, com.io7m.blackthorne.tests;
 }
\ No newline at end of file
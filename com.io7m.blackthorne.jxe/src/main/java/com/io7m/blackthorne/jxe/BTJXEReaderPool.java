@@ -0,0 +1,295 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.jxe;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of configured hardened XML readers. Readers are keyed by
+ * the configuration used to create them, and are borrowed from and returned
+ * to the pool without blocking, so the pool is safe to use from any number
+ * of platform or virtual threads.
+ */
+
+public final class BTJXEReaderPool
+{
+  private static final int DEFAULT_SIZE =
+    Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  private final ReaderCreatorType creator;
+  private final ConcurrentHashMap<Key, ArrayBlockingQueue<XMLReader>> readers;
+  private final ConcurrentHashMap<JXESchemaResolutionMappings, Long> generations;
+  private final int sizePerKey;
+  private final LongAdder hits;
+  private final LongAdder misses;
+
+  /**
+   * Construct a pool.
+   *
+   * @param inParsers    The provider of hardened parsers
+   * @param inSizePerKey The maximum number of idle readers retained for each
+   *                     configuration
+   */
+
+  public BTJXEReaderPool(
+    final JXEHardenedSAXParsers inParsers,
+    final int inSizePerKey)
+  {
+    this(
+      Objects.requireNonNull(inParsers, "parsers")::createXMLReader,
+      inSizePerKey
+    );
+  }
+
+  /**
+   * Construct a pool of readers that validate against the compiled schemas
+   * held in the given cache.
+   *
+   * @param inSchemas    The schema cache
+   * @param inSizePerKey The maximum number of idle readers retained for each
+   *                     configuration
+   */
+
+  public BTJXEReaderPool(
+    final BTJXESchemaCache inSchemas,
+    final int inSizePerKey)
+  {
+    this(
+      Objects.requireNonNull(inSchemas, "schemas")::createXMLReader,
+      inSizePerKey
+    );
+  }
+
+  /**
+   * Construct a pool of readers that validate against the compiled schemas
+   * held in the given cache, with a default size.
+   *
+   * @param inSchemas The schema cache
+   */
+
+  public BTJXEReaderPool(
+    final BTJXESchemaCache inSchemas)
+  {
+    this(inSchemas, DEFAULT_SIZE);
+  }
+
+  private BTJXEReaderPool(
+    final ReaderCreatorType inCreator,
+    final int inSizePerKey)
+  {
+    this.creator =
+      Objects.requireNonNull(inCreator, "creator");
+
+    if (inSizePerKey <= 0) {
+      throw new IllegalArgumentException("Pool size must be positive");
+    }
+
+    this.sizePerKey = inSizePerKey;
+    this.readers = new ConcurrentHashMap<>();
+    this.generations = new ConcurrentHashMap<>();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * Construct a pool with a default size.
+   *
+   * @param inParsers The provider of hardened parsers
+   */
+
+  public BTJXEReaderPool(
+    final JXEHardenedSAXParsers inParsers)
+  {
+    this(inParsers, DEFAULT_SIZE);
+  }
+
+  /**
+   * Discard all idle readers created for the given schema mappings. This
+   * should be called when the compiled schemas for the mappings have been
+   * invalidated. Readers that are borrowed at the time of the call are
+   * discarded when they are released.
+   *
+   * @param schemas The schemas
+   */
+
+  public void evict(
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(schemas, "schemas");
+    this.generations.merge(schemas, Long.valueOf(1L), Long::sum);
+    this.readers.keySet().removeIf(key -> key.schemas.equals(schemas));
+  }
+
+  /**
+   * The generation of the given schema mappings. The generation changes each
+   * time the mappings are {@link #evict(JXESchemaResolutionMappings) evicted},
+   * and a reader may only be returned to the pool if the generation of its
+   * mappings has not changed since the reader was borrowed.
+   *
+   * @param schemas The schemas
+   *
+   * @return The current generation
+   */
+
+  public long generation(
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(schemas, "schemas");
+    return this.generations.getOrDefault(schemas, Long.valueOf(0L)).longValue();
+  }
+
+  /**
+   * Borrow a reader, creating one if no idle reader exists for the given
+   * configuration.
+   *
+   * @param baseDirectory The base directory
+   * @param xinclude      The xinclude configuration
+   * @param schemas       The schemas
+   *
+   * @return A reader
+   *
+   * @throws Exception On errors creating readers
+   */
+
+  public XMLReader take(
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final JXESchemaResolutionMappings schemas)
+    throws Exception
+  {
+    final var key =
+      new Key(baseDirectory, xinclude, schemas, this.generation(schemas));
+    final var queue = this.readers.get(key);
+    if (queue != null) {
+      final var reader = queue.poll();
+      if (reader != null) {
+        this.hits.increment();
+        return reader;
+      }
+    }
+
+    this.misses.increment();
+    return this.creator.create(baseDirectory, xinclude, schemas);
+  }
+
+  /**
+   * Return a reader to the pool. The reader must have been created with the
+   * given configuration, and must not be in the middle of a parse. The
+   * content and error handlers of the reader are detached so that the pool
+   * does not retain the handlers (and the values they built) of the last
+   * parse. If the pool is full, or if the mappings have been evicted since
+   * the reader was borrowed, the reader is discarded.
+   *
+   * @param baseDirectory The base directory
+   * @param xinclude      The xinclude configuration
+   * @param schemas       The schemas
+   * @param generation    The {@link #generation(JXESchemaResolutionMappings)}
+   *                      of the mappings, observed before the reader was
+   *                      borrowed
+   * @param reader        The reader
+   *
+   * @return {@code true} if the reader was retained for reuse
+   */
+
+  public boolean release(
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final JXESchemaResolutionMappings schemas,
+    final long generation,
+    final XMLReader reader)
+  {
+    Objects.requireNonNull(reader, "reader");
+
+    reader.setContentHandler(new DefaultHandler());
+    reader.setErrorHandler(null);
+
+    if (this.generation(schemas) != generation) {
+      return false;
+    }
+
+    final var key = new Key(baseDirectory, xinclude, schemas, generation);
+    final var retained =
+      this.readers.computeIfAbsent(
+        key,
+        k -> new ArrayBlockingQueue<>(this.sizePerKey)
+      ).offer(reader);
+
+    /*
+     * The mappings may have been evicted while the reader was being
+     * offered, in which case the queue can never be reached again.
+     */
+
+    if (this.generation(schemas) != generation) {
+      this.readers.remove(key);
+      return false;
+    }
+    return retained;
+  }
+
+  /**
+   * @return The number of times a reader was taken from the pool
+   */
+
+  public long hits()
+  {
+    return this.hits.sum();
+  }
+
+  /**
+   * @return The number of times a reader had to be created
+   */
+
+  public long misses()
+  {
+    return this.misses.sum();
+  }
+
+  private interface ReaderCreatorType
+  {
+    XMLReader create(
+      Optional<Path> baseDirectory,
+      JXEXInclude xinclude,
+      JXESchemaResolutionMappings schemas)
+      throws Exception;
+  }
+
+  private record Key(
+    Optional<Path> baseDirectory,
+    JXEXInclude xinclude,
+    JXESchemaResolutionMappings schemas,
+    long generation)
+  {
+    private Key
+    {
+      Objects.requireNonNull(baseDirectory, "baseDirectory");
+      Objects.requireNonNull(xinclude, "xinclude");
+      Objects.requireNonNull(schemas, "schemas");
+    }
+  }
+}
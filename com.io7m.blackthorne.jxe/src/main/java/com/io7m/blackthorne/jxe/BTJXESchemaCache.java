@@ -0,0 +1,298 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.jxe;
+
+import com.io7m.jxe.core.JXEHardenedDispatchingResolver;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import org.xml.sax.XMLReader;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.io7m.jxe.core.JXEXInclude.XINCLUDE_ENABLED;
+
+/**
+ * A cache of compiled schemas, keyed by schema resolution mappings.
+ *
+ * Each set of mappings is compiled into an immutable {@link Schema} the
+ * first time it is requested, and readers created by the cache validate
+ * against that precompiled schema rather than loading and compiling the
+ * schema documents again for each parse. Schemas are safe to share between
+ * concurrent parses. Mappings that change at runtime must be explicitly
+ * invalidated.
+ *
+ * Every schema document is read from its mapped location before
+ * compilation, and the compiler is not permitted to load any other
+ * external schema or DTD.
+ */
+
+public final class BTJXESchemaCache
+{
+  private static final String DISALLOW_DOCTYPE =
+    "http://apache.org/xml/features/disallow-doctype-decl";
+  private static final String EXTERNAL_GENERAL_ENTITIES =
+    "http://xml.org/sax/features/external-general-entities";
+  private static final String EXTERNAL_PARAMETER_ENTITIES =
+    "http://xml.org/sax/features/external-parameter-entities";
+  private static final String LOAD_EXTERNAL_DTD =
+    "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+  private static final String USE_ENTITY_RESOLVER2 =
+    "http://xml.org/sax/features/use-entity-resolver2";
+
+  private final ConcurrentHashMap<JXESchemaResolutionMappings, CompletableFuture<Entry>> entries;
+  private final LongAdder compilations;
+
+  /**
+   * Construct an empty cache.
+   */
+
+  public BTJXESchemaCache()
+  {
+    this.entries = new ConcurrentHashMap<>();
+    this.compilations = new LongAdder();
+  }
+
+  /**
+   * Retrieve the compiled schema for the given mappings, compiling it if
+   * necessary.
+   *
+   * @param schemas The schema mappings
+   *
+   * @return The compiled schema
+   *
+   * @throws Exception On errors compiling schemas
+   */
+
+  public Schema schema(
+    final JXESchemaResolutionMappings schemas)
+    throws Exception
+  {
+    return this.entry(schemas).schema();
+  }
+
+  /**
+   * Create a hardened reader that validates documents against the compiled
+   * schema for the given mappings. Readers are hardened exactly as the readers
+   * produced by {@link com.io7m.jxe.core.JXEHardenedSAXParsers} are: document
+   * type declarations are rejected, external entities are never resolved, and
+   * no external DTDs or schemas are loaded.
+   *
+   * @param baseDirectory The base directory
+   * @param xinclude      The xinclude configuration
+   * @param schemas       The schema mappings
+   *
+   * @return A reader
+   *
+   * @throws Exception On errors
+   */
+
+  public XMLReader createXMLReader(
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final JXESchemaResolutionMappings schemas)
+    throws Exception
+  {
+    Objects.requireNonNull(baseDirectory, "baseDirectory");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(schemas, "schemas");
+
+    final var reader = this.entry(schemas).newReader(xinclude);
+
+    reader.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    reader.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+    reader.setFeature(LOAD_EXTERNAL_DTD, false);
+    reader.setFeature(USE_ENTITY_RESOLVER2, true);
+    reader.setEntityResolver(
+      JXEHardenedDispatchingResolver.create(baseDirectory, schemas));
+    return reader;
+  }
+
+  /**
+   * Discard the compiled schema for the given mappings, if any.
+   *
+   * @param schemas The schema mappings
+   */
+
+  public void invalidate(
+    final JXESchemaResolutionMappings schemas)
+  {
+    this.entries.remove(Objects.requireNonNull(schemas, "schemas"));
+  }
+
+  /**
+   * Discard all compiled schemas.
+   */
+
+  public void invalidateAll()
+  {
+    this.entries.clear();
+  }
+
+  /**
+   * @return The number of times a set of mappings has been compiled
+   */
+
+  public long compilations()
+  {
+    return this.compilations.sum();
+  }
+
+  private Entry entry(
+    final JXESchemaResolutionMappings schemas)
+    throws Exception
+  {
+    Objects.requireNonNull(schemas, "schemas");
+
+    final var existing = this.entries.get(schemas);
+    if (existing != null) {
+      return await(existing);
+    }
+
+    /*
+     * Compile outside the map so that concurrent parses of other mappings
+     * are not blocked; concurrent requests for the same mappings wait on
+     * the same future.
+     */
+
+    final var created = new CompletableFuture<Entry>();
+    final var raced = this.entries.putIfAbsent(schemas, created);
+    if (raced != null) {
+      return await(raced);
+    }
+
+    try {
+      final var entry = compile(schemas);
+      this.compilations.increment();
+      created.complete(entry);
+      return entry;
+    } catch (final Exception e) {
+      this.entries.remove(schemas, created);
+      created.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private static Entry await(
+    final CompletableFuture<Entry> future)
+    throws Exception
+  {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof final Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static Entry compile(
+    final JXESchemaResolutionMappings schemas)
+    throws Exception
+  {
+    final var schemaFactory =
+      SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+
+    final var sources = new ArrayList<Source>();
+    for (final var definition : schemas.mappings().values()) {
+      final var location = definition.location();
+      try (var stream = location.openStream()) {
+        sources.add(
+          new StreamSource(
+            new ByteArrayInputStream(stream.readAllBytes()),
+            location.toExternalForm()
+          )
+        );
+      }
+    }
+
+    final var schema =
+      schemaFactory.newSchema(sources.toArray(new Source[0]));
+
+    return new Entry(
+      schema,
+      createParsers(schema, false),
+      createParsers(schema, true)
+    );
+  }
+
+  private static SAXParserFactory createParsers(
+    final Schema schema,
+    final boolean xinclude)
+    throws Exception
+  {
+    final var parsers = SAXParserFactory.newInstance();
+    parsers.setNamespaceAware(true);
+    parsers.setValidating(false);
+    parsers.setXIncludeAware(xinclude);
+    parsers.setSchema(schema);
+    parsers.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    parsers.setFeature(DISALLOW_DOCTYPE, true);
+    parsers.setFeature(EXTERNAL_GENERAL_ENTITIES, false);
+    parsers.setFeature(EXTERNAL_PARAMETER_ENTITIES, false);
+    parsers.setFeature(LOAD_EXTERNAL_DTD, false);
+    return parsers;
+  }
+
+  private record Entry(
+    Schema schema,
+    SAXParserFactory parsers,
+    SAXParserFactory parsersXInclude)
+  {
+    private Entry
+    {
+      Objects.requireNonNull(schema, "schema");
+      Objects.requireNonNull(parsers, "parsers");
+      Objects.requireNonNull(parsersXInclude, "parsersXInclude");
+    }
+
+    /*
+     * Parser factories are not thread-safe, but creating a parser is brief
+     * and never blocks, so a monitor is sufficient.
+     */
+
+    XMLReader newReader(
+      final JXEXInclude xinclude)
+      throws Exception
+    {
+      final var factory =
+        xinclude == XINCLUDE_ENABLED ? this.parsersXInclude : this.parsers;
+
+      synchronized (factory) {
+        return factory.newSAXParser().getXMLReader();
+      }
+    }
+  }
+}
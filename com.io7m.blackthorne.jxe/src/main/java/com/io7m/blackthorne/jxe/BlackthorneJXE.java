@@ -16,21 +16,31 @@
 
 package com.io7m.blackthorne.jxe;
 
+import com.io7m.blackthorne.core.BTBatchResult;
+import com.io7m.blackthorne.core.BTBatchSource;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
 import com.io7m.blackthorne.core.BTException;
+import com.io7m.blackthorne.core.BTParserMetrics;
+import com.io7m.blackthorne.core.BTParserType;
 import com.io7m.blackthorne.core.BTPreserveLexical;
 import com.io7m.blackthorne.core.BTQualifiedName;
 import com.io7m.blackthorne.core.Blackthorne;
 import com.io7m.jxe.core.JXEHardenedSAXParsers;
 import com.io7m.jxe.core.JXESchemaResolutionMappings;
 import com.io7m.jxe.core.JXEXInclude;
+import org.xml.sax.XMLReader;
 
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.io7m.jxe.core.JXEXInclude.XINCLUDE_DISABLED;
 
@@ -42,12 +52,33 @@ public final class BlackthorneJXE
 {
   private static final JXEHardenedSAXParsers PARSERS =
     new JXEHardenedSAXParsers();
+  private static final BTJXESchemaCache SCHEMAS =
+    new BTJXESchemaCache();
+  private static final BTJXEReaderPool READERS =
+    new BTJXEReaderPool(PARSERS);
 
   private BlackthorneJXE()
   {
 
   }
 
+  /**
+   * Report the statistics of the default {@link #readerPool()} and
+   * {@link #schemaCache()} as gauges in the process-wide parser metrics.
+   * Like the metrics themselves, the gauges are not registered until this
+   * method is called.
+   *
+   * @see BTParserMetrics#registerGauge(String, java.util.function.LongSupplier)
+   */
+
+  public static void registerMetrics()
+  {
+    BTParserMetrics.registerGauge("jxe.readerPool.hits", READERS::hits);
+    BTParserMetrics.registerGauge("jxe.readerPool.misses", READERS::misses);
+    BTParserMetrics.registerGauge(
+      "jxe.schemaCache.compilations", SCHEMAS::compilations);
+  }
+
   /**
    * Parse a document.
    *
@@ -95,6 +126,307 @@ public final class BlackthorneJXE
     );
   }
 
+  /**
+   * Parse a document using a reader borrowed from {@code readers}. The
+   * reader is returned to the pool when parsing completes, whether or not it
+   * succeeds, and the pool detaches the handlers of the parse from it.
+   *
+   * @param source          The source URI
+   * @param stream          The input stream
+   * @param rootElements    The root element handlers
+   * @param readers         A pool of JXE hardened readers
+   * @param baseDirectory   The base directory
+   * @param xinclude        The xinclude configuration
+   * @param preserveLexical Whether to preserve lexical information
+   * @param schemas         The schemas
+   * @param <T>             The type of returned values
+   *
+   * @return A parsed value
+   *
+   * @throws BTException On parse errors
+   */
+
+  public static <T> T parseAll(
+    final URI source,
+    final InputStream stream,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final BTJXEReaderPool readers,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final BTPreserveLexical preserveLexical,
+    final JXESchemaResolutionMappings schemas)
+    throws BTException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(readers, "readers");
+    Objects.requireNonNull(rootElements, "rootElements");
+    Objects.requireNonNull(baseDirectory, "baseDirectory");
+    Objects.requireNonNull(preserveLexical, "preserveLexical");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(schemas, "schemas");
+
+    final var generation = readers.generation(schemas);
+    final var reader = new AtomicReference<XMLReader>();
+    try {
+      return Blackthorne.parse(
+        source,
+        stream,
+        preserveLexical,
+        () -> {
+          final var taken = readers.take(baseDirectory, xinclude, schemas);
+          reader.set(taken);
+          return taken;
+        },
+        rootElements
+      );
+    } finally {
+      final var taken = reader.get();
+      if (taken != null) {
+        readers.release(baseDirectory, xinclude, schemas, generation, taken);
+      }
+    }
+  }
+
+  /**
+   * @return The reader pool used by the methods that use a default provider
+   * of hardened SAX parsers
+   */
+
+  public static BTJXEReaderPool readerPool()
+  {
+    return READERS;
+  }
+
+  /**
+   * @return A process-wide cache of compiled schemas. The cache is not used
+   * by default; it is used only by pools and parsers that are explicitly
+   * constructed with it, such as
+   * {@code new BTJXEReaderPool(BlackthorneJXE.schemaCache())}
+   */
+
+  public static BTJXESchemaCache schemaCache()
+  {
+    return SCHEMAS;
+  }
+
+  /**
+   * Discard the compiled schema for the given mappings held in
+   * {@link #schemaCache()}, along with any idle readers in
+   * {@link #readerPool()} that validate against the mappings. Subsequent
+   * parses will load the schemas again.
+   *
+   * @param schemas The schemas
+   */
+
+  public static void invalidateSchemas(
+    final JXESchemaResolutionMappings schemas)
+  {
+    SCHEMAS.invalidate(schemas);
+    READERS.evict(schemas);
+  }
+
+  /**
+   * Build a reusable parser. The returned parser is safe to use from multiple
+   * threads, and can also be used for feed-based parsing via
+   * {@link BTParserType#startFeed(URI)}.
+   *
+   * @param rootElements    The root element handlers
+   * @param parsers         A supplier of JXE hardened parsers
+   * @param baseDirectory   The base directory
+   * @param xinclude        The xinclude configuration
+   * @param preserveLexical Whether to preserve lexical information
+   * @param schemas         The schemas
+   * @param <T>             The type of returned values
+   *
+   * @return A parser
+   */
+
+  public static <T> BTParserType<T> parser(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final JXEHardenedSAXParsers parsers,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final BTPreserveLexical preserveLexical,
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(rootElements, "rootElements");
+    Objects.requireNonNull(baseDirectory, "baseDirectory");
+    Objects.requireNonNull(preserveLexical, "preserveLexical");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(schemas, "schemas");
+
+    return parserOf(
+      rootElements,
+      preserveLexical,
+      () -> parsers.createXMLReader(baseDirectory, xinclude, schemas)
+    );
+  }
+
+  private static <T> BTParserType<T> parserOf(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final BTPreserveLexical preserveLexical,
+    final Callable<XMLReader> readers)
+  {
+    final var builder =
+      Blackthorne.<T>builder()
+        .setPreserveLexical(preserveLexical);
+
+    for (final var entry : rootElements.entrySet()) {
+      builder.addHandler(entry.getKey(), entry.getValue());
+    }
+
+    return builder.buildParser(readers);
+  }
+
+  /**
+   * Build a reusable parser that validates documents against schemas
+   * compiled once and held in {@code cache}, rather than loading the schemas
+   * for every reader. This is opt-in; readers created by the cache are
+   * hardened as JXE readers are, but are not created by JXE.
+   *
+   * @param rootElements    The root element handlers
+   * @param cache           The schema cache
+   * @param baseDirectory   The base directory
+   * @param xinclude        The xinclude configuration
+   * @param preserveLexical Whether to preserve lexical information
+   * @param schemas         The schemas
+   * @param <T>             The type of returned values
+   *
+   * @return A parser
+   *
+   * @see #schemaCache()
+   */
+
+  public static <T> BTParserType<T> parser(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final BTJXESchemaCache cache,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final BTPreserveLexical preserveLexical,
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(cache, "cache");
+    Objects.requireNonNull(rootElements, "rootElements");
+    Objects.requireNonNull(baseDirectory, "baseDirectory");
+    Objects.requireNonNull(preserveLexical, "preserveLexical");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(schemas, "schemas");
+
+    return parserOf(
+      rootElements,
+      preserveLexical,
+      () -> cache.createXMLReader(baseDirectory, xinclude, schemas)
+    );
+  }
+
+  /**
+   * Build a reusable parser. A default provider of hardened SAX parsers will
+   * be used. No filesystem access is allowed.
+   *
+   * @param rootElements    The root element handlers
+   * @param xinclude        The xinclude configuration
+   * @param preserveLexical Whether to preserve lexical information
+   * @param schemas         The schemas
+   * @param <T>             The type of returned values
+   *
+   * @return A parser
+   */
+
+  public static <T> BTParserType<T> parser(
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final JXEXInclude xinclude,
+    final BTPreserveLexical preserveLexical,
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(rootElements, "rootElements");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(preserveLexical, "preserveLexical");
+    Objects.requireNonNull(schemas, "schemas");
+
+    return parser(
+      rootElements,
+      PARSERS,
+      Optional.empty(),
+      xinclude,
+      preserveLexical,
+      schemas
+    );
+  }
+
+  /**
+   * Parse a batch of documents in parallel using the same root handlers.
+   *
+   * @param sources         The documents
+   * @param executor        The executor on which documents are parsed
+   * @param rootElements    The root element handlers
+   * @param parsers         A supplier of JXE hardened parsers
+   * @param baseDirectory   The base directory
+   * @param xinclude        The xinclude configuration
+   * @param preserveLexical Whether to preserve lexical information
+   * @param schemas         The schemas
+   * @param <T>             The type of returned values
+   *
+   * @return The results, in the same order as {@code sources}
+   *
+   * @see BTParserType#parseBatch(Collection, Executor)
+   */
+
+  public static <T> List<BTBatchResult<T>> parseBatch(
+    final Collection<BTBatchSource> sources,
+    final Executor executor,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final JXEHardenedSAXParsers parsers,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final BTPreserveLexical preserveLexical,
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(sources, "sources");
+    Objects.requireNonNull(executor, "executor");
+
+    return parser(
+      rootElements,
+      parsers,
+      baseDirectory,
+      xinclude,
+      preserveLexical,
+      schemas
+    ).parseBatch(sources, executor);
+  }
+
+  /**
+   * Parse a batch of documents in parallel using the same root handlers. A
+   * default provider of hardened SAX parsers will be used. No filesystem
+   * access is allowed.
+   *
+   * @param sources         The documents
+   * @param executor        The executor on which documents are parsed
+   * @param rootElements    The root element handlers
+   * @param xinclude        The xinclude configuration
+   * @param preserveLexical Whether to preserve lexical information
+   * @param schemas         The schemas
+   * @param <T>             The type of returned values
+   *
+   * @return The results, in the same order as {@code sources}
+   */
+
+  public static <T> List<BTBatchResult<T>> parseBatch(
+    final Collection<BTBatchSource> sources,
+    final Executor executor,
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, T>> rootElements,
+    final JXEXInclude xinclude,
+    final BTPreserveLexical preserveLexical,
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(sources, "sources");
+    Objects.requireNonNull(executor, "executor");
+
+    return parser(rootElements, xinclude, preserveLexical, schemas)
+      .parseBatch(sources, executor);
+  }
+
   /**
    * Parse a document. A default provider of hardened SAX parsers will be used.
    *
@@ -133,7 +465,7 @@ public final class BlackthorneJXE
       source,
       stream,
       rootElements,
-      PARSERS,
+      READERS,
       baseDirectory,
       xinclude,
       preserveLexical,
@@ -177,7 +509,7 @@ public final class BlackthorneJXE
       source,
       stream,
       rootElements,
-      PARSERS,
+      READERS,
       Optional.empty(),
       xinclude,
       preserveLexical,
@@ -218,7 +550,7 @@ public final class BlackthorneJXE
       source,
       stream,
       rootElements,
-      PARSERS,
+      READERS,
       Optional.empty(),
       XINCLUDE_DISABLED,
       preserveLexical,
@@ -19,7 +19,7 @@
  */
 
 @Export
-@Version("2.0.0")
+@Version("2.1.0")
 package com.io7m.blackthorne.jxe;
 
 import org.osgi.annotation.bundle.Export;
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.tests;
+
+import com.io7m.blackthorne.core.internal.BTNumbers;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BTNumbersTest
+{
+  private static char[] padded(
+    final String text)
+  {
+    return ("\n\t " + text + " \r\n").toCharArray();
+  }
+
+  private static double parseDouble(
+    final String text)
+  {
+    final var chars = padded(text);
+    return BTNumbers.parseDouble(chars, 0, chars.length);
+  }
+
+  /**
+   * Integers round trip.
+   *
+   * @param value The value
+   */
+
+  @Property
+  public void testIntRoundTrip(
+    final @ForAll int value)
+  {
+    final var chars = padded(Integer.toString(value));
+    assertEquals(value, BTNumbers.parseInt(chars, 0, chars.length));
+    assertEquals(value, BTNumbers.parseInt(new String(chars)));
+  }
+
+  /**
+   * Longs round trip.
+   *
+   * @param value The value
+   */
+
+  @Property
+  public void testLongRoundTrip(
+    final @ForAll long value)
+  {
+    final var chars = padded(Long.toString(value));
+    assertEquals(value, BTNumbers.parseLong(chars, 0, chars.length));
+    assertEquals(value, BTNumbers.parseLong(new String(chars)));
+  }
+
+  /**
+   * Doubles round trip.
+   *
+   * @param value The value
+   */
+
+  @Property
+  public void testDoubleRoundTrip(
+    final @ForAll double value)
+  {
+    final var text = Double.toString(value);
+    assertEquals(Double.parseDouble(text), parseDouble(text));
+  }
+
+  /**
+   * Doubles in the exact fast path agree with the standard library.
+   *
+   * @param mantissa The mantissa
+   * @param exponent The exponent
+   */
+
+  @Property
+  public void testDoubleFastPath(
+    final @ForAll @LongRange(min = 0L, max = 999_999_999_999_999L) long mantissa,
+    final @ForAll @IntRange(min = -22, max = 22) int exponent)
+  {
+    final var text = mantissa + "e" + exponent;
+    assertEquals(Double.parseDouble(text), parseDouble(text));
+  }
+
+  /**
+   * XML Schema special values are accepted.
+   */
+
+  @Test
+  public void testDoubleSpecial()
+  {
+    assertEquals(Double.POSITIVE_INFINITY, parseDouble("INF"));
+    assertEquals(Double.POSITIVE_INFINITY, parseDouble("+INF"));
+    assertEquals(Double.NEGATIVE_INFINITY, parseDouble("-INF"));
+    assertEquals(Double.NaN, parseDouble("NaN"));
+    assertEquals(-0.0, parseDouble("-0"));
+    assertEquals(0.125, parseDouble(".125"));
+    assertEquals(25.10, parseDouble("25.10"));
+    assertEquals(Double.POSITIVE_INFINITY, BTNumbers.parseDouble(" INF "));
+  }
+
+  /**
+   * Invalid values are rejected.
+   */
+
+  @Test
+  public void testInvalid()
+  {
+    for (final var text : new String[]{
+      "", "-", "+", "1.2.3", "1e", "1e+", "Infinity", "0x10", "1d", "1 2", "."
+    }) {
+      final var chars = padded(text);
+      assertThrows(NumberFormatException.class, () -> {
+        BTNumbers.parseDouble(chars, 0, chars.length);
+      }, text);
+      assertThrows(NumberFormatException.class, () -> {
+        BTNumbers.parseDouble(text);
+      }, text);
+      assertThrows(NumberFormatException.class, () -> {
+        BTNumbers.parseLong(chars, 0, chars.length);
+      }, text);
+    }
+
+    final var overflow = "2147483648".toCharArray();
+    assertThrows(NumberFormatException.class, () -> {
+      BTNumbers.parseInt(overflow, 0, overflow.length);
+    });
+    final var longOverflow = "9223372036854775808".toCharArray();
+    assertThrows(NumberFormatException.class, () -> {
+      BTNumbers.parseLong(longOverflow, 0, longOverflow.length);
+    });
+    final var exponent = "1e3".toCharArray();
+    assertThrows(NumberFormatException.class, () -> {
+      BTNumbers.parseDecimal(exponent, 0, exponent.length);
+    });
+  }
+
+  /**
+   * Decimals are parsed exactly.
+   */
+
+  @Test
+  public void testDecimal()
+  {
+    final var chars = padded("-123.4500");
+    assertEquals(
+      new BigDecimal("-123.4500"),
+      BTNumbers.parseDecimal(chars, 0, chars.length));
+    assertEquals(
+      new BigDecimal("-123.4500"),
+      BTNumbers.parseDecimal(" -123.4500 "));
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.blackthorne.tests;
+
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import com.io7m.blackthorne.core.Blackthorne;
+import com.io7m.blackthorne.core.internal.BTContentHandler;
+import com.io7m.blackthorne.core.internal.BTQualifiedNameTable;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements.IGNORE_UNRECOGNIZED_ELEMENTS;
+import static com.io7m.blackthorne.core.BTPreserveLexical.PRESERVE_LEXICAL_INFORMATION;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class BTQualifiedNameTableTest
+{
+  /**
+   * Resolving the same name twice yields the same instance.
+   */
+
+  @Test
+  public void testInternIdentity()
+  {
+    final var table = new BTQualifiedNameTable();
+    final var n0 = table.intern("urn:tests", "x");
+    final var n1 = table.intern("urn:tests", "x");
+    final var n2 = table.intern("urn:tests", "y");
+
+    assertSame(n0, n1);
+    assertSame(n0.namespaceURI(), n2.namespaceURI());
+    assertEquals(BTQualifiedName.of("urn:tests", "x"), n0);
+    assertEquals(3, table.size());
+  }
+
+  /**
+   * Seeded names become the canonical instances.
+   */
+
+  @Test
+  public void testInternSeeded()
+  {
+    final var name = BTQualifiedName.of("urn:tests", "x");
+    final var table = BTQualifiedNameTable.of(List.of(name));
+    assertSame(name, table.intern("urn:tests", "x"));
+    assertSame(name, table.intern(BTQualifiedName.of("urn:tests", "x")));
+  }
+
+  /**
+   * Full tables still resolve names correctly.
+   */
+
+  @Test
+  public void testInternFull()
+  {
+    final var table = new BTQualifiedNameTable(2);
+    final var n0 = table.intern("urn:tests", "x");
+    final var n1 = table.intern("urn:tests", "y");
+    final var n2 = table.intern("urn:tests", "y");
+    final var n3 = table.intern("urn:other", "z");
+
+    assertSame(n0, table.intern("urn:tests", "x"));
+    assertNotSame(n1, n2);
+    assertEquals(n1, n2);
+    assertEquals(BTQualifiedName.of("urn:other", "z"), n3);
+    assertEquals(2, table.size());
+  }
+
+  /**
+   * Finding names does not intern them, and finding names that have not been
+   * interned yields the shared unknown symbol.
+   */
+
+  @Test
+  public void testFindDoesNotIntern()
+  {
+    final var name = BTQualifiedName.of("urn:tests", "x");
+    final var table = BTQualifiedNameTable.of(List.of(name));
+    assertEquals(2, table.size());
+
+    assertSame(name, table.find("urn:tests", "x").name());
+    assertSame(BTQualifiedNameTable.UNKNOWN, table.find("urn:tests", "y"));
+    assertSame(BTQualifiedNameTable.UNKNOWN, table.find("urn:other", "z"));
+    assertEquals(-1, BTQualifiedNameTable.UNKNOWN.index());
+    assertEquals(2, table.size());
+  }
+
+  /**
+   * Names that have not been interned can be built on demand, reusing the
+   * interned namespace.
+   */
+
+  @Test
+  public void testNameOf()
+  {
+    final var name = BTQualifiedName.of("urn:tests", "x");
+    final var table = BTQualifiedNameTable.of(List.of(name));
+
+    assertSame(name, table.nameOf("urn:tests", "x"));
+
+    final var y = table.nameOf("urn:tests", "y");
+    assertEquals(BTQualifiedName.of("urn:tests", "y"), y);
+    assertSame(name.namespaceURI(), y.namespaceURI());
+
+    assertEquals(
+      BTQualifiedName.of("urn:other", "z"),
+      table.nameOf("urn:other", "z"));
+    assertEquals(2, table.size());
+  }
+
+  /**
+   * Ignored elements in a document do not fill the name table, and names
+   * accepted by handlers are still interned afterwards.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testIgnoredNamesNotInterned()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "l");
+    final var itemName = BTQualifiedName.of("urn:tests", "i");
+    final var table = BTQualifiedNameTable.of(List.of(listName));
+
+    final var text = new StringBuilder(1024);
+    text.append("<l xmlns=\"urn:tests\">");
+    for (int index = 0; index < 100; ++index) {
+      text.append("<x").append(index).append("/>");
+    }
+    text.append("<i>a</i></l>");
+
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, List<String>>> handlers =
+      Map.of(listName, Blackthorne.forListMono(
+        listName,
+        itemName,
+        Blackthorne.forScalarString(itemName),
+        IGNORE_UNRECOGNIZED_ELEMENTS));
+
+    final var handler =
+      new BTContentHandler<>(
+        URI.create("urn:text"),
+        error -> {
+
+        },
+        PRESERVE_LEXICAL_INFORMATION,
+        handlers,
+        table);
+
+    final var parsers = SAXParserFactory.newInstance();
+    parsers.setNamespaceAware(true);
+    final var reader = parsers.newSAXParser().getXMLReader();
+    reader.setContentHandler(handler);
+    reader.setErrorHandler(handler);
+    reader.parse(new InputSource(new StringReader(text.toString())));
+
+    assertFalse(handler.failed());
+    assertEquals(List.of("a"), handler.result().orElseThrow());
+    assertEquals(3, table.size());
+    assertSame(BTQualifiedNameTable.UNKNOWN, table.find("urn:tests", "x0"));
+    assertTrue(table.find("urn:tests", "i").index() >= 0);
+  }
+}
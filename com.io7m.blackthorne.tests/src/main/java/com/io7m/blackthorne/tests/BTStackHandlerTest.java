@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.blackthorne.tests;
+
+import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
+import com.io7m.blackthorne.core.BTElementHandlerType;
+import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTQualifiedName;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.io7m.blackthorne.core.internal.BTStackHandler;
+import com.io7m.blackthorne.core.internal.BTStackTracers;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.ext.Locator2Impl;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.net.URI;
+import java.util.Map;
+
+import static com.io7m.blackthorne.core.BTPreserveLexical.PRESERVE_LEXICAL_INFORMATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class BTStackHandlerTest
+{
+  private static final BTQualifiedName NEST =
+    BTQualifiedName.of("urn:tests", "n");
+
+  private static BTStackHandler<Integer> stackHandler()
+  {
+    final var locator = new Locator2Impl();
+    final var handler =
+      new BTStackHandler<Integer>(
+        locator,
+        PRESERVE_LEXICAL_INFORMATION,
+        Map.of(NEST, NestHandler::new)
+      );
+    handler.reset(locator, URI.create("urn:test"));
+    return handler;
+  }
+
+  /**
+   * Documents nested more deeply than the initial stack capacity are
+   * parsed correctly.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDeepNesting()
+    throws Exception
+  {
+    final var handler = stackHandler();
+    final var attributes = new AttributesImpl();
+
+    for (int index = 0; index < 100; ++index) {
+      handler.onElementStarted("urn:tests", "n", attributes);
+    }
+    assertEquals(100, handler.depth());
+
+    for (int index = 0; index < 100; ++index) {
+      handler.onElementFinished("urn:tests", "n");
+    }
+    assertEquals(0, handler.depth());
+    assertEquals(Integer.valueOf(100), handler.result().orElseThrow());
+  }
+
+  /**
+   * Popping elements clears their stack slots, so that finished handlers
+   * are not retained.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testPoppedSlotsCleared()
+    throws Exception
+  {
+    final var handler = stackHandler();
+    final var attributes = new AttributesImpl();
+
+    for (int index = 0; index < 40; ++index) {
+      handler.onElementStarted("urn:tests", "n", attributes);
+    }
+    for (int index = 0; index < 39; ++index) {
+      handler.onElementFinished("urn:tests", "n");
+      assertEquals(0, handler.staleSlots());
+    }
+    assertEquals(1, handler.depth());
+
+    handler.onElementFinished("urn:tests", "n");
+    assertEquals(0, handler.staleSlots());
+    assertEquals(Integer.valueOf(40), handler.result().orElseThrow());
+
+    handler.release();
+    assertEquals(0, handler.staleSlots());
+  }
+
+  /**
+   * The standard tracer discards events unless {@code TRACE} logging is
+   * enabled for the stack handler, and handlers push and pop elements
+   * correctly with either tracer.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStandardTracer()
+    throws Exception
+  {
+    final var logger =
+      (Logger) LoggerFactory.getLogger(BTStackHandler.class);
+    final var level = logger.getLevel();
+    final var attributes = new AttributesImpl();
+
+    try {
+      for (final var traced : new Level[]{Level.INFO, Level.TRACE}) {
+        logger.setLevel(traced);
+
+        if (traced == Level.TRACE) {
+          assertSame(BTStackTracers.logging(), BTStackTracers.standard());
+        } else {
+          assertSame(BTStackTracers.none(), BTStackTracers.standard());
+        }
+
+        final var handler = stackHandler();
+        for (int index = 0; index < 20; ++index) {
+          handler.onElementStarted("urn:tests", "n", attributes);
+        }
+        for (int index = 0; index < 20; ++index) {
+          handler.onElementFinished("urn:tests", "n");
+        }
+        assertEquals(0, handler.depth());
+        assertEquals(Integer.valueOf(20), handler.result().orElseThrow());
+      }
+    } finally {
+      logger.setLevel(level);
+    }
+  }
+
+  private static final class NestHandler implements BTElementHandlerType<Integer, Integer>
+  {
+    private int depth;
+
+    NestHandler(
+      final BTElementParsingContextType context)
+    {
+
+    }
+
+    @Override
+    public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Integer>> onChildHandlersRequested(
+      final BTElementParsingContextType context)
+    {
+      return Map.of(NEST, NestHandler::new);
+    }
+
+    @Override
+    public void onChildValueProduced(
+      final BTElementParsingContextType context,
+      final Integer result)
+    {
+      this.depth = result.intValue();
+    }
+
+    @Override
+    public Integer onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return Integer.valueOf(this.depth + 1);
+    }
+  }
+}
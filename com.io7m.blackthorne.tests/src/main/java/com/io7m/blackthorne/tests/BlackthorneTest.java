@@ -16,16 +16,30 @@
 
 package com.io7m.blackthorne.tests;
 
+import com.io7m.blackthorne.core.BTAttributeSlots;
+import com.io7m.blackthorne.core.BTBatchSource;
 import com.io7m.blackthorne.core.BTElementHandlerConstructorType;
 import com.io7m.blackthorne.core.BTElementHandlerType;
 import com.io7m.blackthorne.core.BTElementParsingContextType;
+import com.io7m.blackthorne.core.BTErrorLimits;
+import com.io7m.blackthorne.core.BTHandlerProfile;
 import com.io7m.blackthorne.core.BTException;
+import com.io7m.blackthorne.core.BTFeedLimits;
 import com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements;
+import com.io7m.blackthorne.core.BTLexicalPositions;
+import com.io7m.blackthorne.core.BTLongConsumerType;
 import com.io7m.blackthorne.core.BTParseError;
+import com.io7m.blackthorne.core.BTParseStatistics;
+import com.io7m.blackthorne.core.BTParserMetrics;
 import com.io7m.blackthorne.core.BTQualifiedName;
 import com.io7m.blackthorne.core.Blackthorne;
 import com.io7m.blackthorne.core.internal.BTContentHandler;
+import com.io7m.blackthorne.core.internal.BTGrammar;
+import com.io7m.blackthorne.core.internal.BTQualifiedNameTable;
 import com.io7m.blackthorne.core.internal.BTScalarAttributeHandler;
+import com.io7m.blackthorne.core.internal.BTStAXParserSession;
+import com.io7m.blackthorne.jxe.BTJXEReaderPool;
+import com.io7m.blackthorne.jxe.BTJXESchemaCache;
 import com.io7m.blackthorne.jxe.BlackthorneJXE;
 import com.io7m.jxe.core.JXEHardenedSAXParsers;
 import com.io7m.jxe.core.JXESchemaDefinition;
@@ -35,15 +49,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
+import javax.management.ObjectName;
 import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
@@ -51,13 +77,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.io7m.blackthorne.core.BTCompileGrammar.COMPILE_GRAMMAR;
+import static com.io7m.blackthorne.core.BTDeduplicateErrors.DEDUPLICATE_ERRORS;
+import static com.io7m.blackthorne.core.BTIgnoreUnrecognizedAttributes.DO_NOT_IGNORE_UNRECOGNIZED_ATTRIBUTES;
 import static com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements.DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS;
 import static com.io7m.blackthorne.core.BTIgnoreUnrecognizedElements.IGNORE_UNRECOGNIZED_ELEMENTS;
 import static com.io7m.blackthorne.core.BTPreserveLexical.PRESERVE_LEXICAL_INFORMATION;
 import static com.io7m.jxe.core.JXEXInclude.XINCLUDE_DISABLED;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -864,162 +903,1470 @@ public final class BlackthorneTest
     assertEquals(3, numbers.size());
   }
 
-  private static final class IntHandler implements BTElementHandlerType<Object, BigInteger>
+  private static BTElementHandlerConstructorType<Number, Number> compiledChoice()
   {
-    private BigInteger result;
+    return Blackthorne.forOneOf(
+      Map.ofEntries(
+        Map.entry(
+          BTQualifiedName.of("urn:tests", "int"),
+          Blackthorne.forScalarFromString(
+            BTQualifiedName.of("urn:tests", "int"),
+            BigInteger::new)),
+        Map.entry(
+          BTQualifiedName.of("urn:tests", "double"),
+          Blackthorne.forScalarFromString(
+            BTQualifiedName.of("urn:tests", "double"),
+            Double::valueOf)),
+        Map.entry(
+          BTQualifiedName.of("urn:tests", "byte"),
+          Blackthorne.forScalarFromString(
+            BTQualifiedName.of("urn:tests", "byte"),
+            Byte::valueOf))
+      )
+    );
+  }
 
-    IntHandler(
-      final BTElementParsingContextType context)
-    {
+  /**
+   * Choices values are parsed correctly using a compiled grammar.
+   *
+   * @throws Exception On errors
+   */
 
-    }
+  @Test
+  public void testChoicesCompiled0()
+    throws Exception
+  {
+    final var listHandler =
+      Blackthorne.forListMono(
+        BTQualifiedName.of("urn:tests", "choices"),
+        BTQualifiedName.of("urn:tests", "choice"),
+        compiledChoice(),
+        DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
 
-    @Override
-    public void onCharacters(
-      final BTElementParsingContextType context,
-      final char[] data,
-      final int offset,
-      final int length)
-      throws SAXParseException
-    {
-      try {
-        final var text = String.valueOf(data, offset, length).trim();
-        this.result = new BigInteger(text);
-      } catch (final Exception e) {
-        throw context.parseException(e);
-      }
+    final var builder =
+      BTContentHandler.<List<Number>>builder()
+        .setCompileGrammar(COMPILE_GRAMMAR)
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), listHandler);
+
+    for (int index = 0; index < 2; ++index) {
+      final var handler =
+        builder.build(URI.create("urn:text"), this::logError);
+
+      final var reader = createReader();
+      reader.setContentHandler(handler);
+      reader.setErrorHandler(handler);
+      reader.parse(resource("choices0.xml"));
+
+      assertFalse(handler.failed());
+      assertEquals(0, this.errors.size());
+
+      final var numbers = handler.result().get();
+      assertEquals(BigInteger.valueOf(23L), numbers.get(0));
+      assertEquals(Double.valueOf(25.10), numbers.get(1));
+      assertEquals(Byte.valueOf((byte) 10), numbers.get(2));
+      assertEquals(3, numbers.size());
     }
+  }
 
-    @Override
-    public BigInteger onElementFinished(
-      final BTElementParsingContextType context)
-    {
-      return this.result;
-    }
+  /**
+   * Compiled grammars reject elements that were not declared.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testChoicesCompiled1()
+    throws Exception
+  {
+    final var listHandler =
+      Blackthorne.forListMono(
+        BTQualifiedName.of("urn:tests", "choices"),
+        BTQualifiedName.of("urn:tests", "choice"),
+        compiledChoice(),
+        DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
+
+    final var handler =
+      BTContentHandler.<List<Number>>builder()
+        .setCompileGrammar(COMPILE_GRAMMAR)
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), listHandler)
+        .build(URI.create("urn:text"), this::logError);
+
+    final var reader = createReader();
+    reader.setContentHandler(handler);
+    reader.setErrorHandler(handler);
+    reader.parse(resource("choices2.xml"));
+
+    assertTrue(handler.failed());
+    assertEquals(1, this.errors.size());
+    assertTrue(this.errors.remove(0).message().contains(
+      "ignoredContainingChoice"));
   }
 
-  private static final class DoubleHandler implements BTElementHandlerType<Object, Double>
+  /**
+   * Compiled grammars fall back to asking handlers that do not declare
+   * their child handlers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testChoicesCompiled2()
+    throws Exception
   {
-    private Double result;
+    final var listHandler =
+      Blackthorne.forListMono(
+        BTQualifiedName.of("urn:tests", "choices"),
+        BTQualifiedName.of("urn:tests", "choice"),
+        ChoiceIgnoringHandler::new,
+        IGNORE_UNRECOGNIZED_ELEMENTS);
 
-    DoubleHandler(
-      final BTElementParsingContextType context)
-    {
+    final var handler =
+      BTContentHandler.<List<Number>>builder()
+        .setCompileGrammar(COMPILE_GRAMMAR)
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), listHandler)
+        .build(URI.create("urn:text"), this::logError);
 
-    }
+    final var reader = createReader();
+    reader.setContentHandler(handler);
+    reader.setErrorHandler(handler);
+    reader.parse(resource("choices2.xml"));
 
-    @Override
-    public void onCharacters(
-      final BTElementParsingContextType context,
-      final char[] data,
-      final int offset,
-      final int length)
-      throws SAXParseException
-    {
-      try {
-        final var text = String.valueOf(data, offset, length).trim();
-        this.result = Double.valueOf(text);
-      } catch (final NumberFormatException e) {
-        throw context.parseException(e);
-      }
-    }
+    assertFalse(handler.failed());
+    assertEquals(0, this.errors.size());
 
-    @Override
-    public Double onElementFinished(
-      final BTElementParsingContextType context)
-    {
-      return this.result;
-    }
+    final var numbers = handler.result().get();
+    assertEquals(BigInteger.valueOf(23L), numbers.get(0));
+    assertEquals(Double.valueOf(25.10), numbers.get(1));
+    assertEquals(Byte.valueOf((byte) 20), numbers.get(2));
+    assertEquals(3, numbers.size());
   }
 
-  private static final class ByteHandler implements BTElementHandlerType<Object, Byte>
+  /**
+   * Handlers that can be reset are reused within a parse.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testChoicesHandlersReused()
+    throws Exception
   {
-    private Byte result;
+    final var created = new AtomicInteger(0);
+    final var choice = compiledChoice();
 
-    ByteHandler(
-      final BTElementParsingContextType context)
-    {
+    final BTElementHandlerConstructorType<Number, Number> countingChoice =
+      context -> {
+        created.incrementAndGet();
+        return choice.create(context);
+      };
 
-    }
+    final var listHandler =
+      Blackthorne.forListMono(
+        BTQualifiedName.of("urn:tests", "choices"),
+        BTQualifiedName.of("urn:tests", "choice"),
+        countingChoice,
+        DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
 
-    @Override
-    public void onCharacters(
-      final BTElementParsingContextType context,
-      final char[] data,
-      final int offset,
-      final int length)
-      throws SAXParseException
-    {
-      try {
-        final var text = String.valueOf(data, offset, length).trim();
-        this.result = Byte.valueOf(text);
-      } catch (final NumberFormatException e) {
-        throw context.parseException(e);
-      }
-    }
+    final var handler =
+      BTContentHandler.<List<Number>>builder()
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), listHandler)
+        .build(URI.create("urn:text"), this::logError);
 
-    @Override
-    public Byte onElementFinished(
-      final BTElementParsingContextType context)
-    {
-      return this.result;
-    }
+    final var reader = createReader();
+    reader.setContentHandler(handler);
+    reader.setErrorHandler(handler);
+    reader.parse(resource("choices0.xml"));
+
+    assertFalse(handler.failed());
+    assertEquals(0, this.errors.size());
+    assertEquals(1, created.get());
+
+    final var numbers = handler.result().get();
+    assertEquals(BigInteger.valueOf(23L), numbers.get(0));
+    assertEquals(Double.valueOf(25.10), numbers.get(1));
+    assertEquals(Byte.valueOf((byte) 10), numbers.get(2));
+    assertEquals(3, numbers.size());
   }
 
-  private static final class ChoiceHandler implements BTElementHandlerType<Number, Number>
+  /**
+   * Parsers reuse readers across documents, including after failures, but
+   * do not reuse handlers created during earlier parses.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParserReused()
+    throws Exception
   {
-    private Number result;
+    final var readers = new AtomicInteger(0);
+    final var created = new AtomicInteger(0);
+    final var choice = compiledChoice();
 
-    ChoiceHandler(
-      final BTElementParsingContextType context)
-    {
+    final BTElementHandlerConstructorType<Number, Number> countingChoice =
+      context -> {
+        created.incrementAndGet();
+        return choice.create(context);
+      };
 
-    }
+    final var listHandler =
+      Blackthorne.forListMono(
+        BTQualifiedName.of("urn:tests", "choices"),
+        BTQualifiedName.of("urn:tests", "choice"),
+        countingChoice,
+        DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
 
-    @Override
-    public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Number>> onChildHandlersRequested(
-      final BTElementParsingContextType context)
-    {
-      return Map.ofEntries(
-        Map.entry(BTQualifiedName.of("urn:tests", "byte"), ByteHandler::new),
-        Map.entry(
-          BTQualifiedName.of("urn:tests", "double"),
-          DoubleHandler::new),
-        Map.entry(BTQualifiedName.of("urn:tests", "int"), IntHandler::new)
-      );
+    final var parser =
+      BTContentHandler.<List<Number>>builder()
+        .setCompileGrammar(COMPILE_GRAMMAR)
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), listHandler)
+        .buildParser(() -> {
+          readers.incrementAndGet();
+          return createReader();
+        });
+
+    for (int index = 0; index < 3; ++index) {
+      final var numbers =
+        parser.parse(
+          URI.create("urn:choices0"),
+          resourceStream("choices0.xml"));
+
+      assertEquals(BigInteger.valueOf(23L), numbers.get(0));
+      assertEquals(Double.valueOf(25.10), numbers.get(1));
+      assertEquals(Byte.valueOf((byte) 10), numbers.get(2));
+      assertEquals(3, numbers.size());
     }
+    assertEquals(3, created.get());
 
-    @Override
-    public void onChildValueProduced(
-      final BTElementParsingContextType context,
-      final Number newResult)
-    {
-      this.result = Objects.requireNonNull(newResult, "result");
-    }
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:choices2"),
+          resourceStream("choices2.xml"));
+      });
+    assertTrue(ex.errors().size() > 0);
 
-    @Override
-    public Number onElementFinished(final BTElementParsingContextType context)
-    {
-      return this.result;
-    }
+    final var numbers =
+      parser.parse(
+        URI.create("urn:choices0"),
+        resourceStream("choices0.xml"));
+    assertEquals(3, numbers.size());
+    assertEquals(1, readers.get());
   }
 
-  private static final class ChoiceScalarHandler implements BTElementHandlerType<Number, Number>
+  private static BTElementHandlerConstructorType<?, List<Number>> choicesList()
   {
-    private Number result;
+    return Blackthorne.forListMono(
+      BTQualifiedName.of("urn:tests", "choices"),
+      BTQualifiedName.of("urn:tests", "choice"),
+      compiledChoice(),
+      DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
+  }
 
-    ChoiceScalarHandler(
-      final BTElementParsingContextType context)
-    {
+  /**
+   * The built-in numeric handlers parse element text and attributes.
+   *
+   * @throws Exception On errors
+   */
 
-    }
+  @Test
+  public void testScalarNumeric()
+    throws Exception
+  {
+    final var intName = BTQualifiedName.of("urn:tests", "int");
+    final var intAName = BTQualifiedName.of("urn:tests", "intA");
+
+    final var elements =
+      Blackthorne.<Integer>builder()
+        .addHandler(intName, Blackthorne.forScalarInt(intName))
+        .buildParser(BlackthorneTest::createReader);
+    final var attributes =
+      Blackthorne.<Long>builder()
+        .addHandler(
+          intAName,
+          Blackthorne.forScalarAttributeLong(
+            intAName,
+            BTQualifiedName.of("urn:tests", "value")))
+        .buildParser(BlackthorneTest::createReader);
 
-    private static Byte parseByte(
-      final BTElementParsingContextType context,
-      final char[] chars,
-      final int offset,
-      final int length)
-      throws SAXParseException
+    assertEquals(
+      Integer.valueOf(23),
+      elements.parse(URI.create("urn:int"), resourceStream("int.xml")));
+    assertEquals(
+      Long.valueOf(23L),
+      attributes.parse(URI.create("urn:intA"), resourceStream("intA.xml")));
+  }
+
+  /**
+   * Declared attributes are resolved into slots, and undeclared attributes
+   * are rejected unless ignored.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAttributeSlots()
+    throws Exception
+  {
+    final var name = BTQualifiedName.of("urn:tests", "p");
+    final var slots =
+      BTAttributeSlots.of(
+        DO_NOT_IGNORE_UNRECOGNIZED_ATTRIBUTES,
+        BTQualifiedName.of("", "x"),
+        BTQualifiedName.of("urn:tests", "y"),
+        BTQualifiedName.of("", "z")
+      );
+
+    final var parser =
+      Blackthorne.<String>builder()
+        .addHandler(name, Blackthorne.mapConstructor(
+          Blackthorne.forScalarAttributes(name, slots, (context, attributes) ->
+            attributes.value(0) + attributes.value(1) + attributes.isPresent(2)),
+          String::toUpperCase))
+        .buildParser(BlackthorneTest::createReader);
+
+    final var valid =
+      "<t:p xmlns:t=\"urn:tests\" t:y=\"b\" x=\"a\"/>";
+    assertEquals(
+      "ABFALSE",
+      parser.parse(
+        URI.create("urn:p"),
+        new ByteArrayInputStream(valid.getBytes(UTF_8))));
+
+    final var invalid =
+      "<t:p xmlns:t=\"urn:tests\" x=\"a\" y=\"b\"/>";
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:p"),
+          new ByteArrayInputStream(invalid.getBytes(UTF_8)));
+      });
+    assertTrue(
+      ex.errors().get(0).message().contains("does not recognize this attribute"),
+      ex.errors().get(0).message());
+  }
+
+  /**
+   * Packed positions captured by handlers can be used to report errors at
+   * the position of the start of an element.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testLexicalPositionPacked()
+    throws Exception
+  {
+    final var name = BTQualifiedName.of("urn:tests", "p");
+    final var positions = new ArrayList<Long>();
+    final var parser =
+      Blackthorne.<Object>builder()
+        .addHandler(name, context -> new BTElementHandlerType<Object, Object>()
+        {
+          private long start;
+
+          @Override
+          public void onElementStart(
+            final BTElementParsingContextType context,
+            final Attributes attributes)
+          {
+            this.start = context.lexicalPosition();
+            positions.add(Long.valueOf(this.start));
+          }
+
+          @Override
+          public Object onElementFinished(
+            final BTElementParsingContextType context)
+            throws SAXParseException
+          {
+            throw context.parseExceptionAt(
+              this.start, new IllegalStateException("Rejected"));
+          }
+        })
+        .buildParser(BlackthorneTest::createReader);
+
+    final var text = "\n\n<p xmlns=\"urn:tests\">\n\n</p>";
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:p"),
+          new ByteArrayInputStream(text.getBytes(UTF_8)));
+      });
+
+    final var position = positions.get(0).longValue();
+    assertEquals(3, BTLexicalPositions.line(position));
+    assertEquals(22, BTLexicalPositions.column(position));
+
+    final var cause =
+      assertInstanceOf(
+        SAXParseException.class,
+        ex.errors().get(0).exception().orElseThrow());
+    assertEquals(3, cause.getLineNumber());
+    assertEquals(22, cause.getColumnNumber());
+  }
+
+  /**
+   * Errors are deduplicated, bounded, and the parse is abandoned once
+   * enough errors have been observed.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testErrorLimits()
+    throws Exception
+  {
+    final var handler =
+      BTContentHandler.<List<Number>>builder()
+        .addHandler("urn:tests", "choices", ChoicesHandler::new)
+        .setErrorLimits(new BTErrorLimits(2, 5, DEDUPLICATE_ERRORS))
+        .build(URI.create("urn:text"), this::logError);
+
+    handler.error(new SAXParseException("x", null, null, 1, 1));
+    handler.error(new SAXParseException("x", null, null, 1, 1));
+    handler.error(new SAXParseException("y", null, null, 2, 1));
+    handler.error(new SAXParseException("z", null, null, 3, 1));
+    assertEquals(2, this.errors.size());
+    assertEquals(2, handler.suppressedErrors());
+    assertThrows(SAXParseException.class, () -> {
+      handler.error(new SAXParseException("w", null, null, 4, 1));
+    });
+
+    final var received = new ArrayList<BTParseError>();
+    final var parser =
+      Blackthorne.<List<Number>>builder()
+        .addHandler("urn:tests", "choices", ChoicesHandler::new)
+        .buildParser(BlackthorneTest::createReader);
+
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:text"),
+          resourceStream("not_valid.xml"),
+          received::add);
+      });
+    assertEquals(List.of(), ex.errors());
+    assertEquals(1, received.size());
+  }
+
+  /**
+   * Warnings are deduplicated and bounded as errors are, but never cause
+   * the parse to be abandoned.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testWarningLimits()
+    throws Exception
+  {
+    final var handler =
+      BTContentHandler.<List<Number>>builder()
+        .addHandler("urn:tests", "choices", ChoicesHandler::new)
+        .setErrorLimits(new BTErrorLimits(2, 2, DEDUPLICATE_ERRORS))
+        .build(URI.create("urn:text"), this::logError);
+
+    handler.warning(new SAXParseException("x", null, null, 1, 1));
+    handler.warning(new SAXParseException("x", null, null, 1, 1));
+    handler.warning(new SAXParseException("y", null, null, 2, 1));
+    handler.warning(new SAXParseException("z", null, null, 3, 1));
+    assertEquals(2, this.errors.size());
+    assertEquals(2, handler.suppressedErrors());
+    assertFalse(handler.failed());
+  }
+
+  /**
+   * Parsers with a statistics receiver deliver statistics for successful
+   * and failed parses.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStatistics()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "l");
+    final var intName = BTQualifiedName.of("urn:tests", "i");
+    final var received = new ArrayList<BTParseStatistics>();
+    final var parser =
+      Blackthorne.<List<Integer>>builder()
+        .addHandler(listName, Blackthorne.forListMono(
+          listName,
+          intName,
+          Blackthorne.forScalarInt(intName),
+          IGNORE_UNRECOGNIZED_ELEMENTS))
+        .setStatisticsReceiver(received::add)
+        .buildParser(BlackthorneTest::createReader);
+
+    final var text =
+      "<l xmlns=\"urn:tests\"><i>1</i><i>23</i><x><y/></x></l>";
+    parser.parse(
+      URI.create("urn:l"),
+      new ByteArrayInputStream(text.getBytes(UTF_8)));
+
+    final var statistics = received.remove(0);
+    assertEquals(5L, statistics.elements());
+    assertEquals(2L, statistics.ignoredElements());
+    assertEquals(3, statistics.maximumDepth());
+    assertEquals(3L, statistics.characters());
+    assertEquals(3L, statistics.valuesProduced());
+    assertEquals(0L, statistics.errors());
+    assertTrue(statistics.handlersCreated() > 0L);
+    assertFalse(statistics.wallTime().isNegative());
+
+    assertThrows(BTException.class, () -> {
+      parser.parse(
+        URI.create("urn:l"),
+        new ByteArrayInputStream("<l xmlns=\"urn:tests\"><i>x</i></l>".getBytes(UTF_8)));
+    });
+    assertEquals(1L, received.remove(0).errors());
+  }
+
+  /**
+   * Handler profiles attribute costs to each element and handler class.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testHandlerProfile()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "l");
+    final var intName = BTQualifiedName.of("urn:tests", "i");
+    final var received = new ArrayList<BTHandlerProfile>();
+    final var builder =
+      Blackthorne.<List<Integer>>builder()
+        .addHandler(listName, Blackthorne.forListMono(
+          listName,
+          intName,
+          Blackthorne.forScalarInt(intName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .setHandlerProfileReceiver(received::add);
+
+    final var text = "<l xmlns=\"urn:tests\"><i>1</i><i>23</i></l>";
+    builder.buildParser(BlackthorneTest::createReader)
+      .parse(
+        URI.create("urn:l"),
+        new ByteArrayInputStream(text.getBytes(UTF_8)));
+    builder.buildStAXParser(XMLInputFactory.newFactory())
+      .parse(
+        URI.create("urn:l"),
+        new ByteArrayInputStream(text.getBytes(UTF_8)));
+
+    assertEquals(2, received.size());
+    for (final var profile : received) {
+      LOG.debug("profile:\n{}", profile.report());
+      assertEquals(2, profile.entries().size());
+
+      final var list =
+        profile.entries()
+          .stream()
+          .filter(e -> e.element().equals(listName))
+          .findFirst()
+          .orElseThrow();
+      final var item =
+        profile.entries()
+          .stream()
+          .filter(e -> e.element().equals(intName))
+          .findFirst()
+          .orElseThrow();
+
+      assertEquals(1L, list.elements());
+      assertEquals(2L, item.elements());
+      assertTrue(list.invocations() >= 4L);
+      assertTrue(item.invocations() >= 6L);
+      assertTrue(list.selfNanos() <= list.totalNanos());
+      assertTrue(item.totalNanos() <= list.totalNanos());
+      assertTrue(profile.report().contains("{urn:tests}i"));
+    }
+  }
+
+  /**
+   * Parses and slow handlers produce flight recorder events when the events
+   * are enabled.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFlightRecorderEvents()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "l");
+    final var intName = BTQualifiedName.of("urn:tests", "i");
+    final var parser =
+      Blackthorne.<List<Integer>>builder()
+        .addHandler(listName, Blackthorne.forListMono(
+          listName,
+          intName,
+          Blackthorne.forScalarInt(intName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildParser(BlackthorneTest::createReader);
+
+    final var text = "<l xmlns=\"urn:tests\"><i>1</i><i>23</i></l>";
+    final var file = Files.createTempFile("blackthorne", ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable("com.io7m.blackthorne.Parse");
+      recording.enable("com.io7m.blackthorne.HandlerFinished")
+        .withThreshold(Duration.ZERO);
+      recording.start();
+      parser.parse(
+        URI.create("urn:l"),
+        new ByteArrayInputStream(text.getBytes(UTF_8)));
+      recording.stop();
+      recording.dump(file);
+    }
+
+    final var events = RecordingFile.readAllEvents(file);
+    Files.deleteIfExists(file);
+
+    final var parse =
+      events.stream()
+        .filter(e -> e.getEventType().getName().equals("com.io7m.blackthorne.Parse"))
+        .findFirst()
+        .orElseThrow();
+    assertEquals("urn:l", parse.getString("source"));
+    assertEquals("succeeded", parse.getString("outcome"));
+    assertEquals(3L, parse.getLong("elements"));
+    assertEquals((long) text.length(), parse.getLong("bytes"));
+
+    assertEquals(
+      3L,
+      events.stream()
+        .filter(e -> e.getEventType().getName().equals("com.io7m.blackthorne.HandlerFinished"))
+        .count()
+    );
+  }
+
+  /**
+   * Process-wide metrics are collected once enabled, and are visible through
+   * the platform MBean server.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParserMetrics()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "l");
+    final var intName = BTQualifiedName.of("urn:tests", "i");
+    final var parser =
+      Blackthorne.<List<Integer>>builder()
+        .addHandler(listName, Blackthorne.forListMono(
+          listName,
+          intName,
+          Blackthorne.forScalarInt(intName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildParser(BlackthorneTest::createReader);
+
+    final var staxParser =
+      Blackthorne.<List<Integer>>builder()
+        .addHandler(listName, Blackthorne.forListMono(
+          listName,
+          intName,
+          Blackthorne.forScalarInt(intName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildStAXParser(XMLInputFactory.newFactory());
+
+    BTParserMetrics.register();
+    try {
+      final var metrics = BTParserMetrics.get();
+      metrics.reset();
+
+      parser.parse(
+        URI.create("urn:l"),
+        new ByteArrayInputStream(
+          "<l xmlns=\"urn:tests\"><i>1</i><i>23</i></l>".getBytes(UTF_8)));
+
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:l"),
+          new ByteArrayInputStream(
+            "<l xmlns=\"urn:tests\"><i>x</i></l>".getBytes(UTF_8)));
+      });
+
+      final var parsesBefore = metrics.getParses();
+      staxParser.parse(
+        URI.create("urn:l"),
+        XMLInputFactory.newFactory().createXMLStreamReader(
+          new StringReader("<l xmlns=\"urn:tests\"><i>1</i></l>")));
+      assertTrue(metrics.getParses() >= parsesBefore + 1L);
+
+      assertTrue(metrics.getParses() >= 3L);
+      assertTrue(metrics.getFailures() >= 1L);
+      assertTrue(metrics.getElements() >= 5L);
+      assertTrue(metrics.getBytes() > 0L);
+      assertFalse(metrics.getErrorsByCode().isEmpty());
+      assertTrue(
+        metrics.getLatencyMaximumNanosByRoot().containsKey("{urn:tests}l"));
+      assertTrue(
+        metrics.getLatency99NanosByRoot().get("{urn:tests}l")
+        <= metrics.getLatencyMaximumNanosByRoot().get("{urn:tests}l"));
+
+      final var server = ManagementFactory.getPlatformMBeanServer();
+      final var parses = (Long) server.getAttribute(
+        new ObjectName(BTParserMetrics.OBJECT_NAME), "Parses");
+      assertTrue(parses.longValue() >= 2L);
+    } finally {
+      BTParserMetrics.disable();
+    }
+  }
+
+  /**
+   * Rejected root elements do not add entries to the process-wide metrics.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParserMetricsRejectedRoots()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "l");
+    final var intName = BTQualifiedName.of("urn:tests", "i");
+    final var parser =
+      Blackthorne.<List<Integer>>builder()
+        .addHandler(listName, Blackthorne.forListMono(
+          listName,
+          intName,
+          Blackthorne.forScalarInt(intName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildParser(BlackthorneTest::createReader);
+
+    BTParserMetrics.register();
+    try {
+      final var metrics = BTParserMetrics.get();
+      metrics.reset();
+
+      for (int index = 0; index < 100; ++index) {
+        final var text = "<r" + index + " xmlns=\"urn:hostile\"/>";
+        assertThrows(BTException.class, () -> {
+          parser.parse(
+            URI.create("urn:r"),
+            new ByteArrayInputStream(text.getBytes(UTF_8)));
+        });
+      }
+
+      assertTrue(
+        metrics.getLatencyMaximumNanosByRoot()
+          .keySet()
+          .stream()
+          .noneMatch(root -> root.startsWith("{urn:hostile}")));
+      assertTrue(metrics.getFailures() >= 100L);
+    } finally {
+      BTParserMetrics.disable();
+    }
+  }
+
+  /**
+   * Primitive list handlers produce arrays.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testListPrimitive()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "xs");
+    final var itemName = BTQualifiedName.of("urn:tests", "x");
+    final var text = new StringBuilder("<xs xmlns=\"urn:tests\">");
+    for (int index = 0; index < 100; ++index) {
+      text.append("<x>").append(index * 1000).append("</x>");
+    }
+    text.append("</xs>");
+    final var bytes = text.toString().getBytes(UTF_8);
+
+    final var ints =
+      Blackthorne.<int[]>builder()
+        .addHandler(listName, Blackthorne.forListInt(
+          listName, itemName, Blackthorne.forScalarInt(itemName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildParser(BlackthorneTest::createReader)
+        .parse(URI.create("urn:xs"), new ByteArrayInputStream(bytes));
+
+    final var doubles =
+      Blackthorne.<double[]>builder()
+        .addHandler(listName, Blackthorne.forListDouble(
+          listName, itemName, Blackthorne.forScalarDouble(itemName),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildParser(BlackthorneTest::createReader)
+        .parse(URI.create("urn:xs"), new ByteArrayInputStream(bytes));
+
+    assertEquals(100, ints.length);
+    assertEquals(100, doubles.length);
+    for (int index = 0; index < 100; ++index) {
+      assertEquals(index * 1000, ints[index]);
+      assertEquals(index * 1000.0, doubles[index]);
+    }
+  }
+
+  /**
+   * Primitive values pass from producers to consumers without going through
+   * the boxed path, and the boxed path still works for other producers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testPrimitiveChannel()
+    throws Exception
+  {
+    final var listName = BTQualifiedName.of("urn:tests", "xs");
+    final var itemName = BTQualifiedName.of("urn:tests", "x");
+    final var bytes =
+      "<xs xmlns=\"urn:tests\"><x>1</x><x> 2 </x><x>3</x></xs>".getBytes(UTF_8);
+
+    final var sum =
+      Blackthorne.<Long>builder()
+        .addHandler(listName, context -> new LongSumHandler(itemName))
+        .buildParser(BlackthorneTest::createReader)
+        .parse(URI.create("urn:xs"), new ByteArrayInputStream(bytes));
+    assertEquals(6L, sum.longValue());
+
+    final var boxed =
+      Blackthorne.<long[]>builder()
+        .addHandler(listName, Blackthorne.forListLong(
+          listName, itemName,
+          Blackthorne.forScalar(itemName, (context, text, offset, length) ->
+            Long.valueOf(String.valueOf(text, offset, length).trim())),
+          DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS))
+        .buildParser(BlackthorneTest::createReader)
+        .parse(URI.create("urn:xs"), new ByteArrayInputStream(bytes));
+    assertArrayEquals(new long[]{1L, 2L, 3L}, boxed);
+  }
+
+  private static final class LongSumHandler
+    implements BTElementHandlerType<Long, Long>, BTLongConsumerType
+  {
+    private final BTQualifiedName itemName;
+    private long sum;
+
+    LongSumHandler(
+      final BTQualifiedName inItemName)
+    {
+      this.itemName = inItemName;
+    }
+
+    @Override
+    public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Long>> onChildHandlersRequested(
+      final BTElementParsingContextType context)
+    {
+      return Map.of(this.itemName, Blackthorne.forScalarLong(this.itemName));
+    }
+
+    @Override
+    public void onChildValueProduced(
+      final BTElementParsingContextType context,
+      final Long result)
+    {
+      throw new IllegalStateException("Boxed value delivered");
+    }
+
+    @Override
+    public void onChildLongProduced(
+      final BTElementParsingContextType context,
+      final long value)
+    {
+      this.sum += value;
+    }
+
+    @Override
+    public Long onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return Long.valueOf(this.sum);
+    }
+  }
+
+  /**
+   * Text split across entity references and CDATA sections is delivered to
+   * scalar handlers whole, exactly once.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testScalarChunked()
+    throws Exception
+  {
+    final var calls = new AtomicInteger(0);
+    final var name = BTQualifiedName.of("urn:tests", "string");
+    final var parser =
+      Blackthorne.<String>builder()
+        .addHandler(name, Blackthorne.forScalar(name, (context, text, offset, length) -> {
+          calls.incrementAndGet();
+          return String.valueOf(text, offset, length);
+        }))
+        .buildParser(BlackthorneTest::createReader);
+
+    final var text =
+      "<string xmlns=\"urn:tests\">ab&amp;cd<![CDATA[ef]]>gh</string>";
+    final var result =
+      parser.parse(
+        URI.create("urn:string"),
+        new ByteArrayInputStream(text.getBytes(UTF_8)));
+
+    assertEquals("ab&cdefgh", result);
+    assertEquals(1, calls.get());
+  }
+
+  /**
+   * Documents can be parsed from chunks fed to a session.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFeedChoices0()
+    throws Exception
+  {
+    final var parser =
+      Blackthorne.<List<Number>>builder()
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), choicesList())
+        .buildParser(BlackthorneTest::createReader);
+
+    final byte[] data;
+    try (var stream = resourceStream("choices0.xml")) {
+      data = stream.readAllBytes();
+    }
+
+    try (var session = parser.startFeed(URI.create("urn:choices0"))) {
+      for (int index = 0; index < data.length; index += 7) {
+        final var size = Math.min(7, data.length - index);
+        final var chunk = ByteBuffer.wrap(data, index, size);
+        session.feed(chunk).toCompletableFuture().get(10L, TimeUnit.SECONDS);
+        assertFalse(chunk.hasRemaining());
+      }
+      session.finish();
+
+      final var numbers = session.result().get(10L, TimeUnit.SECONDS);
+      assertEquals(BigInteger.valueOf(23L), numbers.get(0));
+      assertEquals(Double.valueOf(25.10), numbers.get(1));
+      assertEquals(Byte.valueOf((byte) 10), numbers.get(2));
+      assertEquals(3, numbers.size());
+    }
+  }
+
+  /**
+   * Feed sessions accept no more bytes than their buffer holds, and signal
+   * when more data may be supplied.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFeedBounded()
+    throws Exception
+  {
+    final var parser =
+      Blackthorne.<List<Number>>builder()
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), choicesList())
+        .buildParser(BlackthorneTest::createReader);
+
+    final byte[] data;
+    try (var stream = resourceStream("choices0.xml")) {
+      data = stream.readAllBytes();
+    }
+
+    final var limits = new BTFeedLimits(16, Duration.ofSeconds(10L));
+    try (var session = parser.startFeed(URI.create("urn:choices0"), limits)) {
+      final var buffer = ByteBuffer.wrap(data);
+      while (buffer.hasRemaining()) {
+        final var before = buffer.remaining();
+        final var ready = session.feed(buffer);
+        assertTrue(before - buffer.remaining() <= 16);
+        ready.toCompletableFuture().get(10L, TimeUnit.SECONDS);
+      }
+      session.finish();
+
+      final var numbers = session.result().get(10L, TimeUnit.SECONDS);
+      assertEquals(3, numbers.size());
+    }
+  }
+
+  /**
+   * Feed sessions fail if no data is supplied within the idle timeout.
+   */
+
+  @Test
+  public void testFeedIdleTimeout()
+  {
+    final var parser =
+      Blackthorne.<List<Number>>builder()
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), choicesList())
+        .buildParser(BlackthorneTest::createReader);
+
+    final var limits = new BTFeedLimits(1024, Duration.ofMillis(100L));
+    try (var session = parser.startFeed(URI.create("urn:choices0"), limits)) {
+      session.feed(
+        ByteBuffer.wrap("<choices xmlns=\"urn:tests\">".getBytes(UTF_8)));
+
+      final var ex =
+        assertThrows(ExecutionException.class, () -> {
+          session.result().get(10L, TimeUnit.SECONDS);
+        });
+      assertInstanceOf(BTException.class, ex.getCause());
+    }
+  }
+
+  /**
+   * Closing an unfinished feed session fails the parse.
+   */
+
+  @Test
+  public void testFeedClosed()
+  {
+    final var parser =
+      Blackthorne.<List<Number>>builder()
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), choicesList())
+        .buildParser(BlackthorneTest::createReader);
+
+    final var session = parser.startFeed(URI.create("urn:choices0"));
+    session.feed(ByteBuffer.wrap("<choices xmlns=\"urn:tests\">".getBytes(UTF_8)));
+    session.close();
+
+    final var ex =
+      assertThrows(ExecutionException.class, () -> {
+        session.result().get(10L, TimeUnit.SECONDS);
+      });
+    assertInstanceOf(BTException.class, ex.getCause());
+    assertThrows(IllegalStateException.class, () -> {
+      session.feed(ByteBuffer.wrap(new byte[1]));
+    });
+  }
+
+  /**
+   * Streaming lists deliver each value to the consumer without retaining it.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testListStreaming0()
+    throws Exception
+  {
+    final var received = new ArrayList<Number>();
+    final var parser =
+      Blackthorne.<Long>builder()
+        .addHandler(
+          BTQualifiedName.of("urn:tests", "choices"),
+          Blackthorne.forListMonoStreaming(
+            BTQualifiedName.of("urn:tests", "choices"),
+            BTQualifiedName.of("urn:tests", "choice"),
+            compiledChoice(),
+            DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS,
+            received::add))
+        .buildParser(BlackthorneTest::createReader);
+
+    final var count =
+      parser.parse(URI.create("urn:choices0"), resourceStream("choices0.xml"));
+
+    assertEquals(Long.valueOf(3L), count);
+    assertEquals(BigInteger.valueOf(23L), received.get(0));
+    assertEquals(Double.valueOf(25.10), received.get(1));
+    assertEquals(Byte.valueOf((byte) 10), received.get(2));
+    assertEquals(3, received.size());
+  }
+
+  /**
+   * Batches report per-document results, and failures do not abort the batch.
+   */
+
+  @Test
+  public void testBatch0()
+  {
+    final var sources =
+      List.of(
+        new BTBatchSource(
+          URI.create("urn:choices0"),
+          () -> resourceStream("choices0.xml")),
+        new BTBatchSource(
+          URI.create("urn:choices2"),
+          () -> resourceStream("choices2.xml")),
+        new BTBatchSource(
+          URI.create("urn:missing"),
+          () -> {
+            throw new FileNotFoundException("missing");
+          }),
+        new BTBatchSource(
+          URI.create("urn:choices0"),
+          () -> resourceStream("choices0.xml"))
+      );
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final var results =
+        Blackthorne.parseBatch(
+          sources,
+          executor,
+          PRESERVE_LEXICAL_INFORMATION,
+          BlackthorneTest::createReader,
+          Map.of(BTQualifiedName.of("urn:tests", "choices"), choicesList())
+        );
+
+      assertEquals(4, results.size());
+      assertEquals(3, results.get(0).result().orElseThrow().size());
+      assertFalse(results.get(1).isSuccess());
+      assertEquals(
+        "io-error",
+        results.get(2).exception().orElseThrow().errorCode());
+      assertEquals(3, results.get(3).result().orElseThrow().size());
+    }
+  }
+
+  /**
+   * Documents can be parsed with StAX.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStAXChoices0()
+    throws Exception
+  {
+    final var listHandler =
+      Blackthorne.forListMono(
+        BTQualifiedName.of("urn:tests", "choices"),
+        BTQualifiedName.of("urn:tests", "choice"),
+        ChoiceHandler::new,
+        DO_NOT_IGNORE_UNRECOGNIZED_ELEMENTS);
+
+    final var parser =
+      BTContentHandler.<List<Number>>builder()
+        .addHandler(BTQualifiedName.of("urn:tests", "choices"), listHandler)
+        .buildStAXParser(XMLInputFactory.newFactory());
+
+    for (int index = 0; index < 2; ++index) {
+      final var numbers =
+        parser.parse(
+          URI.create("urn:choices0"),
+          resourceStream("choices0.xml"));
+
+      assertEquals(BigInteger.valueOf(23L), numbers.get(0));
+      assertEquals(Double.valueOf(25.10), numbers.get(1));
+      assertEquals(Byte.valueOf((byte) 10), numbers.get(2));
+      assertEquals(3, numbers.size());
+    }
+
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:choices2"),
+          resourceStream("choices2.xml"));
+      });
+
+    final var error = ex.errors().get(0);
+    assertEquals("sax-error", error.errorCode());
+    assertTrue(error.message().contains("ignoredContainingChoice"));
+  }
+
+  /**
+   * Attributes are visible to handlers when parsing with StAX.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStAXIntegerAttr0()
+    throws Exception
+  {
+    final var intAttr =
+      Blackthorne.forScalarAttribute(
+        "urn:tests",
+        "intA",
+        BlackthorneTest::parseIntAttribute);
+
+    final var parser =
+      BTContentHandler.<Number>builder()
+        .addHandler("urn:tests", "intA", intAttr)
+        .buildStAXParser(XMLInputFactory.newFactory());
+
+    assertEquals(
+      BigInteger.valueOf(23L),
+      parser.parse(URI.create("urn:intA"), resourceStream("intA.xml")));
+  }
+
+  /**
+   * Malformed documents are rejected when parsing with StAX.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStAXUnparseable()
+    throws Exception
+  {
+    final var parser =
+      BTContentHandler.<BigInteger>builder()
+        .addHandler("urn:tests", "int", IntHandler::new)
+        .buildStAXParser(XMLInputFactory.newFactory());
+
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        parser.parse(
+          URI.create("urn:unparseable"),
+          resourceStream("unparseable.xml"));
+      });
+
+    assertEquals("stax-parse-error", ex.errorCode());
+  }
+
+  /**
+   * Content following the root element is rejected by both the SAX and the
+   * StAX parsers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testTrailingContentRejected()
+    throws Exception
+  {
+    final var builder =
+      BTContentHandler.<BigInteger>builder()
+        .addHandler("urn:tests", "int", IntHandler::new);
+
+    final var saxParser =
+      builder.buildParser(BlackthorneTest::createReader);
+    final var staxParser =
+      builder.buildStAXParser(XMLInputFactory.newFactory());
+
+    final var documents = List.of(
+      "<int xmlns=\"urn:tests\">23</int><int xmlns=\"urn:tests\">24</int>",
+      "<int xmlns=\"urn:tests\">23</int>junk<"
+    );
+
+    for (final var text : documents) {
+      assertThrows(BTException.class, () -> {
+        saxParser.parse(
+          URI.create("urn:trailing"),
+          new ByteArrayInputStream(text.getBytes(UTF_8)));
+      });
+
+      final var ex =
+        assertThrows(BTException.class, () -> {
+          staxParser.parse(
+            URI.create("urn:trailing"),
+            new ByteArrayInputStream(text.getBytes(UTF_8)));
+        });
+      assertEquals("stax-parse-error", ex.errorCode());
+    }
+
+    assertEquals(
+      BigInteger.valueOf(23L),
+      staxParser.parse(
+        URI.create("urn:trailing"),
+        new ByteArrayInputStream(
+          "<int xmlns=\"urn:tests\">23</int>\n<!-- c -->\n".getBytes(UTF_8))));
+  }
+
+  /**
+   * A StAX session is not reused after a parse that failed with an
+   * unexpected exception, but is reused after ordinary parse errors.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStAXSessionNotReusableAfterException()
+    throws Exception
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, BigInteger>> roots =
+      Map.of(
+        BTQualifiedName.of("urn:tests", "int"),
+        context -> {
+          throw new IllegalStateException("Handler failed");
+        }
+      );
+
+    final var session =
+      new BTStAXParserSession<>(
+        BTGrammar.dynamic(roots, BTQualifiedNameTable.of(roots.keySet())),
+        PRESERVE_LEXICAL_INFORMATION,
+        XMLInputFactory.newFactory()
+      );
+
+    assertTrue(session.isReusable());
+
+    final var ex0 =
+      assertThrows(BTException.class, () -> {
+        session.parse(
+          URI.create("urn:unparseable"),
+          new ByteArrayInputStream("<int".getBytes(UTF_8)));
+      });
+    assertEquals("stax-parse-error", ex0.errorCode());
+    assertTrue(session.isReusable());
+
+    final var ex1 =
+      assertThrows(BTException.class, () -> {
+        session.parse(
+          URI.create("urn:failing"),
+          new ByteArrayInputStream(
+            "<int xmlns=\"urn:tests\">23</int>".getBytes(UTF_8)));
+      });
+    assertEquals("exception", ex1.errorCode());
+    assertFalse(session.isReusable());
+  }
+
+  private static final class IntHandler implements BTElementHandlerType<Object, BigInteger>
+  {
+    private BigInteger result;
+
+    IntHandler(
+      final BTElementParsingContextType context)
+    {
+
+    }
+
+    @Override
+    public void onCharacters(
+      final BTElementParsingContextType context,
+      final char[] data,
+      final int offset,
+      final int length)
+      throws SAXParseException
+    {
+      try {
+        final var text = String.valueOf(data, offset, length).trim();
+        this.result = new BigInteger(text);
+      } catch (final Exception e) {
+        throw context.parseException(e);
+      }
+    }
+
+    @Override
+    public BigInteger onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return this.result;
+    }
+  }
+
+  private static final class DoubleHandler implements BTElementHandlerType<Object, Double>
+  {
+    private Double result;
+
+    DoubleHandler(
+      final BTElementParsingContextType context)
+    {
+
+    }
+
+    @Override
+    public void onCharacters(
+      final BTElementParsingContextType context,
+      final char[] data,
+      final int offset,
+      final int length)
+      throws SAXParseException
+    {
+      try {
+        final var text = String.valueOf(data, offset, length).trim();
+        this.result = Double.valueOf(text);
+      } catch (final NumberFormatException e) {
+        throw context.parseException(e);
+      }
+    }
+
+    @Override
+    public Double onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return this.result;
+    }
+  }
+
+  private static final class ByteHandler implements BTElementHandlerType<Object, Byte>
+  {
+    private Byte result;
+
+    ByteHandler(
+      final BTElementParsingContextType context)
+    {
+
+    }
+
+    @Override
+    public void onCharacters(
+      final BTElementParsingContextType context,
+      final char[] data,
+      final int offset,
+      final int length)
+      throws SAXParseException
+    {
+      try {
+        final var text = String.valueOf(data, offset, length).trim();
+        this.result = Byte.valueOf(text);
+      } catch (final NumberFormatException e) {
+        throw context.parseException(e);
+      }
+    }
+
+    @Override
+    public Byte onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return this.result;
+    }
+  }
+
+  private static final class ChoiceHandler implements BTElementHandlerType<Number, Number>
+  {
+    private Number result;
+
+    ChoiceHandler(
+      final BTElementParsingContextType context)
+    {
+
+    }
+
+    @Override
+    public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Number>> onChildHandlersRequested(
+      final BTElementParsingContextType context)
+    {
+      return Map.ofEntries(
+        Map.entry(BTQualifiedName.of("urn:tests", "byte"), ByteHandler::new),
+        Map.entry(
+          BTQualifiedName.of("urn:tests", "double"),
+          DoubleHandler::new),
+        Map.entry(BTQualifiedName.of("urn:tests", "int"), IntHandler::new)
+      );
+    }
+
+    @Override
+    public void onChildValueProduced(
+      final BTElementParsingContextType context,
+      final Number newResult)
+    {
+      this.result = Objects.requireNonNull(newResult, "result");
+    }
+
+    @Override
+    public Number onElementFinished(final BTElementParsingContextType context)
+    {
+      return this.result;
+    }
+  }
+
+  private static final class ChoiceScalarHandler implements BTElementHandlerType<Number, Number>
+  {
+    private Number result;
+
+    ChoiceScalarHandler(
+      final BTElementParsingContextType context)
+    {
+
+    }
+
+    private static Byte parseByte(
+      final BTElementParsingContextType context,
+      final char[] chars,
+      final int offset,
+      final int length)
+      throws SAXParseException
     {
       try {
         return Byte.valueOf(Byte.parseByte(String.valueOf(
@@ -1296,6 +2643,318 @@ public final class BlackthorneTest
     );
   }
 
+  /**
+   * Schemas are compiled once per cache, and readers created from the cache
+   * still validate documents.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConvenienceSchemaCache()
+    throws Exception
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, BigInteger>> handlers =
+      Map.ofEntries(
+        Map.entry(BTQualifiedName.of("urn:tests", "int"), IntHandler::new)
+      );
+
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          URI.create("urn:tests"),
+          "choice.xsd",
+          resourceURL("choice.xsd")
+        ));
+
+    final var cache = new BTJXESchemaCache();
+    for (int index = 0; index < 2; ++index) {
+      BlackthorneJXE.parseAll(
+        URI.create("urn:test"),
+        resourceStream("int.xml"),
+        handlers,
+        new BTJXEReaderPool(cache),
+        Optional.empty(),
+        XINCLUDE_DISABLED,
+        PRESERVE_LEXICAL_INFORMATION,
+        mappings
+      );
+    }
+    assertEquals(1L, cache.compilations());
+
+    final var ex =
+      assertThrows(BTException.class, () -> {
+        BlackthorneJXE.parseAll(
+          URI.create("urn:test"),
+          resourceStream("int_invalid.xml"),
+          handlers,
+          new BTJXEReaderPool(cache),
+          Optional.empty(),
+          XINCLUDE_DISABLED,
+          PRESERVE_LEXICAL_INFORMATION,
+          mappings
+        );
+      });
+    assertTrue(
+      ex.errors()
+        .stream()
+        .anyMatch(e -> e.message().contains("cvc-"))
+    );
+
+    cache.invalidate(mappings);
+    cache.schema(mappings);
+    assertEquals(2L, cache.compilations());
+  }
+
+  /**
+   * Readers created by the schema cache reject document type declarations,
+   * external entities, and entity expansion exactly as JXE readers do.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConvenienceSchemaCacheHardened()
+    throws Exception
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, BigInteger>> handlers =
+      Map.ofEntries(
+        Map.entry(BTQualifiedName.of("urn:tests", "int"), IntHandler::new)
+      );
+
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          URI.create("urn:tests"),
+          "choice.xsd",
+          resourceURL("choice.xsd")
+        ));
+
+    final var secret = Files.createTempFile("blackthorne", ".txt");
+    Files.writeString(secret, "23");
+
+    final var documents = List.of(
+      "<!DOCTYPE int>\n<int xmlns=\"urn:tests\">23</int>",
+      "<!DOCTYPE int [<!ENTITY x SYSTEM \"" + secret.toUri() + "\">]>\n"
+        + "<int xmlns=\"urn:tests\">&x;</int>",
+      "<!DOCTYPE int [<!ENTITY p SYSTEM \"" + secret.toUri() + "\"> %p;]>\n"
+        + "<int xmlns=\"urn:tests\">23</int>",
+      "<!DOCTYPE int [\n"
+        + "<!ENTITY a \"aaaaaaaaaa\">\n"
+        + "<!ENTITY b \"&a;&a;&a;&a;&a;&a;&a;&a;&a;&a;\">\n"
+        + "<!ENTITY c \"&b;&b;&b;&b;&b;&b;&b;&b;&b;&b;\">\n"
+        + "<!ENTITY d \"&c;&c;&c;&c;&c;&c;&c;&c;&c;&c;\">\n"
+        + "]>\n"
+        + "<int xmlns=\"urn:tests\">&d;</int>"
+    );
+
+    final var cached =
+      new BTJXESchemaCache();
+    final var cachedParser =
+      BlackthorneJXE.parser(
+        handlers,
+        cached,
+        Optional.empty(),
+        XINCLUDE_DISABLED,
+        PRESERVE_LEXICAL_INFORMATION,
+        mappings
+      );
+
+    for (final var text : documents) {
+      LOG.debug("document: {}", text);
+
+      assertThrows(BTException.class, () -> {
+        BlackthorneJXE.parseAll(
+          URI.create("urn:test"),
+          new ByteArrayInputStream(text.getBytes(UTF_8)),
+          handlers,
+          new JXEHardenedSAXParsers(),
+          Optional.empty(),
+          XINCLUDE_DISABLED,
+          PRESERVE_LEXICAL_INFORMATION,
+          mappings
+        );
+      });
+
+      assertThrows(BTException.class, () -> {
+        BlackthorneJXE.parse(
+          URI.create("urn:test"),
+          new ByteArrayInputStream(text.getBytes(UTF_8)),
+          handlers,
+          Optional.empty(),
+          XINCLUDE_DISABLED,
+          PRESERVE_LEXICAL_INFORMATION,
+          mappings
+        );
+      });
+
+      assertThrows(BTException.class, () -> {
+        BlackthorneJXE.parseAll(
+          URI.create("urn:test"),
+          new ByteArrayInputStream(text.getBytes(UTF_8)),
+          handlers,
+          new BTJXEReaderPool(cached),
+          Optional.empty(),
+          XINCLUDE_DISABLED,
+          PRESERVE_LEXICAL_INFORMATION,
+          mappings
+        );
+      });
+
+      assertThrows(BTException.class, () -> {
+        cachedParser.parse(
+          URI.create("urn:test"),
+          new ByteArrayInputStream(text.getBytes(UTF_8)));
+      });
+    }
+
+    Files.deleteIfExists(secret);
+  }
+
+  /**
+   * Readers borrowed before their schemas are evicted are not returned to
+   * the pool.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConvenienceReaderPoolEvicted()
+    throws Exception
+  {
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          URI.create("urn:tests"),
+          "choice.xsd",
+          resourceURL("choice.xsd")
+        ));
+
+    final var cache = new BTJXESchemaCache();
+    final var pool = new BTJXEReaderPool(cache, 1);
+    final var generation = pool.generation(mappings);
+    final var reader =
+      pool.take(Optional.empty(), XINCLUDE_DISABLED, mappings);
+
+    cache.invalidate(mappings);
+    pool.evict(mappings);
+
+    assertFalse(
+      pool.release(
+        Optional.empty(), XINCLUDE_DISABLED, mappings, generation, reader));
+
+    pool.take(Optional.empty(), XINCLUDE_DISABLED, mappings);
+    assertEquals(0L, pool.hits());
+    assertEquals(2L, pool.misses());
+  }
+
+  /**
+   * Readers are reused via the reader pool.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConvenienceReaderPool()
+    throws Exception
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, BigInteger>> handlers =
+      Map.ofEntries(
+        Map.entry(BTQualifiedName.of("urn:tests", "int"), IntHandler::new)
+      );
+
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          URI.create("urn:tests"),
+          "choice.xsd",
+          resourceURL("choice.xsd")
+        ));
+
+    final var pool = new BTJXEReaderPool(new JXEHardenedSAXParsers(), 1);
+    for (int index = 0; index < 3; ++index) {
+      BlackthorneJXE.parseAll(
+        URI.create("urn:test"),
+        resourceStream("int.xml"),
+        handlers,
+        pool,
+        Optional.empty(),
+        XINCLUDE_DISABLED,
+        PRESERVE_LEXICAL_INFORMATION,
+        mappings
+      );
+    }
+
+    assertEquals(1L, pool.misses());
+    assertEquals(2L, pool.hits());
+
+    final var reader = pool.take(Optional.empty(), XINCLUDE_DISABLED, mappings);
+    assertEquals(3L, pool.hits());
+    assertEquals(DefaultHandler.class, reader.getContentHandler().getClass());
+    assertNull(reader.getErrorHandler());
+  }
+
+  /**
+   * Readers are returned to the reader pool, without their handlers, even
+   * when parsing fails.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConvenienceReaderPoolFailure()
+    throws Exception
+  {
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, BigInteger>> handlers =
+      Map.ofEntries(
+        Map.entry(BTQualifiedName.of("urn:tests", "int"), IntHandler::new)
+      );
+
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          URI.create("urn:tests"),
+          "choice.xsd",
+          resourceURL("choice.xsd")
+        ));
+
+    final var pool = new BTJXEReaderPool(new JXEHardenedSAXParsers(), 1);
+    assertThrows(BTException.class, () -> {
+      BlackthorneJXE.parseAll(
+        URI.create("urn:test"),
+        resourceStream("int_invalid.xml"),
+        handlers,
+        pool,
+        Optional.empty(),
+        XINCLUDE_DISABLED,
+        PRESERVE_LEXICAL_INFORMATION,
+        mappings
+      );
+    });
+
+    final var reader = pool.take(Optional.empty(), XINCLUDE_DISABLED, mappings);
+    assertEquals(1L, pool.misses());
+    assertEquals(1L, pool.hits());
+    assertEquals(DefaultHandler.class, reader.getContentHandler().getClass());
+    assertNull(reader.getErrorHandler());
+  }
+
+  /**
+   * The statistics of the default reader pool and schema cache are only
+   * reported as gauges once registered.
+   */
+
+  @Test
+  public void testConvenienceRegisterMetrics()
+  {
+    BlackthorneJXE.registerMetrics();
+
+    final var gauges = BTParserMetrics.get().getGauges();
+    assertTrue(gauges.containsKey("jxe.readerPool.hits"));
+    assertTrue(gauges.containsKey("jxe.readerPool.misses"));
+    assertTrue(gauges.containsKey("jxe.schemaCache.compilations"));
+  }
+
   /**
    * Unparseable documents raise exceptions.
    *
@@ -1511,6 +3170,44 @@ public final class BlackthorneTest
       handler.result().get().getMessage());
   }
 
+  /**
+   * Handlers created by one oneOf constructor share the same child handler
+   * map.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testOneOfSharedHandlers()
+    throws Exception
+  {
+    final var intName =
+      BTQualifiedName.of("urn:tests", "int");
+    final var doubleName =
+      BTQualifiedName.of("urn:tests", "double");
+
+    final Map<BTQualifiedName, BTElementHandlerConstructorType<?, ? extends Object>> choices =
+      Map.ofEntries(
+        Map.entry(
+          intName,
+          IntHandler::new
+        ),
+        Map.entry(
+          doubleName,
+          DoubleHandler::new
+        )
+      );
+
+    final var constructor = Blackthorne.forOneOf(choices);
+    final var handler0 = constructor.create(null);
+    final var handler1 = constructor.create(null);
+
+    assertNotSame(handler0, handler1);
+    assertSame(
+      handler0.onChildHandlersRequested(null),
+      handler1.onChildHandlersRequested(null));
+  }
+
   /**
    * The oneOf handler works.
    *
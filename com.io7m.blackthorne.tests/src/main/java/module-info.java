@@ -24,7 +24,9 @@ module com.io7m.blackthorne.tests
   requires transitive org.junit.platform.commons;
   requires transitive org.junit.platform.engine;
 
+  requires ch.qos.logback.classic;
   requires com.io7m.jxe.core;
+  requires jdk.jfr;
   requires net.bytebuddy.agent;
   requires net.bytebuddy;
   requires net.jqwik.api;